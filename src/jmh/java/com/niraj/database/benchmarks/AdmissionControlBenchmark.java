@@ -0,0 +1,50 @@
+package com.niraj.database.benchmarks;
+
+import com.niraj.database.admission.ConcurrencyLimit;
+import com.niraj.database.admission.RateLimit;
+import com.niraj.database.admission.TokenBucket;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of admitting a request when every thread competes for the same bucket and list slots, the worst case for the
+ * compare-and-set loops, against a bucket of its own per thread.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(8)
+@Fork(1)
+public class AdmissionControlBenchmark {
+
+    // High enough that the bucket never runs dry, so every call takes a token.
+    private static final RateLimit UNLIMITED = new RateLimit(1e9, 1_000_000);
+
+    private final TokenBucket sharedBucket = new TokenBucket(UNLIMITED);
+    private final ConcurrencyLimit sharedListSlots = new ConcurrencyLimit(Integer.MAX_VALUE);
+
+    @State(Scope.Thread)
+    public static class Client {
+        final TokenBucket bucket = new TokenBucket(UNLIMITED);
+    }
+
+    @Benchmark
+    public long sharedBucket() {
+        return sharedBucket.tryAcquire();
+    }
+
+    @Benchmark
+    public long ownBucket(Client client) {
+        return client.bucket.tryAcquire();
+    }
+
+    @Benchmark
+    public boolean sharedListSlot() {
+        boolean acquired = sharedListSlots.tryAcquire();
+        sharedListSlots.release();
+        return acquired;
+    }
+}
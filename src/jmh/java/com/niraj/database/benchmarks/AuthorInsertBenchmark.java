@@ -0,0 +1,61 @@
+package com.niraj.database.benchmarks;
+
+import com.niraj.database.domain.entities.AuthorEntity;
+import com.niraj.database.repositories.AuthorRepository;
+import com.niraj.database.services.BatchImportResult;
+import com.niraj.database.services.BatchImportService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthorInsertBenchmark {
+
+    private static final int AUTHORS_PER_OPERATION = 1000;
+
+    private ConfigurableApplicationContext context;
+    private AuthorRepository authorRepository;
+    private BatchImportService batchImportService;
+    private int sequence;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(Map.of());
+        authorRepository = context.getBean(AuthorRepository.class);
+        batchImportService = context.getBean(BatchImportService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(AUTHORS_PER_OPERATION)
+    public BatchImportResult batchImport() {
+        return batchImportService.importAuthors(newAuthors().iterator());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(AUTHORS_PER_OPERATION)
+    public Iterable<AuthorEntity> saveAll() {
+        return authorRepository.saveAll(newAuthors());
+    }
+
+    private List<AuthorEntity> newAuthors() {
+        List<AuthorEntity> authors = new ArrayList<>(AUTHORS_PER_OPERATION);
+        for (int i = 0; i < AUTHORS_PER_OPERATION; i++) {
+            authors.add(AuthorEntity.builder().name("Author " + sequence++).age(40).build());
+        }
+        return authors;
+    }
+}
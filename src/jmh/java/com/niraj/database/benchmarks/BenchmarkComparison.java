@@ -0,0 +1,69 @@
+package com.niraj.database.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+import java.util.TreeMap;
+
+public final class BenchmarkComparison {
+
+    private BenchmarkComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("usage: BenchmarkComparison <baseline.json> <current.json> [max-regression-percent]");
+            System.exit(2);
+        }
+        double maxRegression = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+        Map<String, JsonNode> baseline = load(new File(args[0]));
+        Map<String, JsonNode> current = load(new File(args[1]));
+
+        int regressions = 0;
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            JsonNode before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("%-90s %14s -> %10.3f %s%n", entry.getKey(), "new",
+                        score(entry.getValue()), unit(entry.getValue()));
+                continue;
+            }
+            double oldScore = score(before);
+            double newScore = score(entry.getValue());
+            double change = (newScore - oldScore) / oldScore * 100.0;
+            boolean higherIsBetter = "thrpt".equals(entry.getValue().path("mode").asText());
+            double regression = higherIsBetter ? -change : change;
+            boolean regressed = regression > maxRegression;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%-90s %10.3f -> %10.3f %s (%+.1f%%)%s%n", entry.getKey(), oldScore, newScore,
+                    unit(entry.getValue()), change, regressed ? "  REGRESSION" : "");
+        }
+        if (regressions > 0) {
+            System.out.println(regressions + " benchmark(s) regressed by more than " + maxRegression + "%");
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, JsonNode> load(File file) throws IOException {
+        Map<String, JsonNode> results = new TreeMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file)) {
+            StringBuilder key = new StringBuilder(result.path("benchmark").asText());
+            new TreeMap<>(new ObjectMapper().convertValue(result.path("params"), Map.class))
+                    .forEach((name, value) -> key.append(' ').append(name).append('=').append(value));
+            results.put(key.toString(), result);
+        }
+        return results;
+    }
+
+    private static double score(JsonNode result) {
+        return result.path("primaryMetric").path("score").asDouble();
+    }
+
+    private static String unit(JsonNode result) {
+        return result.path("primaryMetric").path("scoreUnit").asText();
+    }
+}
@@ -0,0 +1,67 @@
+package com.niraj.database.benchmarks;
+
+import com.niraj.database.BooksApiApplication;
+import com.niraj.database.domain.entities.AuthorEntity;
+import com.niraj.database.domain.entities.BookEntity;
+import com.niraj.database.repositories.AuthorRepository;
+import com.niraj.database.repositories.BookRepository;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+final class BenchmarkContext {
+
+    static final int BOOKS_PER_AUTHOR = 50;
+
+    private BenchmarkContext() {
+    }
+
+    static ConfigurableApplicationContext start(Map<String, Object> overrides) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("spring.datasource.url", "jdbc:h2:mem:bench;MODE=MySQL;DATABASE_TO_LOWER=TRUE");
+        properties.put("spring.datasource.username", "sa");
+        properties.put("spring.datasource.password", "password");
+        properties.put("spring.datasource.driver-class-name", "org.h2.Driver");
+        properties.put("spring.jpa.hibernate.ddl-auto", "create-drop");
+        properties.put("spring.main.banner-mode", "off");
+        properties.put("logging.level.root", "WARN");
+        properties.put("server.port", "0");
+        properties.put("books.page.max-size", Integer.MAX_VALUE);
+        properties.putAll(overrides);
+
+        SpringApplication application = new SpringApplication(BooksApiApplication.class);
+        application.setDefaultProperties(properties);
+        // Passed as an argument to outrank application-reactive.properties. It names the database of the test
+        // resources' JDBC url, so that R2DBC reads the schema JPA creates there.
+        return application.run("--spring.r2dbc.url=r2dbc:h2:mem:///testdb?options=MODE=MySQL;DATABASE_TO_LOWER=TRUE");
+    }
+
+    static void seedBooks(ConfigurableApplicationContext context, int bookCount) {
+        BookRepository bookRepository = context.getBean(BookRepository.class);
+        List<AuthorEntity> newAuthors = new ArrayList<>();
+        for (int i = 0; i < Math.max(1, bookCount / BOOKS_PER_AUTHOR); i++) {
+            newAuthors.add(AuthorEntity.builder().name("Author " + i).age(20 + i % 60).build());
+        }
+        // Saved up front: a transient author shared by several batches would be inserted again by each of them.
+        List<AuthorEntity> authors = new ArrayList<>();
+        context.getBean(AuthorRepository.class).saveAll(newAuthors).forEach(authors::add);
+
+        List<BookEntity> batch = new ArrayList<>();
+        for (int i = 0; i < bookCount; i++) {
+            batch.add(BookEntity.builder()
+                    .isbn(String.format("978-0-%09d", i))
+                    .title("Book title number " + i)
+                    .authorEntity(authors.get(i % authors.size()))
+                    .build());
+            if (batch.size() == 500) {
+                bookRepository.saveAll(batch);
+                batch.clear();
+            }
+        }
+        bookRepository.saveAll(batch);
+    }
+}
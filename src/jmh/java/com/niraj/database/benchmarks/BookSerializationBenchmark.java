@@ -0,0 +1,83 @@
+package com.niraj.database.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.niraj.database.config.SerializationConfig;
+import com.niraj.database.domain.dto.AuthorDto;
+import com.niraj.database.domain.dto.BookDto;
+import com.niraj.database.domain.dto.NormalizedBooksDto;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialization time of a book list per wire format and response shape, optionally gzipped the way Tomcat compresses
+ * responses. The payload size of each combination is printed once per fork, since JMH only reports times.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookSerializationBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int datasetSize;
+
+    @Param({"json", "smile", "cbor"})
+    public String format;
+
+    @Param({"false", "true"})
+    public boolean gzip;
+
+    private ObjectMapper objectMapper;
+    private List<BookDto> books;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = switch (format) {
+            case "json" -> new ObjectMapper();
+            case "smile" -> new ObjectMapper(SerializationConfig.smileFactory());
+            case "cbor" -> new ObjectMapper(SerializationConfig.cborFactory());
+            default -> throw new IllegalArgumentException(format);
+        };
+        List<AuthorDto> authors = new ArrayList<>();
+        for (int i = 0; i < Math.max(1, datasetSize / BenchmarkContext.BOOKS_PER_AUTHOR); i++) {
+            authors.add(AuthorDto.builder().id((long) i).name("Author " + i).age(20 + i % 60).build());
+        }
+        books = new ArrayList<>();
+        for (int i = 0; i < datasetSize; i++) {
+            books.add(BookDto.builder()
+                    .isbn(String.format("978-0-%09d", i))
+                    .title("Book title number " + i)
+                    .author(authors.get(i % authors.size()))
+                    .build());
+        }
+        System.out.printf("%n%s%s, %d books: %d bytes, %d bytes with normalized authors%n", format,
+                gzip ? "+gzip" : "", datasetSize, writeBookList().length, writeNormalizedBookList().length);
+    }
+
+    @Benchmark
+    public byte[] writeBookList() throws IOException {
+        return write(books);
+    }
+
+    @Benchmark
+    public byte[] writeNormalizedBookList() throws IOException {
+        return write(NormalizedBooksDto.of(books));
+    }
+
+    private byte[] write(Object value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = gzip ? new GZIPOutputStream(bytes) : bytes) {
+            objectMapper.writeValue(out, value);
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,48 @@
+package com.niraj.database.benchmarks;
+
+import com.niraj.database.domain.entities.BookEntity;
+import com.niraj.database.pagination.KeysetPage;
+import com.niraj.database.services.BookService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookServiceBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int datasetSize;
+
+    private ConfigurableApplicationContext context;
+    private BookService bookService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(Map.of());
+        BenchmarkContext.seedBooks(context, datasetSize);
+        bookService = context.getBean(BookService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<BookEntity> findAll() {
+        return bookService.findAll();
+    }
+
+    @Benchmark
+    public KeysetPage<BookEntity> findFirstPage() {
+        return bookService.findPage(null, 100);
+    }
+}
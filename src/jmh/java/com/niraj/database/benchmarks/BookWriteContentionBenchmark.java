@@ -0,0 +1,70 @@
+package com.niraj.database.benchmarks;
+
+import com.niraj.database.domain.entities.AuthorEntity;
+import com.niraj.database.domain.entities.BookEntity;
+import com.niraj.database.services.AuthorService;
+import com.niraj.database.services.BookService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.dao.ConcurrencyFailureException;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Concurrent book writes that all name the same author. In upsert mode each write overwrites the author row, so
+ * writers queue on its row lock and lose optimistic-lock races; in reference mode the author row is left alone.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class BookWriteContentionBenchmark {
+
+    @Param({"upsert", "reference"})
+    public String authorWriteMode;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private ConfigurableApplicationContext context;
+    private BookService bookService;
+    private long authorId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(Map.of("books.author-write-mode", authorWriteMode));
+        bookService = context.getBean(BookService.class);
+        authorId = context.getBean(AuthorService.class)
+                .save(AuthorEntity.builder().name("Popular author").age(40).build())
+                .getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Outcomes {
+        public long written;
+        public long conflicts;
+    }
+
+    @Benchmark
+    public void writeBookOfPopularAuthor(Outcomes outcomes) {
+        long n = sequence.incrementAndGet();
+        AuthorEntity author = AuthorEntity.builder().id(authorId).name("Popular author").age(40 + (int) (n % 2)).build();
+        BookEntity book = BookEntity.builder().title("Book " + n).authorEntity(author).build();
+        try {
+            bookService.submit(String.format("979-0-%09d", n), book);
+            outcomes.written++;
+        } catch (ConcurrencyFailureException e) {
+            outcomes.conflicts++;
+        }
+    }
+}
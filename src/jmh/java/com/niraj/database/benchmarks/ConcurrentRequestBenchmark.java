@@ -0,0 +1,87 @@
+package com.niraj.database.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ConcurrentRequestBenchmark {
+
+    @Param({"platform", "virtual", "reactive"})
+    public String threads;
+
+    @Param({"200", "2000"})
+    public int concurrentRequests;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private ExecutorService clients;
+    private URI pageUri;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("spring.cache.type", "none");
+        properties.put("server.tomcat.max-connections", "20000");
+        properties.put("server.tomcat.accept-count", "2000");
+        if ("virtual".equals(threads)) {
+            properties.put("spring.profiles.active", "virtual-threads");
+        } else if ("reactive".equals(threads)) {
+            properties.put("spring.profiles.active", "reactive");
+        }
+        context = BenchmarkContext.start(properties);
+        BenchmarkContext.seedBooks(context, 1000);
+
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        pageUri = URI.create("http://localhost:" + port + "/books?limit=20");
+        clients = Executors.newVirtualThreadPerTaskExecutor();
+        httpClient = HttpClient.newBuilder()
+                .executor(clients)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        clients.close();
+        context.close();
+    }
+
+    @Benchmark
+    public int burstOfListRequests() throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(pageUri).GET().build();
+        List<Future<HttpResponse<Void>>> responses = new ArrayList<>(concurrentRequests);
+        for (int i = 0; i < concurrentRequests; i++) {
+            responses.add(clients.submit(() -> httpClient.send(request, HttpResponse.BodyHandlers.discarding())));
+        }
+        int failures = 0;
+        for (Future<HttpResponse<Void>> response : responses) {
+            if (response.get().statusCode() != 200) {
+                failures++;
+            }
+        }
+        if (failures > 0) {
+            throw new IllegalStateException(failures + " of " + concurrentRequests + " requests failed");
+        }
+        return concurrentRequests;
+    }
+}
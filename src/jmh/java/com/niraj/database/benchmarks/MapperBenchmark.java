@@ -0,0 +1,74 @@
+package com.niraj.database.benchmarks;
+
+import com.niraj.database.config.MapperConfig;
+import com.niraj.database.domain.dto.AuthorDto;
+import com.niraj.database.domain.dto.BookDto;
+import com.niraj.database.domain.entities.AuthorEntity;
+import com.niraj.database.domain.entities.BookEntity;
+import com.niraj.database.mappers.Mapper;
+import com.niraj.database.mappers.impl.AuthorMapperImpl;
+import com.niraj.database.mappers.impl.BookMapper;
+import com.niraj.database.mappers.impl.ExplicitAuthorMapper;
+import com.niraj.database.mappers.impl.ExplicitBookMapper;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    @Param({"modelmapper", "explicit"})
+    public String strategy;
+
+    private Mapper<AuthorEntity, AuthorDto> authorMapper;
+    private Mapper<BookEntity, BookDto> bookMapper;
+
+    private AuthorEntity authorEntity;
+    private AuthorDto authorDto;
+    private BookEntity bookEntity;
+    private BookDto bookDto;
+
+    @Setup
+    public void setUp() {
+        if ("modelmapper".equals(strategy)) {
+            ModelMapper modelMapper = new MapperConfig().modelMapper();
+            authorMapper = new AuthorMapperImpl(modelMapper);
+            bookMapper = new BookMapper(modelMapper);
+        } else {
+            ExplicitAuthorMapper explicitAuthorMapper = new ExplicitAuthorMapper();
+            authorMapper = explicitAuthorMapper;
+            bookMapper = new ExplicitBookMapper(explicitAuthorMapper);
+        }
+
+        authorEntity = AuthorEntity.builder().id(1L).name("JK Rowling").age(67).build();
+        authorDto = AuthorDto.builder().id(1L).name("JK Rowling").age(67).build();
+        bookEntity = BookEntity.builder().isbn("978-1-2345-6789-0").title("Harry Potter").authorEntity(authorEntity).build();
+        bookDto = BookDto.builder().isbn("978-1-2345-6789-0").title("Harry Potter").author(authorDto).build();
+    }
+
+    @Benchmark
+    public AuthorDto authorMapTo() {
+        return authorMapper.mapTo(authorEntity);
+    }
+
+    @Benchmark
+    public AuthorEntity authorMapFrom() {
+        return authorMapper.mapFrom(authorDto);
+    }
+
+    @Benchmark
+    public BookDto bookMapTo() {
+        return bookMapper.mapTo(bookEntity);
+    }
+
+    @Benchmark
+    public BookEntity bookMapFrom() {
+        return bookMapper.mapFrom(bookDto);
+    }
+}
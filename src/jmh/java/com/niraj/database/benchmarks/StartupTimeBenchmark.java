@@ -0,0 +1,155 @@
+package com.niraj.database.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Time to first request: launches the extracted application jar in a fresh JVM and measures from process start
+ * until {@code GET /books} first answers 200. JMH cannot measure this, since its forks are already warm by the time
+ * a benchmark method runs. Needs the output of {@code -Pfast-start package}; H2 is taken from this benchmark's own
+ * classpath and stands in for MySQL.
+ */
+public final class StartupTimeBenchmark {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(120);
+
+    private final Path workDirectory;
+    private final String classpath;
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    private StartupTimeBenchmark(Path appJar, Path workDirectory, String h2Jar) {
+        this.workDirectory = workDirectory;
+        this.classpath = appJar + File.pathSeparator + h2Jar;
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("usage: StartupTimeBenchmark <extracted-app.jar> [runs]");
+            System.exit(2);
+        }
+        Path appJar = Path.of(args[0]).toAbsolutePath();
+        int runs = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        String h2Jar = Arrays.stream(System.getProperty("java.class.path").split(File.pathSeparator))
+                .filter(entry -> new File(entry).getName().startsWith("h2-"))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("H2 is not on the benchmark classpath"));
+        Path workDirectory = appJar.resolveSibling("startup-benchmark");
+        deleteRecursively(workDirectory);
+        Files.createDirectories(workDirectory);
+
+        new StartupTimeBenchmark(appJar, workDirectory, h2Jar).run(runs);
+    }
+
+    private void run(int runs) throws Exception {
+        Path archive = workDirectory.resolve("application.jsa");
+        // The first start creates the schema that the fast-start profile only validates.
+        timeToFirstRequest("schema", List.of());
+        train(archive);
+
+        Map<String, List<String>> variants = new LinkedHashMap<>();
+        variants.put("default", List.of());
+        variants.put("fast-start profile", List.of("-Dspring.profiles.active=fast-start"));
+        variants.put("fast-start + AOT", List.of("-Dspring.profiles.active=fast-start", "-Dspring.aot.enabled=true"));
+        variants.put("fast-start + AOT + CDS", List.of("-Dspring.profiles.active=fast-start",
+                "-Dspring.aot.enabled=true", "-XX:SharedArchiveFile=" + archive, "-Xlog:cds=off"));
+
+        System.out.printf("%-26s %10s %10s %10s%n", "variant", "median ms", "min ms", "max ms");
+        for (Map.Entry<String, List<String>> variant : variants.entrySet()) {
+            long[] millis = new long[runs];
+            for (int i = 0; i < runs; i++) {
+                millis[i] = timeToFirstRequest(variant.getKey(), variant.getValue());
+            }
+            Arrays.sort(millis);
+            System.out.printf("%-26s %10d %10d %10d%n", variant.getKey(), millis[runs / 2], millis[0],
+                    millis[runs - 1]);
+        }
+    }
+
+    // Same classpath as the measured runs, which CDS requires, and stops once the context is refreshed.
+    private void train(Path archive) throws Exception {
+        Process process = start("training", List.of("-XX:ArchiveClassesAtExit=" + archive, "-Xlog:cds=off",
+                "-Dspring.context.exit=onRefresh", "-Dspring.profiles.active=fast-start",
+                "-Dspring.aot.enabled=true"), 0);
+        if (process.waitFor() != 0 || !Files.exists(archive)) {
+            throw new IllegalStateException("CDS training run failed, see " + log("training"));
+        }
+    }
+
+    private long timeToFirstRequest(String variant, List<String> jvmOptions) throws Exception {
+        int port = freePort();
+        long start = System.nanoTime();
+        Process process = start(variant, jvmOptions, port);
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/books")).build();
+            while (System.nanoTime() - start < STARTUP_TIMEOUT.toNanos()) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException(variant + " exited during startup, see " + log(variant));
+                }
+                try {
+                    if (httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return (System.nanoTime() - start) / 1_000_000;
+                    }
+                } catch (IOException e) {
+                    // Not listening yet.
+                }
+                Thread.sleep(5);
+            }
+            throw new IllegalStateException(variant + " did not answer within " + STARTUP_TIMEOUT);
+        } finally {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+
+    private Process start(String variant, List<String> jvmOptions, int port) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmOptions);
+        command.addAll(List.of("-cp", classpath, "com.niraj.database.BooksApiApplication",
+                "--server.port=" + port,
+                "--spring.datasource.url=jdbc:h2:file:" + workDirectory.resolve("db") + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.datasource.driver-class-name=org.h2.Driver"));
+        return new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log(variant).toFile())
+                .start();
+    }
+
+    private Path log(String variant) {
+        return workDirectory.resolve(variant.replaceAll("[^A-Za-z0-9]+", "-") + ".log");
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static void deleteRecursively(Path directory) throws IOException {
+        if (!Files.exists(directory)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.niraj.database.admission;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.web.servlet.filter.OrderedFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Admits book and author requests per client, identified by the remote address, or by the client header when one is
+ * given. The header is sent by the client itself, so it should only be given behind a proxy that sets it. Each
+ * client has a token bucket per {@link EndpointClass}, and list requests are also capped in flight per client and
+ * overall, so that one client cannot hold every connection of the pool. Requests over a limit are answered with 429
+ * and a {@code Retry-After} straight away, before they reach a controller.
+ */
+public class AdmissionControlFilter extends OncePerRequestFilter implements OrderedFilter {
+
+    public static final String REJECTIONS_METRIC = "admission.rejections";
+    public static final String LISTS_IN_FLIGHT_METRIC = "admission.lists.in-flight";
+
+    // Idle clients are forgotten; by then their buckets would have refilled anyway.
+    private static final Duration CLIENT_IDLE_TIMEOUT = Duration.ofMinutes(10);
+    private static final long MAX_CLIENTS = 100_000;
+
+    // Null when the header is not trusted.
+    private final String clientHeader;
+    private final Map<EndpointClass, RateLimit> rateLimits;
+    private final int maxConcurrentListsPerClient;
+    private final ConcurrencyLimit listLimit;
+    private final Cache<String, ClientState> clients;
+    private final Map<EndpointClass, Counter> rateRejections = new EnumMap<>(EndpointClass.class);
+    private final Counter concurrencyRejections;
+
+    public AdmissionControlFilter(String clientHeader, Map<EndpointClass, RateLimit> rateLimits,
+                                  int maxConcurrentListsPerClient, int maxConcurrentLists, MeterRegistry meterRegistry) {
+        this.clientHeader = clientHeader;
+        this.rateLimits = new EnumMap<>(rateLimits);
+        this.maxConcurrentListsPerClient = maxConcurrentListsPerClient;
+        this.listLimit = new ConcurrencyLimit(maxConcurrentLists);
+        this.clients = Caffeine.newBuilder()
+                .expireAfterAccess(CLIENT_IDLE_TIMEOUT)
+                .maximumSize(MAX_CLIENTS)
+                .build();
+        for (EndpointClass endpoint : EndpointClass.values()) {
+            rateRejections.put(endpoint, rejections(meterRegistry, endpoint, "rate"));
+        }
+        this.concurrencyRejections = rejections(meterRegistry, EndpointClass.LIST, "concurrency");
+        Gauge.builder(LISTS_IN_FLIGHT_METRIC, listLimit, ConcurrencyLimit::inFlight).register(meterRegistry);
+    }
+
+    // After the observation filter, so that rejections still show up in http.server.requests.
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 10;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        EndpointClass endpoint = EndpointClass.of(request.getMethod(),
+                request.getRequestURI().substring(request.getContextPath().length()));
+        if (endpoint == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        String client = clientHeader != null ? request.getHeader(clientHeader) : null;
+        ClientState state = clients.get(client != null ? client : request.getRemoteAddr(), key -> new ClientState());
+
+        long waitNanos = state.buckets.get(endpoint).tryAcquire();
+        if (waitNanos > 0) {
+            rateRejections.get(endpoint).increment();
+            reject(response, waitNanos);
+            return;
+        }
+        if (endpoint != EndpointClass.LIST) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        if (!state.lists.tryAcquire()) {
+            concurrencyRejections.increment();
+            reject(response, 0);
+            return;
+        }
+        if (!listLimit.tryAcquire()) {
+            state.lists.release();
+            concurrencyRejections.increment();
+            reject(response, 0);
+            return;
+        }
+        Release release = new Release(state.lists);
+        boolean async = false;
+        try {
+            filterChain.doFilter(request, response);
+            // A streamed body is written after this returns; keep the slot until it is done.
+            async = request.isAsyncStarted();
+            if (async) {
+                request.getAsyncContext().addListener(release);
+            }
+        } finally {
+            if (!async) {
+                release.run();
+            }
+        }
+    }
+
+    private static void reject(HttpServletResponse response, long waitNanos) {
+        long seconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(seconds));
+    }
+
+    private static Counter rejections(MeterRegistry meterRegistry, EndpointClass endpoint, String reason) {
+        return Counter.builder(REJECTIONS_METRIC)
+                .tag("endpoint", endpoint.name().toLowerCase(Locale.ROOT))
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    private class ClientState {
+        private final Map<EndpointClass, TokenBucket> buckets = new EnumMap<>(EndpointClass.class);
+        private final ConcurrencyLimit lists = new ConcurrencyLimit(maxConcurrentListsPerClient);
+
+        ClientState() {
+            rateLimits.forEach((endpoint, limit) -> buckets.put(endpoint, new TokenBucket(limit)));
+        }
+    }
+
+    private class Release implements AsyncListener {
+        private final ConcurrencyLimit clientLimit;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        Release(ConcurrencyLimit clientLimit) {
+            this.clientLimit = clientLimit;
+        }
+
+        void run() {
+            if (released.compareAndSet(false, true)) {
+                clientLimit.release();
+                listLimit.release();
+            }
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            run();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            run();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            run();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.niraj.database.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A non-blocking cap on requests in flight: callers over the limit are turned away rather than queued.
+ */
+public class ConcurrencyLimit {
+
+    private final int max;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public ConcurrencyLimit(int max) {
+        this.max = max;
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= max) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+}
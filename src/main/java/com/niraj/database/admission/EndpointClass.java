@@ -0,0 +1,32 @@
+package com.niraj.database.admission;
+
+import org.springframework.http.HttpMethod;
+
+import java.util.regex.Pattern;
+
+/**
+ * The classes of book and author endpoints that are admitted separately. Lists read a page (or the whole table when
+ * streamed) and hold a connection the longest, so they get the tightest limits.
+ */
+public enum EndpointClass {
+    LIST,
+    READ,
+    WRITE;
+
+    private static final Pattern LISTS = Pattern.compile("/(books|authors)(/search)?|/authors/[^/]+/books");
+    private static final Pattern RESOURCES = Pattern.compile("/(books|authors)([/:].*)?");
+
+    /**
+     * Returns the class of the request, or {@code null} for paths outside the API, such as the actuator.
+     */
+    public static EndpointClass of(String method, String path) {
+        if (!RESOURCES.matcher(path).matches()) {
+            return null;
+        }
+        boolean read = HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method);
+        if (!read) {
+            return WRITE;
+        }
+        return LISTS.matcher(path).matches() ? LIST : READ;
+    }
+}
@@ -0,0 +1,14 @@
+package com.niraj.database.admission;
+
+/**
+ * A sustained rate of requests per second, and how many may arrive at once after a quiet period.
+ */
+public record RateLimit(double perSecond, int burst) {
+
+    public RateLimit {
+        if (perSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Rate must be positive and burst at least 1, got " + perSecond
+                    + "/s with burst " + burst);
+        }
+    }
+}
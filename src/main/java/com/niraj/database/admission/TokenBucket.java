@@ -0,0 +1,47 @@
+package com.niraj.database.admission;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * A token bucket kept as the single instant at which it will be full again (the generic cell rate algorithm), so
+ * taking a token is one compare-and-set and concurrent callers never block each other.
+ */
+public class TokenBucket {
+
+    private final long nanosPerToken;
+    private final long burstNanos;
+    private final LongSupplier nanoClock;
+    private final AtomicLong fullAt;
+
+    public TokenBucket(RateLimit limit) {
+        this(limit, System::nanoTime);
+    }
+
+    TokenBucket(RateLimit limit, LongSupplier nanoClock) {
+        this.nanosPerToken = Math.max(1, Math.round(1_000_000_000 / limit.perSecond()));
+        this.burstNanos = nanosPerToken * limit.burst();
+        this.nanoClock = nanoClock;
+        this.fullAt = new AtomicLong(nanoClock.getAsLong());
+    }
+
+    /**
+     * Takes a token if one is available.
+     *
+     * @return zero if a token was taken, otherwise the nanoseconds until one will be
+     */
+    public long tryAcquire() {
+        while (true) {
+            long now = nanoClock.getAsLong();
+            long current = fullAt.get();
+            long next = Math.max(current, now) + nanosPerToken;
+            long wait = next - now - burstNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
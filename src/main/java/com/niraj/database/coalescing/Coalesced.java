@@ -0,0 +1,17 @@
+package com.niraj.database.coalescing;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a read whose concurrent calls with equal arguments may share one execution, see {@link CoalescingAspect}.
+ * The shared result is handed to every caller, so it must not be modified.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Coalesced {
+}
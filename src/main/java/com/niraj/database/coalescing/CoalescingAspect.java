@@ -0,0 +1,61 @@
+package com.niraj.database.coalescing;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Coalesces concurrent calls of a {@link Coalesced} method with equal arguments into one. It wraps the transaction
+ * and cache advice, so followers take no connection. Calls inside a transaction are left alone, since they may need
+ * to see its uncommitted writes. Every committed write makes later calls start afresh, so a read that begins after a
+ * write never receives a result read before it.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "coalescing.enabled", havingValue = "true", matchIfMissing = true)
+public class CoalescingAspect implements TransactionExecutionListener {
+
+    private final MeterRegistry meterRegistry;
+    private final Duration timeout;
+    private final Map<Method, SingleFlight> flights = new ConcurrentHashMap<>();
+
+    public CoalescingAspect(MeterRegistry meterRegistry, @Value("${coalescing.timeout:2s}") Duration timeout) {
+        this.meterRegistry = meterRegistry;
+        this.timeout = timeout;
+    }
+
+    @Around("@annotation(com.niraj.database.coalescing.Coalesced)")
+    public Object coalesce(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return joinPoint.proceed();
+        }
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        SingleFlight flight = flights.computeIfAbsent(method, m -> new SingleFlight(
+                joinPoint.getTarget().getClass().getSimpleName(), m.getName(), timeout, meterRegistry));
+        return flight.execute(Arrays.asList(joinPoint.getArgs()), joinPoint::proceed);
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        if (commitFailure == null && !transaction.isReadOnly()) {
+            flights.values().forEach(SingleFlight::forgetInFlight);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.niraj.database.coalescing;
+
+/**
+ * A caller gave up waiting for the execution it joined.
+ */
+public class CoalescingTimeoutException extends RuntimeException {
+
+    public CoalescingTimeoutException(String message) {
+        super(message);
+    }
+}
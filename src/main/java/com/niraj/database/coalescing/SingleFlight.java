@@ -0,0 +1,99 @@
+package com.niraj.database.coalescing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs at most one call per key at a time. The first caller (the leader) runs it on its own thread; callers that
+ * arrive while it runs (followers) wait for its result, or its exception, for up to the timeout.
+ */
+public class SingleFlight {
+
+    public static final String CALLS_METRIC = "coalescing.calls";
+    public static final String TIMEOUTS_METRIC = "coalescing.timeouts";
+
+    @FunctionalInterface
+    public interface Call<T> {
+        T call() throws Throwable;
+    }
+
+    private final String name;
+    private final Duration timeout;
+    private final ConcurrentMap<List<Object>, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Counter leaders;
+    private final Counter followers;
+    private final Counter timeouts;
+
+    public SingleFlight(String className, String methodName, Duration timeout, MeterRegistry meterRegistry) {
+        this.name = className + "." + methodName;
+        this.timeout = timeout;
+        this.leaders = calls(meterRegistry, className, methodName, "leader");
+        this.followers = calls(meterRegistry, className, methodName, "follower");
+        this.timeouts = Counter.builder(TIMEOUTS_METRIC)
+                .tag("class", className)
+                .tag("method", methodName)
+                .register(meterRegistry);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(List<Object> key, Call<T> call) throws Throwable {
+        CompletableFuture<Object> own = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(key, own);
+        if (running != null) {
+            followers.increment();
+            return (T) await(running);
+        }
+        leaders.increment();
+        T result;
+        try {
+            result = call.call();
+        } catch (Throwable e) {
+            inFlight.remove(key, own);
+            own.completeExceptionally(e);
+            throw e;
+        }
+        // Removed before completing, so that nobody joins once the result is out.
+        inFlight.remove(key, own);
+        own.complete(result);
+        return result;
+    }
+
+    /**
+     * Lets later callers start a fresh call instead of joining one already running. Callers that joined keep
+     * waiting for it.
+     */
+    public void forgetInFlight() {
+        inFlight.clear();
+    }
+
+    private Object await(CompletableFuture<Object> running) throws Throwable {
+        try {
+            return running.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        } catch (TimeoutException e) {
+            timeouts.increment();
+            throw new CoalescingTimeoutException("Gave up waiting " + timeout.toMillis() + " ms for " + name);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CoalescingTimeoutException("Interrupted while waiting for " + name);
+        }
+    }
+
+    private static Counter calls(MeterRegistry meterRegistry, String className, String methodName, String role) {
+        return Counter.builder(CALLS_METRIC)
+                .tag("class", className)
+                .tag("method", methodName)
+                .tag("role", role)
+                .register(meterRegistry);
+    }
+}
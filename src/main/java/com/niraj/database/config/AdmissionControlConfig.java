@@ -0,0 +1,42 @@
+package com.niraj.database.config;
+
+import com.niraj.database.admission.AdmissionControlFilter;
+import com.niraj.database.admission.EndpointClass;
+import com.niraj.database.admission.RateLimit;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Map;
+
+/**
+ * Turns away clients that exceed their request rate or their share of list requests in flight, see
+ * {@link AdmissionControlFilter}. The global list cap should stay below the connection pool size, so that other
+ * endpoints always find a connection.
+ */
+@Configuration
+@ConditionalOnProperty(name = "admission.enabled", havingValue = "true")
+public class AdmissionControlConfig {
+
+    @Bean
+    public AdmissionControlFilter admissionControlFilter(
+            MeterRegistry meterRegistry,
+            @Value("${admission.client-header:X-Client-Id}") String clientHeader,
+            @Value("${admission.trust-client-header:false}") boolean trustClientHeader,
+            @Value("${admission.list.rate:10}") double listRate,
+            @Value("${admission.list.burst:20}") int listBurst,
+            @Value("${admission.read.rate:100}") double readRate,
+            @Value("${admission.read.burst:200}") int readBurst,
+            @Value("${admission.write.rate:50}") double writeRate,
+            @Value("${admission.write.burst:100}") int writeBurst,
+            @Value("${admission.list.max-concurrent-per-client:2}") int maxConcurrentListsPerClient,
+            @Value("${admission.list.max-concurrent:8}") int maxConcurrentLists) {
+        return new AdmissionControlFilter(trustClientHeader ? clientHeader : null,
+                Map.of(EndpointClass.LIST, new RateLimit(listRate, listBurst),
+                        EndpointClass.READ, new RateLimit(readRate, readBurst),
+                        EndpointClass.WRITE, new RateLimit(writeRate, writeBurst)),
+                maxConcurrentListsPerClient, maxConcurrentLists, meterRegistry);
+    }
+}
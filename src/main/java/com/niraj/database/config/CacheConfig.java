@@ -0,0 +1,43 @@
+package com.niraj.database.config;
+
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    public static final String BOOKS = "books";
+    // Read-path views of books; evicted wherever BOOKS is, but kept apart because BOOKS holds entities under the same keys
+    public static final String BOOK_VIEWS = "bookViews";
+    public static final String BOOK_EXISTS = "bookExists";
+    public static final String AUTHORS = "authors";
+    public static final String AUTHOR_EXISTS = "authorExists";
+
+    // Hibernate second-level cache regions, configured in hibernate-cache.conf
+    public static final String BOOK_REGION = "book-entities";
+    public static final String AUTHOR_REGION = "author-entities";
+    public static final String AUTHORS_BY_AGE_REGION = "authors-by-age-queries";
+
+    private static final URI HIBERNATE_CACHE_CONFIG = URI.create("classpath:hibernate-cache.conf");
+
+    // Hibernate turns hibernate.javax.cache.uri into a resource URL, which inside the packaged jar is a jar: URL that
+    // Caffeine cannot read; it then falls back to an empty configuration and startup fails on the first region.
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+        return Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(HIBERNATE_CACHE_CONFIG, CacheConfig.class.getClassLoader());
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheManagerCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+}
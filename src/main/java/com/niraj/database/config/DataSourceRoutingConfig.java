@@ -0,0 +1,95 @@
+package com.niraj.database.config;
+
+import com.niraj.database.datasource.CacheFillRoutingAspect;
+import com.niraj.database.datasource.ReadWriteRoutingDataSource;
+import com.niraj.database.datasource.ReadYourWritesFilter;
+import com.niraj.database.datasource.ReplicaPool;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Sends read-only transactions to the replicas in {@code datasource.routing.replica-urls} and everything else to
+ * {@code spring.datasource.url}. The connection is only fetched at the first statement, once the transaction is
+ * synchronized and known to be read-only, and is released at the end of each transaction so that one session
+ * (kept open for the whole request by open-in-view) can use both.
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.routing.enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReplicaPool replicaPool(HikariDataSource primaryDataSource, MeterRegistry meterRegistry,
+                                   DataSourceProperties properties,
+                                   @Value("${datasource.routing.replica-urls}") String replicaUrls,
+                                   @Value("${datasource.routing.replica-username:${spring.datasource.username:}}") String username,
+                                   @Value("${datasource.routing.replica-password:${spring.datasource.password:}}") String password,
+                                   @Value("${datasource.routing.replica-pool-size:10}") int poolSize,
+                                   @Value("${datasource.routing.replica-connect-timeout:1s}") Duration connectTimeout,
+                                   @Value("${datasource.routing.health-check-interval:5s}") Duration healthCheckInterval) {
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (String url : Arrays.stream(replicaUrls.split(",")).map(String::trim).filter(s -> !s.isEmpty()).toList()) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + (replicas.size() + 1));
+            replica.setJdbcUrl(url);
+            replica.setUsername(username);
+            replica.setPassword(password);
+            replica.setDriverClassName(properties.getDriverClassName());
+            replica.setMaximumPoolSize(poolSize);
+            replica.setConnectionTimeout(connectTimeout.toMillis());
+            replica.setValidationTimeout(connectTimeout.toMillis());
+            replica.setReadOnly(true);
+            // A replica that is down at startup must not fail the application; it stays out of rotation instead.
+            replica.setInitializationFailTimeout(-1);
+            replica.setMetricRegistry(meterRegistry);
+            replicas.add(replica);
+        }
+        return new ReplicaPool(primaryDataSource, replicas, healthCheckInterval, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaPool replicaPool) {
+        return new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(primaryDataSource, replicaPool));
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer releaseConnectionAfterTransaction() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    @Bean
+    public CacheFillRoutingAspect cacheFillRoutingAspect() {
+        return new CacheFillRoutingAspect();
+    }
+
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter(
+            @Value("${datasource.routing.client-header:X-Client-Id}") String clientHeader,
+            @Value("${datasource.routing.sticky-window:0s}") Duration stickyWindow) {
+        return new ReadYourWritesFilter(clientHeader, stickyWindow);
+    }
+}
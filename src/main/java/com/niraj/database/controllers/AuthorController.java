@@ -1,26 +1,73 @@
 package com.niraj.database.controllers;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.niraj.database.domain.dto.AuthorDto;
+import com.niraj.database.domain.dto.BookDto;
 import com.niraj.database.domain.entities.AuthorEntity;
+import com.niraj.database.domain.projections.AuthorVersion;
+import com.niraj.database.domain.projections.BookView;
 import com.niraj.database.mappers.Mapper;
+import com.niraj.database.pagination.Cursors;
+import com.niraj.database.pagination.KeysetPage;
+import com.niraj.database.repositories.AuthorQuery;
 import com.niraj.database.services.AuthorService;
+import com.niraj.database.services.BatchImportResult;
+import com.niraj.database.services.BatchImportService;
+import com.niraj.database.services.BookReadService;
+import com.niraj.database.services.BookService;
+import com.niraj.database.services.SearchService;
+import com.niraj.database.services.WriteResult;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
-import java.util.List;
-import java.util.Optional;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class AuthorController {
 
     private AuthorService authorService;
+    private BookService bookService;
+    private BookReadService bookReadService;
     private Mapper<AuthorEntity, AuthorDto> authorMapper;
+    private BatchImportService batchImportService;
+    private SearchService searchService;
+    private ObjectMapper objectMapper;
+    private int defaultPageSize;
+    private int maxPageSize;
+    private int booksPerAuthor;
 
-    public AuthorController(AuthorService authorService, Mapper<AuthorEntity, AuthorDto> authorMapper) {
+    public AuthorController(AuthorService authorService, BookService bookService, BookReadService bookReadService,
+                            Mapper<AuthorEntity, AuthorDto> authorMapper,
+                            BatchImportService batchImportService, SearchService searchService,
+                            ObjectMapper objectMapper,
+                            @Value("${authors.page.default-size:100}") int defaultPageSize,
+                            @Value("${authors.page.max-size:1000}") int maxPageSize,
+                            @Value("${authors.page.books-per-author:20}") int booksPerAuthor) {
         this.authorService = authorService;
+        this.bookService = bookService;
+        this.bookReadService = bookReadService;
         this.authorMapper = authorMapper;
+        this.batchImportService = batchImportService;
+        this.searchService = searchService;
+        this.objectMapper = objectMapper;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+        this.booksPerAuthor = booksPerAuthor;
     }
 
     @PostMapping(path = "/authors")
@@ -30,43 +77,153 @@ public class AuthorController {
         return new ResponseEntity<>(authorMapper.mapTo(savedAuthorEntity), HttpStatus.CREATED);
     }
 
+    @PostMapping(path = "/authors:batch", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<BatchImportResult> importAuthors(InputStream body) throws IOException {
+        MappingIterator<AuthorDto> authors = objectMapper.readerFor(AuthorDto.class).readValues(body);
+        Iterator<AuthorEntity> authorEntities = StreamSupport
+                .stream(Spliterators.spliteratorUnknownSize(authors, Spliterator.ORDERED), false)
+                .map(authorMapper::mapFrom)
+                .iterator();
+        return new ResponseEntity<>(batchImportService.importAuthors(authorEntities), HttpStatus.OK);
+    }
+
     @GetMapping(path = "/authors")
-    public List<AuthorDto> listAuthors() {
-        List<AuthorEntity> authors = authorService.findAll();
-        return authors.stream()
+    public ResponseEntity<List<Map<String, Object>>> listAuthors(
+            @RequestParam(name = "minAge", required = false) Integer minAge,
+            @RequestParam(name = "maxAge", required = false) Integer maxAge,
+            @RequestParam(name = "name", required = false) String namePrefix,
+            @RequestParam(name = "sort", required = false) String sort,
+            @RequestParam(name = "fields", required = false) String fields,
+            @RequestParam(name = "offset", defaultValue = "0") int offset,
+            @RequestParam(name = "limit", required = false) Integer limit,
+            @RequestParam(name = "include", required = false) String include,
+            WebRequest request) {
+        boolean includeBooks = "books".equals(include);
+        Optional<Sort> parsedSort = AuthorQuery.parseSort(sort);
+        Optional<List<String>> parsedFields = AuthorQuery.parseFields(fields);
+        if (parsedSort.isEmpty() || parsedFields.isEmpty() || offset < 0
+                || (include != null && !includeBooks)
+                || (limit != null && limit < 1)
+                || (minAge != null && maxAge != null && minAge > maxAge)) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        int pageSize = limit == null ? defaultPageSize : Math.min(limit, maxPageSize);
+        AuthorQuery query = new AuthorQuery(minAge, maxAge, namePrefix, parsedSort.get(), parsedFields.get(),
+                offset, pageSize + 1);
+
+        List<AuthorVersion> versions = authorService.findVersions(query);
+        String etag = includeBooks
+                ? EntityTags.ofAuthorsWithBooks(versions,
+                        bookService.findVersionsByAuthorIds(versions.stream().map(AuthorVersion::id).toList(),
+                                booksPerAuthor + 1))
+                : EntityTags.ofAuthors(versions);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+
+        List<Map<String, Object>> authors = includeBooks
+                ? authorService.findAllWithBooks(query, booksPerAuthor)
+                : authorService.findAll(query);
+        HttpHeaders headers = new HttpHeaders();
+        if (authors.size() > pageSize) {
+            authors = authors.subList(0, pageSize);
+            String nextUri = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("offset", offset + pageSize)
+                    .replaceQueryParam("limit", pageSize)
+                    .toUriString();
+            headers.add(HttpHeaders.LINK, "<" + nextUri + ">; rel=\"next\"");
+        }
+        headers.setETag(etag);
+        headers.setVary(List.of(HttpHeaders.ACCEPT));
+        return new ResponseEntity<>(authors, headers, HttpStatus.OK);
+    }
+
+    @GetMapping(path = "/authors/search")
+    public ResponseEntity<List<AuthorDto>> searchAuthors(
+            @RequestParam("q") String query,
+            @RequestParam(name = "limit", required = false) Integer limit) {
+        if (query.isBlank() || (limit != null && limit < 1)) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        int resultSize = limit == null ? defaultPageSize : Math.min(limit, maxPageSize);
+        List<AuthorDto> authors = searchService.searchAuthors(query, resultSize).stream()
                 .map(authorMapper::mapTo)
                 .collect(Collectors.toList());
+        return new ResponseEntity<>(authors, HttpStatus.OK);
+    }
+
+    @GetMapping(path = "/authors/{id}/books")
+    public ResponseEntity<List<BookDto>> listAuthorBooks(
+            @PathVariable("id") Long id,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "limit", required = false) Integer limit,
+            WebRequest request) {
+        String afterIsbn = null;
+        if (cursor != null) {
+            Optional<String> decoded = Cursors.decode(cursor);
+            if (decoded.isEmpty()) {
+                return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            }
+            afterIsbn = decoded.get();
+        }
+        if (limit != null && limit < 1) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        if (!authorService.isExists(id)) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+        int pageSize = limit == null ? defaultPageSize : Math.min(limit, maxPageSize);
+
+        String etag = EntityTags.ofBooks(bookService.findPageVersionsByAuthor(id, afterIsbn, pageSize + 1));
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+
+        KeysetPage<BookView> page = bookReadService.findPageByAuthor(id, afterIsbn, pageSize);
+        List<BookDto> books = page.items().stream()
+                .map(BookView::book)
+                .collect(Collectors.toList());
+
+        HttpHeaders headers = new HttpHeaders();
+        page.next().ifPresent(nextIsbn -> {
+            String nextUri = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("cursor", Cursors.encode(nextIsbn))
+                    .replaceQueryParam("limit", pageSize)
+                    .toUriString();
+            headers.add(HttpHeaders.LINK, "<" + nextUri + ">; rel=\"next\"");
+        });
+        headers.setETag(etag);
+        return new ResponseEntity<>(books, headers, HttpStatus.OK);
     }
 
     @GetMapping(path = "/authors/{id}")
-    public ResponseEntity<AuthorDto> getAuthor(@PathVariable("id") Long id) {
+    public ResponseEntity<AuthorDto> getAuthor(@PathVariable("id") Long id, WebRequest request) {
+        MediaType representation = EntityTags.representation(request);
+        Optional<AuthorVersion> version = authorService.findVersion(id);
+        if (version.isPresent() && request.checkNotModified(EntityTags.of(version.get(), representation),
+                EntityTags.lastModified(version.get().lastModified()))) {
+            return null;
+        }
         Optional<AuthorEntity> foundAuthor = authorService.findOne(id);
-        return foundAuthor.map(authorEntity -> {
-            AuthorDto authorDto = authorMapper.mapTo(authorEntity);
-            return new ResponseEntity<>(authorDto, HttpStatus.OK);
-        }).orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+        return foundAuthor.map(authorEntity -> withTags(authorEntity, representation))
+                .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
 
     @PutMapping(path = "/authors/{id}")
-    public ResponseEntity<AuthorDto> fullUpdateAuthor(@PathVariable("id") Long id, @RequestBody AuthorDto authorDto) {
-        if (!authorService.isExists(id)) {
-            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
-        }
+    public ResponseEntity<AuthorDto> fullUpdateAuthor(@PathVariable("id") Long id, @RequestBody AuthorDto authorDto,
+                                                      @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                      WebRequest request) {
         authorDto.setId(id);
         AuthorEntity authorEntity = authorMapper.mapFrom(authorDto);
-        AuthorEntity savedAuthorEntity = authorService.save(authorEntity);
-        return new ResponseEntity<>(authorMapper.mapTo(savedAuthorEntity), HttpStatus.OK);
+        return toResponse(authorService.replace(id, authorEntity, ifMatch(ifMatch)), request);
     }
 
     @PatchMapping(path = "/authors/{id}")
-    public ResponseEntity<AuthorDto> partialUpdate(@PathVariable("id") Long id, @RequestBody AuthorDto authorDto) {
-        if (!authorService.isExists(id)) {
-            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
-        }
-
+    public ResponseEntity<AuthorDto> partialUpdate(@PathVariable("id") Long id, @RequestBody AuthorDto authorDto,
+                                                   @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                   WebRequest request) {
         AuthorEntity authorEntity = authorMapper.mapFrom(authorDto);
-        AuthorEntity updatedAuthor = authorService.partialUpdate(id, authorEntity);
-        return new ResponseEntity<>(authorMapper.mapTo(updatedAuthor), HttpStatus.OK);
+        return toResponse(authorService.update(id, authorEntity, ifMatch(ifMatch)), request);
     }
 
     @DeleteMapping(path = "/authors/{id}")
@@ -75,4 +232,27 @@ public class AuthorController {
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
 
+    private ResponseEntity<AuthorDto> toResponse(WriteResult<AuthorEntity> result, WebRequest request) {
+        if (result.outcome() == WriteResult.Outcome.PRECONDITION_FAILED) {
+            return new ResponseEntity<>(HttpStatus.PRECONDITION_FAILED);
+        }
+        MediaType representation = EntityTags.representation(request);
+        return result.found()
+                .map(authorEntity -> withTags(authorEntity, representation))
+                .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+
+    private ResponseEntity<AuthorDto> withTags(AuthorEntity authorEntity, MediaType representation) {
+        AuthorVersion version = AuthorVersion.of(authorEntity);
+        return ResponseEntity.ok()
+                .eTag(EntityTags.of(version, representation))
+                .varyBy(HttpHeaders.ACCEPT)
+                .lastModified(EntityTags.lastModified(version.lastModified()))
+                .body(authorMapper.mapTo(authorEntity));
+    }
+
+    private static Predicate<Optional<AuthorEntity>> ifMatch(String ifMatch) {
+        return EntityTags.ifMatch(ifMatch, authorEntity -> EntityTags.of(AuthorVersion.of(authorEntity)));
+    }
+
 }
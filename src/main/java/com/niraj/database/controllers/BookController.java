@@ -1,79 +1,216 @@
 package com.niraj.database.controllers;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.niraj.database.domain.dto.BookDto;
+import com.niraj.database.domain.dto.NormalizedBooksDto;
 import com.niraj.database.domain.entities.BookEntity;
+import com.niraj.database.domain.projections.BookVersion;
+import com.niraj.database.domain.projections.BookView;
 import com.niraj.database.mappers.Mapper;
+import com.niraj.database.pagination.Cursors;
+import com.niraj.database.pagination.KeysetPage;
+import com.niraj.database.services.BatchImportResult;
+import com.niraj.database.services.BatchImportService;
+import com.niraj.database.services.BookReadService;
 import com.niraj.database.services.BookService;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import com.niraj.database.services.SearchService;
+import com.niraj.database.services.WriteResult;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
-import java.util.List;
-import java.util.Optional;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.*;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class BookController {
 
     private Mapper<BookEntity, BookDto> bookMapper;
 
     private BookService bookService;
 
-    public BookController(Mapper<BookEntity, BookDto> bookMapper, BookService bookService) {
+    private BookReadService bookReadService;
+
+    private BatchImportService batchImportService;
+
+    private SearchService searchService;
+
+    private ObjectMapper objectMapper;
+
+    private int defaultPageSize;
+
+    private int maxPageSize;
+
+    private int streamFetchSize;
+
+    public BookController(Mapper<BookEntity, BookDto> bookMapper, BookService bookService, BookReadService bookReadService,
+                          BatchImportService batchImportService, SearchService searchService, ObjectMapper objectMapper,
+                          @Value("${books.page.default-size:100}") int defaultPageSize,
+                          @Value("${books.page.max-size:1000}") int maxPageSize,
+                          @Value("${books.stream.fetch-size:500}") int streamFetchSize) {
         this.bookMapper = bookMapper;
         this.bookService = bookService;
+        this.bookReadService = bookReadService;
+        this.batchImportService = batchImportService;
+        this.searchService = searchService;
+        this.objectMapper = objectMapper;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+        this.streamFetchSize = streamFetchSize;
     }
 
     @PutMapping(path = "/books/{isbn}")
-    public ResponseEntity<BookDto> createUpdateBook(@PathVariable("isbn") String isbn, @RequestBody BookDto bookDto) {
+    public ResponseEntity<BookDto> createUpdateBook(@PathVariable("isbn") String isbn, @RequestBody BookDto bookDto,
+                                                    @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                    WebRequest request) {
         BookEntity bookEntity = bookMapper.mapFrom(bookDto);
-        boolean bookExists = bookService.isExists(isbn);
-
-        BookEntity savedBookEntity = bookService.createUpdateBook(isbn, bookEntity);
-        BookDto savedBookDto = bookMapper.mapTo(savedBookEntity);
+        WriteResult<BookEntity> result = ifMatch == null
+                ? bookService.submit(isbn, bookEntity)
+                : bookService.upsert(isbn, bookEntity, ifMatch(ifMatch));
+        return switch (result.outcome()) {
+            case CREATED -> withTags(ResponseEntity.status(HttpStatus.CREATED), result.entity(), request);
+            case UPDATED -> withTags(ResponseEntity.ok(), result.entity(), request);
+            case ACCEPTED -> ResponseEntity.accepted()
+                    .cacheControl(CacheControl.noStore())
+                    .body(bookMapper.mapTo(result.entity()));
+            case REJECTED -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .build();
+            case PRECONDITION_FAILED -> new ResponseEntity<>(HttpStatus.PRECONDITION_FAILED);
+            case NOT_FOUND -> new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        };
+    }
 
-        if(bookExists){
-            return new ResponseEntity<>(savedBookDto, HttpStatus.OK);
-        } else {
-            return new ResponseEntity<>(savedBookDto, HttpStatus.CREATED);
+    @PatchMapping(path = "/books/{isbn}")
+    public ResponseEntity<BookDto> partialUpdateBook(@PathVariable("isbn") String isbn, @RequestBody BookDto bookDto,
+                                                     @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                     WebRequest request) {
+        BookEntity bookEntity = bookMapper.mapFrom(bookDto);
+        WriteResult<BookEntity> result = bookService.update(isbn, bookEntity, ifMatch(ifMatch));
+        if (result.outcome() == WriteResult.Outcome.PRECONDITION_FAILED) {
+            return new ResponseEntity<>(HttpStatus.PRECONDITION_FAILED);
         }
+        return result.found()
+                .map(updatedBookEntity -> withTags(ResponseEntity.ok(), updatedBookEntity, request))
+                .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
 
-    @PatchMapping(path = "/books/{isbn}")
-    public ResponseEntity<BookDto> partialUpdateBook(@PathVariable("isbn") String isbn, @RequestBody BookDto bookDto) {
-        boolean bookExists = bookService.isExists(isbn);
-        if(!bookExists){
-            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+    @PostMapping(path = "/books:batch", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<BatchImportResult> importBooks(InputStream body) throws IOException {
+        MappingIterator<BookDto> books = objectMapper.readerFor(BookDto.class).readValues(body);
+        Iterator<BookEntity> bookEntities = StreamSupport
+                .stream(Spliterators.spliteratorUnknownSize(books, Spliterator.ORDERED), false)
+                .map(bookMapper::mapFrom)
+                .iterator();
+        return new ResponseEntity<>(batchImportService.importBooks(bookEntities), HttpStatus.OK);
+    }
+
+    @GetMapping(path = "/books")
+    public ResponseEntity<?> listBooks(
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "limit", required = false) Integer limit,
+            @RequestParam(name = "authors", required = false) String authors,
+            WebRequest request) {
+        boolean normalized = "normalized".equals(authors);
+        if (authors != null && !normalized) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        String afterIsbn = null;
+        if (cursor != null) {
+            Optional<String> decoded = Cursors.decode(cursor);
+            if (decoded.isEmpty()) {
+                return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            }
+            afterIsbn = decoded.get();
+        }
+        if (limit != null && limit < 1) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
         }
+        int pageSize = limit == null ? defaultPageSize : Math.min(limit, maxPageSize);
 
-        BookEntity bookEntity = bookMapper.mapFrom(bookDto);
-        BookEntity updatedBookEntity = bookService.partialUpdate(isbn, bookEntity);
-        return new ResponseEntity<>(bookMapper.mapTo(updatedBookEntity), HttpStatus.OK);
+        String etag = EntityTags.ofBooks(bookService.findPageVersions(afterIsbn, pageSize + 1));
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+
+        KeysetPage<BookView> page = bookReadService.findPage(afterIsbn, pageSize);
+        List<BookDto> books = page.items().stream()
+                .map(BookView::book)
+                .collect(Collectors.toList());
+
+        HttpHeaders headers = new HttpHeaders();
+        page.next().ifPresent(nextIsbn -> {
+            String nextUri = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("cursor", Cursors.encode(nextIsbn))
+                    .replaceQueryParam("limit", pageSize)
+                    .toUriString();
+            headers.add(HttpHeaders.LINK, "<" + nextUri + ">; rel=\"next\"");
+        });
+        headers.setETag(etag);
+        headers.setVary(List.of(HttpHeaders.ACCEPT));
+        return new ResponseEntity<>(normalized ? NormalizedBooksDto.of(books) : books, headers, HttpStatus.OK);
     }
 
-//    @GetMapping(path = "/books")
-//    public Page<BookDto> listBooks(Pageable pageable) {
-//        Page<BookEntity> books = bookService.findAll(pageable);
-//        return books.map(bookMapper::mapTo);
-//    }
+    @GetMapping(path = "/books", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamBooks() {
+        StreamingResponseBody body = outputStream -> bookReadService.forEachChunk(streamFetchSize, chunk -> {
+            try {
+                for (BookView bookView : chunk) {
+                    outputStream.write(objectMapper.writeValueAsBytes(bookView.book()));
+                    outputStream.write('\n');
+                }
+                outputStream.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
 
-    @GetMapping(path = "/books")
-    public List<BookDto> listBooks() {
-        List<BookEntity> books = bookService.findAll();
-        return books.stream()
+    @GetMapping(path = "/books/search")
+    public ResponseEntity<List<BookDto>> searchBooks(
+            @RequestParam("q") String query,
+            @RequestParam(name = "limit", required = false) Integer limit) {
+        if (query.isBlank() || (limit != null && limit < 1)) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        int resultSize = limit == null ? defaultPageSize : Math.min(limit, maxPageSize);
+        List<BookDto> books = searchService.searchBooks(query, resultSize).stream()
                 .map(bookMapper::mapTo)
                 .collect(Collectors.toList());
+        return new ResponseEntity<>(books, HttpStatus.OK);
     }
 
     @GetMapping(path = "/books/{isbn}")
-    public ResponseEntity<BookDto> getBook(@PathVariable("isbn") String isbn) {
-        Optional<BookEntity> foundBook = bookService.findOne(isbn);
-        return foundBook.map(bookEntity -> {
-            BookDto bookDto = bookMapper.mapTo(bookEntity);
-            return new ResponseEntity<>(bookDto, HttpStatus.OK);
-        }).orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    public ResponseEntity<BookDto> getBook(@PathVariable("isbn") String isbn, WebRequest request) {
+        Optional<BookView> bookView = bookReadService.findOne(isbn);
+        if (bookView.isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+        MediaType representation = EntityTags.representation(request);
+        BookVersion version = bookView.get().version();
+        if (version.version() != null && request.checkNotModified(EntityTags.of(version, representation),
+                EntityTags.lastModified(version.lastModified()))) {
+            return null;
+        }
+        return withTags(ResponseEntity.ok(), bookView.get().book(), version, representation);
     }
 
     @DeleteMapping(path = "/books/{isbn}")
@@ -81,4 +218,25 @@ public class BookController {
         bookService.delete(isbn);
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
+
+    private ResponseEntity<BookDto> withTags(ResponseEntity.BodyBuilder response, BookEntity bookEntity,
+                                             WebRequest request) {
+        return withTags(response, bookMapper.mapTo(bookEntity), BookVersion.of(bookEntity),
+                EntityTags.representation(request));
+    }
+
+    private ResponseEntity<BookDto> withTags(ResponseEntity.BodyBuilder response, BookDto bookDto, BookVersion version,
+                                             MediaType representation) {
+        if (version.version() == null) {
+            return response.cacheControl(CacheControl.noStore()).body(bookDto);
+        }
+        return response.eTag(EntityTags.of(version, representation))
+                .varyBy(HttpHeaders.ACCEPT)
+                .lastModified(EntityTags.lastModified(version.lastModified()))
+                .body(bookDto);
+    }
+
+    private static Predicate<Optional<BookEntity>> ifMatch(String ifMatch) {
+        return EntityTags.ifMatch(ifMatch, bookEntity -> EntityTags.of(BookVersion.of(bookEntity)));
+    }
 }
@@ -0,0 +1,76 @@
+package com.niraj.database.controllers;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.niraj.database.domain.dto.CacheStatsDto;
+import com.niraj.database.domain.dto.RegionStatsDto;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+@RestController
+public class CacheStatsController {
+
+    private CacheManager cacheManager;
+
+    private Statistics hibernateStatistics;
+
+    public CacheStatsController(CacheManager cacheManager, EntityManagerFactory entityManagerFactory) {
+        this.cacheManager = cacheManager;
+        this.hibernateStatistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @GetMapping(path = "/caches")
+    public List<CacheStatsDto> listCacheStats() {
+        return cacheManager.getCacheNames().stream()
+                .map(cacheManager::getCache)
+                .filter(Objects::nonNull)
+                .map(this::toStats)
+                .collect(Collectors.toList());
+    }
+
+    @GetMapping(path = "/caches/regions")
+    public List<RegionStatsDto> listRegionStats() {
+        return Arrays.stream(hibernateStatistics.getSecondLevelCacheRegionNames())
+                .sorted()
+                .map(this::toRegionStats)
+                .collect(Collectors.toList());
+    }
+
+    private RegionStatsDto toRegionStats(String region) {
+        CacheRegionStatistics stats = hibernateStatistics.getCacheRegionStatistics(region);
+        long requests = stats.getHitCount() + stats.getMissCount();
+        return RegionStatsDto.builder()
+                .name(region)
+                .size(stats.getElementCountInMemory())
+                .hits(stats.getHitCount())
+                .misses(stats.getMissCount())
+                .puts(stats.getPutCount())
+                .hitRate(requests == 0 ? 0 : (double) stats.getHitCount() / requests)
+                .build();
+    }
+
+    private CacheStatsDto toStats(Cache cache) {
+        CacheStatsDto.CacheStatsDtoBuilder builder = CacheStatsDto.builder().name(cache.getName());
+        if (cache instanceof CaffeineCache caffeineCache) {
+            com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache = caffeineCache.getNativeCache();
+            CacheStats stats = nativeCache.stats();
+            builder.size(nativeCache.estimatedSize())
+                    .hits(stats.hitCount())
+                    .misses(stats.missCount())
+                    .evictions(stats.evictionCount())
+                    .hitRate(stats.hitRate());
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,38 @@
+package com.niraj.database.controllers;
+
+import com.niraj.database.coalescing.CoalescingTimeoutException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.WebRequest;
+
+@RestControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class ConcurrencyExceptionHandler {
+
+    /**
+     * A concurrent writer bumped the version between our read and our flush. Clients that sent
+     * {@code If-Match} get the precondition failure they asked for; everyone else gets a conflict.
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Void> handleOptimisticLockingFailure(WebRequest request) {
+        HttpStatus status = request.getHeader(HttpHeaders.IF_MATCH) != null
+                ? HttpStatus.PRECONDITION_FAILED
+                : HttpStatus.CONFLICT;
+        return new ResponseEntity<>(status);
+    }
+
+    /**
+     * The shared read this request joined did not finish in time; the database is struggling, so back off.
+     */
+    @ExceptionHandler(CoalescingTimeoutException.class)
+    public ResponseEntity<Void> handleCoalescingTimeout() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .build();
+    }
+}
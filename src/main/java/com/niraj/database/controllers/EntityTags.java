@@ -0,0 +1,168 @@
+package com.niraj.database.controllers;
+
+import com.niraj.database.domain.projections.AuthorVersion;
+import com.niraj.database.domain.projections.BookVersion;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.context.request.WebRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Strong entity tags derived from the version columns. The updated-at timestamp is folded in so a resource
+ * that is deleted and recreated under the same key does not reuse the tag of its previous incarnation. A single
+ * resource served as Smile or CBOR gets its own strong tag, marked with a suffix; preconditions ignore the suffix,
+ * since every representation carries the same version. List tags are weak: they identify the versions listed, not
+ * the bytes, which differ between JSON, Smile, CBOR and their gzipped forms (and Tomcat does not compress a response
+ * carrying a strong tag).
+ */
+final class EntityTags {
+
+    private static final MediaType SMILE = new MediaType("application", "x-jackson-smile");
+    private static final MediaType CBOR = new MediaType("application", "cbor");
+    private static final List<MediaType> REPRESENTATIONS = List.of(MediaType.APPLICATION_JSON, SMILE, CBOR);
+    private static final List<MediaType> REACTIVE_REPRESENTATIONS = List.of(MediaType.APPLICATION_JSON, SMILE);
+
+    private EntityTags() {
+    }
+
+    /**
+     * The representation Spring MVC writes a single resource in: the first of JSON, Smile and CBOR that the most
+     * specific accepted type allows.
+     */
+    static MediaType representation(WebRequest request) {
+        String[] accept = request.getHeaderValues(HttpHeaders.ACCEPT);
+        return representation(accept == null ? null : Arrays.asList(accept), REPRESENTATIONS);
+    }
+
+    /**
+     * As {@link #representation(WebRequest)}, for WebFlux, which does not serve CBOR.
+     */
+    static MediaType representation(ServerHttpRequest request) {
+        return representation(request.getHeaders().get(HttpHeaders.ACCEPT), REACTIVE_REPRESENTATIONS);
+    }
+
+    private static MediaType representation(List<String> accept, List<MediaType> representations) {
+        if (accept == null) {
+            return MediaType.APPLICATION_JSON;
+        }
+        try {
+            List<MediaType> accepted = MediaType.parseMediaTypes(accept);
+            MimeTypeUtils.sortBySpecificity(accepted);
+            for (MediaType acceptedType : accepted) {
+                for (MediaType representation : representations) {
+                    if (acceptedType.isCompatibleWith(representation)) {
+                        return representation;
+                    }
+                }
+            }
+        } catch (InvalidMediaTypeException e) {
+            // Answered with 406; the tag does not matter.
+        }
+        return MediaType.APPLICATION_JSON;
+    }
+
+    static String of(BookVersion book, MediaType representation) {
+        return inRepresentation(of(book), representation);
+    }
+
+    static String of(AuthorVersion author, MediaType representation) {
+        return inRepresentation(of(author), representation);
+    }
+
+    static String of(BookVersion book) {
+        StringBuilder tag = new StringBuilder().append(book.version()).append('-').append(millis(book.updatedAt()));
+        if (book.authorId() != null) {
+            tag.append('.').append(book.authorId())
+                    .append('-').append(book.authorVersion())
+                    .append('-').append(millis(book.authorUpdatedAt()));
+        }
+        return quote(tag.toString());
+    }
+
+    static String of(AuthorVersion author) {
+        return quote(author.version() + "-" + millis(author.updatedAt()));
+    }
+
+    static String ofBooks(List<BookVersion> books) {
+        return digest(books, book -> book.isbn() + '=' + of(book));
+    }
+
+    static String ofAuthors(List<AuthorVersion> authors) {
+        return digest(authors, author -> author.id() + "=" + of(author));
+    }
+
+    static String ofAuthorsWithBooks(List<AuthorVersion> authors, List<BookVersion> books) {
+        return digest(List.of(ofAuthors(authors), ofBooks(books)), Function.identity());
+    }
+
+    static long lastModified(Instant instant) {
+        return instant == null ? -1 : instant.toEpochMilli();
+    }
+
+    /**
+     * Builds the write precondition for an {@code If-Match} header: absent means unconditional, otherwise the
+     * resource must exist and its current tag must match one of the listed tags (or {@code *}).
+     */
+    static <T> Predicate<Optional<T>> ifMatch(String ifMatch, Function<T, String> tagOf) {
+        if (ifMatch == null) {
+            return current -> true;
+        }
+        return current -> current.map(tagOf).filter(tag -> matches(ifMatch, tag)).isPresent();
+    }
+
+    static boolean matches(String ifMatch, String tag) {
+        return Arrays.stream(ifMatch.split(","))
+                .map(String::trim)
+                .anyMatch(candidate -> candidate.equals("*") || withoutRepresentation(candidate).equals(tag));
+    }
+
+    private static String inRepresentation(String tag, MediaType representation) {
+        if (representation.equals(MediaType.APPLICATION_JSON)) {
+            return tag;
+        }
+        String suffix = representation.equals(SMILE) ? "+smile" : "+cbor";
+        return tag.substring(0, tag.length() - 1) + suffix + '"';
+    }
+
+    private static String withoutRepresentation(String tag) {
+        return tag.replaceFirst("\\+(smile|cbor)\"$", "\"");
+    }
+
+    private static <T> String digest(List<T> members, Function<T, String> memberTag) {
+        MessageDigest digest = sha256();
+        for (T member : members) {
+            digest.update(memberTag.apply(member).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+        }
+        return "W/" + quote(HexFormat.of().formatHex(digest.digest(), 0, 16));
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static long millis(Instant instant) {
+        return instant == null ? 0 : instant.toEpochMilli();
+    }
+
+    private static String quote(String tag) {
+        return '"' + tag + '"';
+    }
+}
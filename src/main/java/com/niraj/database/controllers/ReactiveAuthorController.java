@@ -0,0 +1,220 @@
+package com.niraj.database.controllers;
+
+import com.niraj.database.domain.dto.AuthorDto;
+import com.niraj.database.domain.dto.BookDto;
+import com.niraj.database.domain.entities.AuthorEntity;
+import com.niraj.database.domain.projections.AuthorVersion;
+import com.niraj.database.domain.projections.BookView;
+import com.niraj.database.mappers.Mapper;
+import com.niraj.database.pagination.Cursors;
+import com.niraj.database.repositories.AuthorQuery;
+import com.niraj.database.services.ReactiveAuthorService;
+import com.niraj.database.services.ReactiveBookService;
+import com.niraj.database.services.WriteResult;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * The {@code /authors} endpoints of {@link AuthorController} on WebFlux, for the reactive profile.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveAuthorController {
+
+    private ReactiveAuthorService authorService;
+    private ReactiveBookService bookService;
+    private Mapper<AuthorEntity, AuthorDto> authorMapper;
+    private int defaultPageSize;
+    private int maxPageSize;
+    private int booksPerAuthor;
+
+    public ReactiveAuthorController(ReactiveAuthorService authorService, ReactiveBookService bookService,
+                                    Mapper<AuthorEntity, AuthorDto> authorMapper,
+                                    @Value("${authors.page.default-size:100}") int defaultPageSize,
+                                    @Value("${authors.page.max-size:1000}") int maxPageSize,
+                                    @Value("${authors.page.books-per-author:20}") int booksPerAuthor) {
+        this.authorService = authorService;
+        this.bookService = bookService;
+        this.authorMapper = authorMapper;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+        this.booksPerAuthor = booksPerAuthor;
+    }
+
+    @PostMapping(path = "/authors")
+    public Mono<ResponseEntity<AuthorDto>> createAuthor(@RequestBody AuthorDto authorDto) {
+        return authorService.save(authorMapper.mapFrom(authorDto))
+                .map(savedAuthorEntity -> new ResponseEntity<>(authorMapper.mapTo(savedAuthorEntity), HttpStatus.CREATED));
+    }
+
+    @GetMapping(path = "/authors")
+    public Mono<ResponseEntity<List<Map<String, Object>>>> listAuthors(
+            @RequestParam(name = "minAge", required = false) Integer minAge,
+            @RequestParam(name = "maxAge", required = false) Integer maxAge,
+            @RequestParam(name = "name", required = false) String namePrefix,
+            @RequestParam(name = "sort", required = false) String sort,
+            @RequestParam(name = "fields", required = false) String fields,
+            @RequestParam(name = "offset", defaultValue = "0") int offset,
+            @RequestParam(name = "limit", required = false) Integer limit,
+            @RequestParam(name = "include", required = false) String include,
+            ServerHttpRequest request) {
+        boolean includeBooks = "books".equals(include);
+        Optional<Sort> parsedSort = AuthorQuery.parseSort(sort);
+        Optional<List<String>> parsedFields = AuthorQuery.parseFields(fields);
+        if (parsedSort.isEmpty() || parsedFields.isEmpty() || offset < 0
+                || (include != null && !includeBooks)
+                || (limit != null && limit < 1)
+                || (minAge != null && maxAge != null && minAge > maxAge)) {
+            return Mono.just(new ResponseEntity<>(HttpStatus.BAD_REQUEST));
+        }
+        int pageSize = limit == null ? defaultPageSize : Math.min(limit, maxPageSize);
+        AuthorQuery query = new AuthorQuery(minAge, maxAge, namePrefix, parsedSort.get(), parsedFields.get(),
+                offset, pageSize + 1);
+
+        return authorService.findAll(query).collectList()
+                .flatMap(authors -> includeBooks
+                        ? bookService.findByAuthorIds(authors.stream().map(AuthorEntity::getId).toList(),
+                                        booksPerAuthor + 1)
+                                .collectList()
+                                .map(books -> toResponse(authors, Optional.of(books), query, request))
+                        : Mono.just(toResponse(authors, Optional.empty(), query, request)));
+    }
+
+    private ResponseEntity<List<Map<String, Object>>> toResponse(List<AuthorEntity> authors,
+                                                                 Optional<List<BookView>> books,
+                                                                 AuthorQuery query, ServerHttpRequest request) {
+        List<AuthorVersion> versions = authors.stream().map(AuthorVersion::of).toList();
+        String etag = books
+                .map(bookViews -> EntityTags.ofAuthorsWithBooks(versions,
+                        bookViews.stream().map(BookView::version).toList()))
+                .orElseGet(() -> EntityTags.ofAuthors(versions));
+
+        int pageSize = query.limit() - 1;
+        HttpHeaders headers = new HttpHeaders();
+        if (authors.size() > pageSize) {
+            authors = authors.subList(0, pageSize);
+            String nextUri = UriComponentsBuilder.fromUri(request.getURI())
+                    .replaceQueryParam("offset", query.offset() + pageSize)
+                    .replaceQueryParam("limit", pageSize)
+                    .toUriString();
+            headers.add(HttpHeaders.LINK, "<" + nextUri + ">; rel=\"next\"");
+        }
+        headers.setETag(etag);
+        headers.setVary(List.of(HttpHeaders.ACCEPT));
+
+        Map<Long, List<Map<String, Object>>> booksByAuthor = new HashMap<>();
+        books.ifPresent(bookViews -> bookViews.forEach(bookView -> {
+            Map<String, Object> bookRow = new LinkedHashMap<>();
+            bookRow.put("isbn", bookView.isbn());
+            bookRow.put("title", bookView.book().getTitle());
+            booksByAuthor.computeIfAbsent(bookView.version().authorId(), id -> new ArrayList<>()).add(bookRow);
+        }));
+        List<Map<String, Object>> rows = new ArrayList<>(authors.size());
+        for (AuthorEntity author : authors) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (String field : query.fields()) {
+                row.put(field, switch (field) {
+                    case "id" -> author.getId();
+                    case "name" -> author.getName();
+                    default -> author.getAge();
+                });
+            }
+            if (books.isPresent()) {
+                List<Map<String, Object>> authorBooks = booksByAuthor.getOrDefault(author.getId(), List.of());
+                row.put("books", authorBooks.size() > booksPerAuthor
+                        ? authorBooks.subList(0, booksPerAuthor)
+                        : authorBooks);
+                row.put("booksTruncated", authorBooks.size() > booksPerAuthor);
+            }
+            rows.add(row);
+        }
+        return new ResponseEntity<>(rows, headers, HttpStatus.OK);
+    }
+
+    @GetMapping(path = "/authors/{id}/books")
+    public Mono<ResponseEntity<List<BookDto>>> listAuthorBooks(
+            @PathVariable("id") Long id,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "limit", required = false) Integer limit,
+            ServerHttpRequest request) {
+        Optional<String> afterIsbn = cursor == null ? Optional.empty() : Cursors.decode(cursor);
+        if ((cursor != null && afterIsbn.isEmpty()) || (limit != null && limit < 1)) {
+            return Mono.just(new ResponseEntity<>(HttpStatus.BAD_REQUEST));
+        }
+        int pageSize = limit == null ? defaultPageSize : Math.min(limit, maxPageSize);
+
+        return authorService.isExists(id).flatMap(exists -> !exists
+                ? Mono.just(new ResponseEntity<>(HttpStatus.NOT_FOUND))
+                : bookService.findPageByAuthor(id, afterIsbn.orElse(null), pageSize + 1).collectList()
+                        .map(views -> new ResponseEntity<>(
+                                views.stream().limit(pageSize).map(BookView::book).toList(),
+                                ReactiveBookController.pageHeaders(views, pageSize, request),
+                                HttpStatus.OK)));
+    }
+
+    @GetMapping(path = "/authors/{id}")
+    public Mono<ResponseEntity<AuthorDto>> getAuthor(@PathVariable("id") Long id, ServerHttpRequest request) {
+        MediaType representation = EntityTags.representation(request);
+        return authorService.findOne(id)
+                .map(authorEntity -> withTags(authorEntity, representation))
+                .defaultIfEmpty(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+
+    @PutMapping(path = "/authors/{id}")
+    public Mono<ResponseEntity<AuthorDto>> fullUpdateAuthor(@PathVariable("id") Long id, @RequestBody AuthorDto authorDto,
+                                                            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                            ServerHttpRequest request) {
+        authorDto.setId(id);
+        MediaType representation = EntityTags.representation(request);
+        return authorService.replace(id, authorMapper.mapFrom(authorDto), ifMatch(ifMatch))
+                .map(result -> toResponse(result, representation));
+    }
+
+    @PatchMapping(path = "/authors/{id}")
+    public Mono<ResponseEntity<AuthorDto>> partialUpdate(@PathVariable("id") Long id, @RequestBody AuthorDto authorDto,
+                                                         @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                         ServerHttpRequest request) {
+        MediaType representation = EntityTags.representation(request);
+        return authorService.update(id, authorMapper.mapFrom(authorDto), ifMatch(ifMatch))
+                .map(result -> toResponse(result, representation));
+    }
+
+    @DeleteMapping(path = "/authors/{id}")
+    public Mono<ResponseEntity<Void>> deleteAuthor(@PathVariable("id") Long id) {
+        return authorService.delete(id).thenReturn(new ResponseEntity<>(HttpStatus.NO_CONTENT));
+    }
+
+    private ResponseEntity<AuthorDto> toResponse(WriteResult<AuthorEntity> result, MediaType representation) {
+        if (result.outcome() == WriteResult.Outcome.PRECONDITION_FAILED) {
+            return new ResponseEntity<>(HttpStatus.PRECONDITION_FAILED);
+        }
+        return result.found()
+                .map(authorEntity -> withTags(authorEntity, representation))
+                .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+
+    private ResponseEntity<AuthorDto> withTags(AuthorEntity authorEntity, MediaType representation) {
+        AuthorVersion version = AuthorVersion.of(authorEntity);
+        return ResponseEntity.ok()
+                .eTag(EntityTags.of(version, representation))
+                .varyBy(HttpHeaders.ACCEPT)
+                .lastModified(EntityTags.lastModified(version.lastModified()))
+                .body(authorMapper.mapTo(authorEntity));
+    }
+
+    private static Predicate<Optional<AuthorEntity>> ifMatch(String ifMatch) {
+        return EntityTags.ifMatch(ifMatch, authorEntity -> EntityTags.of(AuthorVersion.of(authorEntity)));
+    }
+}
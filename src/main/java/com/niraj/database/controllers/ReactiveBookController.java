@@ -0,0 +1,161 @@
+package com.niraj.database.controllers;
+
+import com.niraj.database.domain.dto.BookDto;
+import com.niraj.database.domain.dto.NormalizedBooksDto;
+import com.niraj.database.domain.entities.BookEntity;
+import com.niraj.database.domain.projections.BookVersion;
+import com.niraj.database.domain.projections.BookView;
+import com.niraj.database.mappers.Mapper;
+import com.niraj.database.pagination.Cursors;
+import com.niraj.database.services.ReactiveBookService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * The {@code /books} endpoints of {@link BookController} on WebFlux, for the reactive profile. Conditional requests
+ * are answered by WebFlux from the tags set on each response, after the rows have been read.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveBookController {
+
+    private Mapper<BookEntity, BookDto> bookMapper;
+
+    private ReactiveBookService bookService;
+
+    private int defaultPageSize;
+
+    private int maxPageSize;
+
+    private int streamFetchSize;
+
+    public ReactiveBookController(Mapper<BookEntity, BookDto> bookMapper, ReactiveBookService bookService,
+                                  @Value("${books.page.default-size:100}") int defaultPageSize,
+                                  @Value("${books.page.max-size:1000}") int maxPageSize,
+                                  @Value("${books.stream.fetch-size:500}") int streamFetchSize) {
+        this.bookMapper = bookMapper;
+        this.bookService = bookService;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+        this.streamFetchSize = streamFetchSize;
+    }
+
+    @PutMapping(path = "/books/{isbn}")
+    public Mono<ResponseEntity<BookDto>> createUpdateBook(@PathVariable("isbn") String isbn, @RequestBody BookDto bookDto,
+                                                          @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                          ServerHttpRequest request) {
+        MediaType representation = EntityTags.representation(request);
+        return bookService.upsert(isbn, bookMapper.mapFrom(bookDto), ifMatch(ifMatch))
+                .map(result -> switch (result.outcome()) {
+                    case CREATED -> withTags(ResponseEntity.status(HttpStatus.CREATED), result.entity(), representation);
+                    case UPDATED -> withTags(ResponseEntity.ok(), result.entity(), representation);
+                    default -> new ResponseEntity<>(HttpStatus.PRECONDITION_FAILED);
+                });
+    }
+
+    @PatchMapping(path = "/books/{isbn}")
+    public Mono<ResponseEntity<BookDto>> partialUpdateBook(@PathVariable("isbn") String isbn, @RequestBody BookDto bookDto,
+                                                           @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                           ServerHttpRequest request) {
+        MediaType representation = EntityTags.representation(request);
+        return bookService.update(isbn, bookMapper.mapFrom(bookDto), ifMatch(ifMatch))
+                .map(result -> switch (result.outcome()) {
+                    case UPDATED -> withTags(ResponseEntity.ok(), result.entity(), representation);
+                    case NOT_FOUND -> new ResponseEntity<>(HttpStatus.NOT_FOUND);
+                    default -> new ResponseEntity<>(HttpStatus.PRECONDITION_FAILED);
+                });
+    }
+
+    @GetMapping(path = "/books")
+    public Mono<ResponseEntity<?>> listBooks(
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "limit", required = false) Integer limit,
+            @RequestParam(name = "authors", required = false) String authors,
+            ServerHttpRequest request) {
+        boolean normalized = "normalized".equals(authors);
+        Optional<String> afterIsbn = cursor == null ? Optional.empty() : Cursors.decode(cursor);
+        if ((authors != null && !normalized) || (cursor != null && afterIsbn.isEmpty()) || (limit != null && limit < 1)) {
+            return Mono.just(new ResponseEntity<>(HttpStatus.BAD_REQUEST));
+        }
+        int pageSize = limit == null ? defaultPageSize : Math.min(limit, maxPageSize);
+
+        // One row past the page, so that the tag matches the one BookController computes for the same page.
+        return bookService.findPage(afterIsbn.orElse(null), pageSize + 1).collectList().map(views -> {
+            HttpHeaders headers = pageHeaders(views, pageSize, request);
+            headers.setVary(List.of(HttpHeaders.ACCEPT));
+            List<BookDto> books = views.stream().limit(pageSize).map(BookView::book).toList();
+            return new ResponseEntity<>(normalized ? NormalizedBooksDto.of(books) : books, headers, HttpStatus.OK);
+        });
+    }
+
+    /**
+     * Streams every book as NDJSON. Rows are read only as fast as the client consumes them.
+     */
+    @GetMapping(path = "/books", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<BookDto> streamBooks() {
+        return bookService.findAll(streamFetchSize).map(BookView::book);
+    }
+
+    @GetMapping(path = "/books/{isbn}")
+    public Mono<ResponseEntity<BookDto>> getBook(@PathVariable("isbn") String isbn, ServerHttpRequest request) {
+        MediaType representation = EntityTags.representation(request);
+        return bookService.findOne(isbn)
+                .map(bookView -> withTags(ResponseEntity.ok(), bookView.book(), bookView.version(), representation))
+                .defaultIfEmpty(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+
+    @DeleteMapping(path = "/books/{isbn}")
+    public Mono<ResponseEntity<Void>> deleteBook(@PathVariable("isbn") String isbn) {
+        return bookService.delete(isbn).thenReturn(new ResponseEntity<>(HttpStatus.NO_CONTENT));
+    }
+
+    /**
+     * Tag and next link of a page read with one row of look-ahead.
+     */
+    static HttpHeaders pageHeaders(List<BookView> views, int pageSize, ServerHttpRequest request) {
+        HttpHeaders headers = new HttpHeaders();
+        if (views.size() > pageSize) {
+            String nextUri = UriComponentsBuilder.fromUri(request.getURI())
+                    .replaceQueryParam("cursor", Cursors.encode(views.get(pageSize - 1).isbn()))
+                    .replaceQueryParam("limit", pageSize)
+                    .toUriString();
+            headers.add(HttpHeaders.LINK, "<" + nextUri + ">; rel=\"next\"");
+        }
+        headers.setETag(EntityTags.ofBooks(views.stream().map(BookView::version).toList()));
+        return headers;
+    }
+
+    private ResponseEntity<BookDto> withTags(ResponseEntity.BodyBuilder response, BookEntity bookEntity,
+                                             MediaType representation) {
+        return withTags(response, bookMapper.mapTo(bookEntity), BookVersion.of(bookEntity), representation);
+    }
+
+    private ResponseEntity<BookDto> withTags(ResponseEntity.BodyBuilder response, BookDto bookDto, BookVersion version,
+                                             MediaType representation) {
+        if (version.version() == null) {
+            return response.cacheControl(CacheControl.noStore()).body(bookDto);
+        }
+        return response.eTag(EntityTags.of(version, representation))
+                .varyBy(HttpHeaders.ACCEPT)
+                .lastModified(EntityTags.lastModified(version.lastModified()))
+                .body(bookDto);
+    }
+
+    private static Predicate<Optional<BookEntity>> ifMatch(String ifMatch) {
+        return EntityTags.ifMatch(ifMatch, bookEntity -> EntityTags.of(BookVersion.of(bookEntity)));
+    }
+}
@@ -0,0 +1,33 @@
+package com.niraj.database.datasource;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+
+/**
+ * Sends the reads behind {@link org.springframework.cache.annotation.Cacheable} methods to the primary. A write
+ * evicts the cached entry, and a miss served by a lagging replica would put the old value straight back for every
+ * client until it expires.
+ */
+@Aspect
+public class CacheFillRoutingAspect {
+
+    private static final ThreadLocal<Boolean> FILLING = new ThreadLocal<>();
+
+    public static boolean isFillingCache() {
+        return FILLING.get() != null;
+    }
+
+    @Around("@annotation(org.springframework.cache.annotation.Cacheable)")
+    public Object readFromPrimary(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (FILLING.get() != null) {
+            return joinPoint.proceed();
+        }
+        FILLING.set(Boolean.TRUE);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            FILLING.remove();
+        }
+    }
+}
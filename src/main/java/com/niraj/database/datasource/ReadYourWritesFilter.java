@@ -0,0 +1,67 @@
+package com.niraj.database.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Pins the reads of a client that identifies itself with the client header to the primary from the start of each
+ * of its writes until the sticky window after its successful end, so it reads its own writes while the replicas
+ * catch up. Work handed to another thread, such as a streamed response body, is not pinned.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+    private static final Set<String> READ_METHODS = Set.of(HttpMethod.GET.name(), HttpMethod.HEAD.name(),
+            HttpMethod.OPTIONS.name());
+
+    private final String clientHeader;
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadYourWritesFilter(String clientHeader, Duration stickyWindow) {
+        this.clientHeader = clientHeader;
+        this.recentWriters = Caffeine.newBuilder().expireAfterWrite(stickyWindow).build();
+    }
+
+    public static boolean isPinnedToPrimary() {
+        return PINNED.get() != null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String client = request.getHeader(clientHeader);
+        if (client == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        boolean pinned = recentWriters.getIfPresent(client) != null;
+        boolean write = !READ_METHODS.contains(request.getMethod());
+        // Recorded before the write runs as well, since its commit can reach a concurrent read before the response.
+        if (write) {
+            recentWriters.put(client, Boolean.TRUE);
+        }
+        if (pinned) {
+            PINNED.set(Boolean.TRUE);
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (pinned) {
+                PINNED.remove();
+            }
+        }
+        if (write && response.getStatus() < 400) {
+            recentWriters.put(client, Boolean.TRUE);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.niraj.database.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Read-only connections, balanced round-robin over the replicas that passed their last health check. A replica
+ * that fails to hand out a connection is taken out of rotation until the next check succeeds. Reads fall back to
+ * the primary when no replica is healthy, while {@link ReadYourWritesFilter} pins the current request to it, and
+ * while {@link CacheFillRoutingAspect} fills a cache.
+ */
+public class ReplicaPool extends AbstractDataSource implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaPool.class);
+    private static final String READS = "datasource.routing.reads";
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final Duration healthCheckInterval;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Counter primaryReads;
+
+    private volatile ScheduledExecutorService healthChecker;
+
+    public ReplicaPool(DataSource primary, List<HikariDataSource> replicas, Duration healthCheckInterval,
+                       MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(dataSource -> new Replica(dataSource, meterRegistry)).toList();
+        this.healthCheckInterval = healthCheckInterval;
+        this.primaryReads = Counter.builder(READS).tag("target", "primary").register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return connect(DataSource::getConnection);
+    }
+
+    // Hikari pools, as configured here, reject per-call credentials; that is not a reason to take a replica down.
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return connect(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    private Connection connect(Connector connector) throws SQLException {
+        if (!ReadYourWritesFilter.isPinnedToPrimary() && !CacheFillRoutingAspect.isFillingCache()) {
+            int start = Math.floorMod(next.getAndIncrement(), Math.max(replicas.size(), 1));
+            for (int i = 0; i < replicas.size(); i++) {
+                Replica replica = replicas.get((start + i) % replicas.size());
+                if (replica.healthy) {
+                    try {
+                        Connection connection = connector.connect(replica.dataSource);
+                        replica.reads.increment();
+                        return connection;
+                    } catch (SQLFeatureNotSupportedException e) {
+                        throw e;
+                    } catch (SQLException e) {
+                        replica.markDown(e);
+                    }
+                }
+            }
+        }
+        primaryReads.increment();
+        return connector.connect(primary);
+    }
+
+    private void checkHealth() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection()) {
+                if (connection.isValid((int) Math.max(1, replica.dataSource.getValidationTimeout() / 1000))) {
+                    replica.markUp();
+                } else {
+                    replica.markDown(null);
+                }
+            } catch (SQLException e) {
+                replica.markDown(e);
+            }
+        }
+    }
+
+    // The first check runs before the web server starts, so no request is routed to a replica that was down at startup.
+    @Override
+    public void start() {
+        checkHealth();
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("replica-health-check").daemon().factory());
+        executor.scheduleWithFixedDelay(this::checkHealth, healthCheckInterval.toMillis(),
+                healthCheckInterval.toMillis(), TimeUnit.MILLISECONDS);
+        healthChecker = executor;
+    }
+
+    @Override
+    public void stop() {
+        ScheduledExecutorService executor = healthChecker;
+        healthChecker = null;
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+        replicas.forEach(replica -> replica.dataSource.close());
+    }
+
+    @Override
+    public boolean isRunning() {
+        return healthChecker != null;
+    }
+
+    // Below the web server's DEFAULT_PHASE - 2048, so replicas are checked before it starts and closed after it stops.
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    @FunctionalInterface
+    private interface Connector {
+        Connection connect(DataSource dataSource) throws SQLException;
+    }
+
+    private static final class Replica {
+
+        private final HikariDataSource dataSource;
+        private final Counter reads;
+        private volatile boolean healthy = true;
+
+        private Replica(HikariDataSource dataSource, MeterRegistry meterRegistry) {
+            this.dataSource = dataSource;
+            this.reads = Counter.builder(READS).tag("target", dataSource.getPoolName()).register(meterRegistry);
+            Gauge.builder("datasource.replica.healthy", this, replica -> replica.healthy ? 1 : 0)
+                    .description("Whether the replica passed its last health check")
+                    .tag("replica", dataSource.getPoolName())
+                    .register(meterRegistry);
+        }
+
+        private void markUp() {
+            if (!healthy) {
+                log.info("Replica {} is back in rotation", dataSource.getPoolName());
+            }
+            healthy = true;
+        }
+
+        private void markDown(SQLException e) {
+            if (healthy) {
+                log.warn("Taking replica {} out of rotation: {}", dataSource.getPoolName(),
+                        e == null ? "connection is not valid" : e.getMessage());
+            }
+            healthy = false;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.niraj.database.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BookRefDto {
+
+    private String isbn;
+
+    private String title;
+
+    private Long authorId;
+
+}
@@ -0,0 +1,39 @@
+package com.niraj.database.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The {@code ?authors=normalized} shape of a book list: every author listed once, in order of first appearance,
+ * and books referring to them by id.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class NormalizedBooksDto {
+
+    private List<AuthorDto> authors;
+
+    private List<BookRefDto> books;
+
+    public static NormalizedBooksDto of(List<BookDto> bookDtos) {
+        Map<Long, AuthorDto> authors = new LinkedHashMap<>();
+        List<BookRefDto> books = new ArrayList<>(bookDtos.size());
+        for (BookDto bookDto : bookDtos) {
+            AuthorDto author = bookDto.getAuthor();
+            if (author != null) {
+                authors.putIfAbsent(author.getId(), author);
+            }
+            books.add(new BookRefDto(bookDto.getIsbn(), bookDto.getTitle(), author == null ? null : author.getId()));
+        }
+        return new NormalizedBooksDto(new ArrayList<>(authors.values()), books);
+    }
+}
@@ -0,0 +1,24 @@
+package com.niraj.database.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class RegionStatsDto {
+    private String name;
+
+    private long size;
+
+    private long hits;
+
+    private long misses;
+
+    private long puts;
+
+    private double hitRate;
+}
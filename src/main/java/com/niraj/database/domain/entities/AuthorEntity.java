@@ -1,26 +1,51 @@
 package com.niraj.database.domain.entities;
 
+import com.niraj.database.config.CacheConfig;
+import com.niraj.database.search.SearchIndexingListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.Instant;
 
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
 @Entity
-@Table(name = "authors")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheConfig.AUTHOR_REGION)
+@EntityListeners(SearchIndexingListener.class)
+@Table(name = "authors", indexes = {
+        @Index(name = "idx_authors_name", columnList = "name"),
+        @Index(name = "idx_authors_age", columnList = "age")
+})
 public class AuthorEntity {
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "author_id_seq")
-    @SequenceGenerator(name = "author_id_seq", sequenceName = "author_id_seq", allocationSize = 1)
+    @SequenceGenerator(name = "author_id_seq", sequenceName = "author_id_seq", allocationSize = 50)
     private Long id;
 
     private String name;
 
     private Integer age;
 
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    @EqualsAndHashCode.Exclude
+    private long version;
+
+    @UpdateTimestamp
+    @EqualsAndHashCode.Exclude
+    private Instant updatedAt;
+
 }
@@ -1,17 +1,32 @@
 package com.niraj.database.domain.entities;
 
+import com.niraj.database.config.CacheConfig;
+import com.niraj.database.search.SearchIndexingListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.proxy.HibernateProxy;
+import org.hibernate.proxy.LazyInitializer;
+
+import java.time.Instant;
 
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
 @Entity
-@Table(name="books")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheConfig.BOOK_REGION)
+@EntityListeners(SearchIndexingListener.class)
+@Table(name = "books", indexes = @Index(name = "idx_books_author_isbn", columnList = "author_id, isbn"))
 public class BookEntity {
 
     @Id
@@ -19,8 +34,30 @@ public class BookEntity {
 
     private String title;
 
-    @ManyToOne(cascade = CascadeType.ALL)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "author_id")
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     private AuthorEntity authorEntity;
 
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    @EqualsAndHashCode.Exclude
+    private long version;
+
+    @UpdateTimestamp
+    @EqualsAndHashCode.Exclude
+    private Instant updatedAt;
+
+    // The author may be an uninitialized proxy of a closed session, so books compare by its id, which the proxy holds.
+    @EqualsAndHashCode.Include
+    private Long authorId() {
+        if (authorEntity == null) {
+            return null;
+        }
+        LazyInitializer lazyAuthor = HibernateProxy.extractLazyInitializer(authorEntity);
+        return lazyAuthor == null ? authorEntity.getId() : (Long) lazyAuthor.getIdentifier();
+    }
+
 }
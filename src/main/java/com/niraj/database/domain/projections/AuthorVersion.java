@@ -0,0 +1,16 @@
+package com.niraj.database.domain.projections;
+
+import com.niraj.database.domain.entities.AuthorEntity;
+
+import java.time.Instant;
+
+public record AuthorVersion(Long id, Long version, Instant updatedAt) {
+
+    public static AuthorVersion of(AuthorEntity author) {
+        return new AuthorVersion(author.getId(), author.getVersion(), author.getUpdatedAt());
+    }
+
+    public Instant lastModified() {
+        return updatedAt;
+    }
+}
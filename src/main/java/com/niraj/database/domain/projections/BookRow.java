@@ -0,0 +1,30 @@
+package com.niraj.database.domain.projections;
+
+import com.niraj.database.domain.dto.AuthorDto;
+import com.niraj.database.domain.dto.BookDto;
+
+import java.time.Instant;
+
+/**
+ * A book left-joined to its author as one flat row, for JPQL constructor expressions and R2DBC rows.
+ */
+public record BookRow(String isbn, String title, Long version, Instant updatedAt,
+                      Long authorId, String authorName, Integer authorAge, Long authorVersion, Instant authorUpdatedAt) {
+
+    public AuthorDto author() {
+        return authorId == null ? null : AuthorDto.builder()
+                .id(authorId)
+                .name(authorName)
+                .age(authorAge)
+                .build();
+    }
+
+    /**
+     * The view of this row with the given author, which rows of the same author can share.
+     */
+    public BookView toView(AuthorDto author) {
+        return new BookView(
+                BookDto.builder().isbn(isbn).title(title).author(author).build(),
+                new BookVersion(isbn, version, updatedAt, authorId, authorVersion, authorUpdatedAt));
+    }
+}
@@ -0,0 +1,4 @@
+package com.niraj.database.domain.projections;
+
+public record BookSummary(Long authorId, String isbn, String title) {
+}
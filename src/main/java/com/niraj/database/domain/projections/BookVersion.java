@@ -0,0 +1,25 @@
+package com.niraj.database.domain.projections;
+
+import com.niraj.database.domain.entities.AuthorEntity;
+import com.niraj.database.domain.entities.BookEntity;
+
+import java.time.Instant;
+
+public record BookVersion(String isbn, Long version, Instant updatedAt,
+                          Long authorId, Long authorVersion, Instant authorUpdatedAt) {
+
+    public static BookVersion of(BookEntity book) {
+        AuthorEntity author = book.getAuthorEntity();
+        return new BookVersion(book.getIsbn(), book.getVersion(), book.getUpdatedAt(),
+                author == null ? null : author.getId(),
+                author == null ? null : author.getVersion(),
+                author == null ? null : author.getUpdatedAt());
+    }
+
+    public Instant lastModified() {
+        if (authorUpdatedAt != null && (updatedAt == null || authorUpdatedAt.isAfter(updatedAt))) {
+            return authorUpdatedAt;
+        }
+        return updatedAt;
+    }
+}
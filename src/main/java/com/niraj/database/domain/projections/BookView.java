@@ -0,0 +1,13 @@
+package com.niraj.database.domain.projections;
+
+import com.niraj.database.domain.dto.BookDto;
+
+/**
+ * A book as served by the read endpoints: the response body plus the versions its tags are derived from.
+ */
+public record BookView(BookDto book, BookVersion version) {
+
+    public String isbn() {
+        return book.getIsbn();
+    }
+}
@@ -1,6 +1,15 @@
 package com.niraj.database.mappers;
 
+import java.util.List;
+
 public interface Mapper<A, B> {
     B mapTo(A a);
     A mapFrom(B b);
+
+    /**
+     * Maps a whole result at once, so implementations can share what the items have in common.
+     */
+    default List<B> mapAllTo(List<A> as) {
+        return as.stream().map(this::mapTo).toList();
+    }
 }
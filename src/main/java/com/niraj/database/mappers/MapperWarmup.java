@@ -0,0 +1,71 @@
+package com.niraj.database.mappers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.niraj.database.domain.dto.AuthorDto;
+import com.niraj.database.domain.dto.BookDto;
+import com.niraj.database.domain.entities.AuthorEntity;
+import com.niraj.database.domain.entities.BookEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Runs a sample book and author through the mappers and the JSON codec on a background thread while the rest of
+ * the application starts, so that the first requests do not pay for ModelMapper type maps, Jackson serializers and
+ * the class loading behind them.
+ */
+@Component
+@ConditionalOnProperty(name = "mappers.warmup.enabled", havingValue = "true")
+public class MapperWarmup implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(MapperWarmup.class);
+
+    private final Mapper<BookEntity, BookDto> bookMapper;
+    private final Mapper<AuthorEntity, AuthorDto> authorMapper;
+    private final ObjectMapper objectMapper;
+    private final CompletableFuture<Void> completion = new CompletableFuture<>();
+
+    public MapperWarmup(Mapper<BookEntity, BookDto> bookMapper, Mapper<AuthorEntity, AuthorDto> authorMapper,
+                        ObjectMapper objectMapper) {
+        this.bookMapper = bookMapper;
+        this.authorMapper = authorMapper;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        Thread.ofPlatform().name("mapper-warmup").daemon().start(this::warmUp);
+    }
+
+    public CompletableFuture<Void> completion() {
+        return completion;
+    }
+
+    private void warmUp() {
+        long start = System.nanoTime();
+        try {
+            AuthorEntity author = AuthorEntity.builder().id(1L).name("Warmup").age(1).build();
+            BookEntity book = BookEntity.builder().isbn("warmup").title("Warmup").authorEntity(author).build();
+
+            BookDto bookDto = bookMapper.mapTo(book);
+            bookMapper.mapFrom(bookDto);
+            AuthorDto authorDto = authorMapper.mapTo(author);
+            authorMapper.mapFrom(authorDto);
+
+            byte[] json = objectMapper.writeValueAsBytes(List.of(bookDto));
+            objectMapper.readValue(json, BookDto[].class);
+            objectMapper.readValue(objectMapper.writeValueAsBytes(authorDto), AuthorDto.class);
+
+            log.info("Warmed up mappers in {} ms", (System.nanoTime() - start) / 1_000_000);
+            completion.complete(null);
+        } catch (Exception e) {
+            log.warn("Mapper warmup failed", e);
+            completion.completeExceptionally(e);
+        }
+    }
+}
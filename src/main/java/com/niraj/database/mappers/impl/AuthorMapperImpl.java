@@ -4,14 +4,16 @@ import com.niraj.database.domain.dto.AuthorDto;
 import com.niraj.database.domain.entities.AuthorEntity;
 import com.niraj.database.mappers.Mapper;
 import org.modelmapper.ModelMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
 @Component
+@ConditionalOnProperty(name = "mappers.strategy", havingValue = "modelmapper")
 public class AuthorMapperImpl implements Mapper<AuthorEntity, AuthorDto> {
 
     private ModelMapper modelMapper;
 
-    AuthorMapperImpl(ModelMapper modelMapper) {
+    public AuthorMapperImpl(ModelMapper modelMapper) {
         this.modelMapper = modelMapper;
     }
 
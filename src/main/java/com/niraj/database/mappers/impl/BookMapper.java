@@ -1,18 +1,34 @@
 package com.niraj.database.mappers.impl;
 
+import com.niraj.database.domain.dto.AuthorDto;
 import com.niraj.database.domain.dto.BookDto;
+import com.niraj.database.domain.entities.AuthorEntity;
 import com.niraj.database.domain.entities.BookEntity;
 import com.niraj.database.mappers.Mapper;
 import org.modelmapper.ModelMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 @Component
+@ConditionalOnProperty(name = "mappers.strategy", havingValue = "modelmapper")
 public class BookMapper implements Mapper<BookEntity, BookDto> {
 
+    private static final String WITHOUT_AUTHOR = "bookWithoutAuthor";
+
     ModelMapper modelMapper;
 
     public BookMapper(ModelMapper modelMapper) {
         this.modelMapper = modelMapper;
+        if (modelMapper.getTypeMap(BookEntity.class, BookDto.class, WITHOUT_AUTHOR) == null) {
+            modelMapper.emptyTypeMap(BookEntity.class, BookDto.class, WITHOUT_AUTHOR)
+                    .addMappings(mapping -> mapping.skip(BookDto::setAuthor))
+                    .implicitMappings();
+        }
     }
 
     @Override
@@ -20,6 +36,27 @@ public class BookMapper implements Mapper<BookEntity, BookDto> {
         return modelMapper.map(bookEntity, BookDto.class);
     }
 
+    /**
+     * Maps each author once and shares the resulting {@link AuthorDto} between all of its books.
+     */
+    @Override
+    public List<BookDto> mapAllTo(List<BookEntity> bookEntities) {
+        Map<Long, AuthorDto> authors = new HashMap<>();
+        List<BookDto> bookDtos = new ArrayList<>(bookEntities.size());
+        for (BookEntity bookEntity : bookEntities) {
+            AuthorEntity authorEntity = bookEntity.getAuthorEntity();
+            BookDto bookDto = modelMapper.map(bookEntity, BookDto.class, WITHOUT_AUTHOR);
+            if (authorEntity != null) {
+                bookDto.setAuthor(authorEntity.getId() == null
+                        ? modelMapper.map(authorEntity, AuthorDto.class)
+                        : authors.computeIfAbsent(authorEntity.getId(),
+                                id -> modelMapper.map(authorEntity, AuthorDto.class)));
+            }
+            bookDtos.add(bookDto);
+        }
+        return bookDtos;
+    }
+
     @Override
     public BookEntity mapFrom(BookDto bookDto) {
         return modelMapper.map(bookDto, BookEntity.class);
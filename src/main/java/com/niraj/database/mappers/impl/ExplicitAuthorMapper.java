@@ -0,0 +1,36 @@
+package com.niraj.database.mappers.impl;
+
+import com.niraj.database.domain.dto.AuthorDto;
+import com.niraj.database.domain.entities.AuthorEntity;
+import com.niraj.database.mappers.Mapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "mappers.strategy", havingValue = "explicit", matchIfMissing = true)
+public class ExplicitAuthorMapper implements Mapper<AuthorEntity, AuthorDto> {
+
+    @Override
+    public AuthorDto mapTo(AuthorEntity authorEntity) {
+        if (authorEntity == null) {
+            return null;
+        }
+        AuthorDto authorDto = new AuthorDto();
+        authorDto.setId(authorEntity.getId());
+        authorDto.setName(authorEntity.getName());
+        authorDto.setAge(authorEntity.getAge());
+        return authorDto;
+    }
+
+    @Override
+    public AuthorEntity mapFrom(AuthorDto authorDto) {
+        if (authorDto == null) {
+            return null;
+        }
+        AuthorEntity authorEntity = new AuthorEntity();
+        authorEntity.setId(authorDto.getId());
+        authorEntity.setName(authorDto.getName());
+        authorEntity.setAge(authorDto.getAge());
+        return authorEntity;
+    }
+}
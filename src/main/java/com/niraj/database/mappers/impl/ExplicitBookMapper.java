@@ -0,0 +1,69 @@
+package com.niraj.database.mappers.impl;
+
+import com.niraj.database.domain.dto.AuthorDto;
+import com.niraj.database.domain.dto.BookDto;
+import com.niraj.database.domain.entities.AuthorEntity;
+import com.niraj.database.domain.entities.BookEntity;
+import com.niraj.database.mappers.Mapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+@ConditionalOnProperty(name = "mappers.strategy", havingValue = "explicit", matchIfMissing = true)
+public class ExplicitBookMapper implements Mapper<BookEntity, BookDto> {
+
+    private ExplicitAuthorMapper authorMapper;
+
+    public ExplicitBookMapper(ExplicitAuthorMapper authorMapper) {
+        this.authorMapper = authorMapper;
+    }
+
+    @Override
+    public BookDto mapTo(BookEntity bookEntity) {
+        if (bookEntity == null) {
+            return null;
+        }
+        BookDto bookDto = new BookDto();
+        bookDto.setIsbn(bookEntity.getIsbn());
+        bookDto.setTitle(bookEntity.getTitle());
+        bookDto.setAuthor(authorMapper.mapTo(bookEntity.getAuthorEntity()));
+        return bookDto;
+    }
+
+    /**
+     * Maps each author once and shares the resulting {@link AuthorDto} between all of its books.
+     */
+    @Override
+    public List<BookDto> mapAllTo(List<BookEntity> bookEntities) {
+        Map<Long, AuthorDto> authors = new HashMap<>();
+        List<BookDto> bookDtos = new ArrayList<>(bookEntities.size());
+        for (BookEntity bookEntity : bookEntities) {
+            AuthorEntity authorEntity = bookEntity.getAuthorEntity();
+            BookDto bookDto = new BookDto();
+            bookDto.setIsbn(bookEntity.getIsbn());
+            bookDto.setTitle(bookEntity.getTitle());
+            bookDto.setAuthor(authorEntity == null || authorEntity.getId() == null
+                    ? authorMapper.mapTo(authorEntity)
+                    : authors.computeIfAbsent(authorEntity.getId(), id -> authorMapper.mapTo(authorEntity)));
+            bookDtos.add(bookDto);
+        }
+        return bookDtos;
+    }
+
+    @Override
+    public BookEntity mapFrom(BookDto bookDto) {
+        if (bookDto == null) {
+            return null;
+        }
+        BookEntity bookEntity = new BookEntity();
+        bookEntity.setIsbn(bookDto.getIsbn());
+        bookEntity.setTitle(bookDto.getTitle());
+        bookEntity.setAuthorEntity(authorMapper.mapFrom(bookDto.getAuthor()));
+        return bookEntity;
+    }
+}
@@ -0,0 +1,92 @@
+package com.niraj.database.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every service and mapper call as {@code layer.calls}, tagged with the layer, class and method. A call that
+ * returns a {@link Mono} or {@link Flux} is timed from each subscription until the publisher terminates, since the
+ * call itself only assembles it. Repository calls are already timed by Spring Boot as
+ * {@code spring.data.repository.invocations}.
+ */
+@Aspect
+@Component
+public class LayerTimingAspect {
+
+    public static final String METRIC = "layer.calls";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<TimerKey, Timer> successTimers = new ConcurrentHashMap<>();
+    private final Map<TimerKey, Timer> failureTimers = new ConcurrentHashMap<>();
+
+    public LayerTimingAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("within(com.niraj.database.services.impl..*)")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, "service");
+    }
+
+    @Around("within(com.niraj.database.mappers.impl..*)")
+    public Object timeMapper(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, "mapper");
+    }
+
+    private Object time(ProceedingJoinPoint joinPoint, String layer) throws Throwable {
+        TimerKey key = new TimerKey(joinPoint.getTarget().getClass(),
+                ((MethodSignature) joinPoint.getSignature()).getMethod(), layer);
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable e) {
+            record(key, false, start);
+            throw e;
+        }
+        if (result instanceof Mono<?> mono) {
+            return Mono.defer(() -> {
+                long subscribed = System.nanoTime();
+                return mono.doOnSuccess(value -> record(key, true, subscribed))
+                        .doOnError(e -> record(key, false, subscribed));
+            });
+        }
+        if (result instanceof Flux<?> flux) {
+            return Flux.defer(() -> {
+                long subscribed = System.nanoTime();
+                return flux.doOnComplete(() -> record(key, true, subscribed))
+                        .doOnError(e -> record(key, false, subscribed));
+            });
+        }
+        record(key, true, start);
+        return result;
+    }
+
+    // Timers are looked up once per class and method: the registry lookup costs more than the timing itself. A method
+    // declared on a shared base class or interface is timed separately for each class it runs in.
+    private void record(TimerKey key, boolean success, long start) {
+        Map<TimerKey, Timer> timers = success ? successTimers : failureTimers;
+        timers.computeIfAbsent(key, k -> Timer.builder(METRIC)
+                        .tag("layer", k.layer())
+                        .tag("class", k.type().getSimpleName())
+                        .tag("method", k.method().getName())
+                        .tag("outcome", success ? "success" : "failure")
+                        .register(meterRegistry))
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private record TimerKey(Class<?> type, Method method, String layer) {
+    }
+}
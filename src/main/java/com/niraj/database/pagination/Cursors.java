@@ -0,0 +1,29 @@
+package com.niraj.database.pagination;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Optional;
+
+public final class Cursors {
+    private static final String PREFIX = "k:";
+
+    private Cursors() {
+    }
+
+    public static String encode(String key) {
+        byte[] raw = (PREFIX + key).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+    }
+
+    public static Optional<String> decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!raw.startsWith(PREFIX)) {
+                return Optional.empty();
+            }
+            return Optional.of(raw.substring(PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+}
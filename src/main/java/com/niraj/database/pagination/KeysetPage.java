@@ -0,0 +1,11 @@
+package com.niraj.database.pagination;
+
+import java.util.List;
+import java.util.Optional;
+
+public record KeysetPage<T>(List<T> items, String nextKey) {
+
+    public Optional<String> next() {
+        return Optional.ofNullable(nextKey);
+    }
+}
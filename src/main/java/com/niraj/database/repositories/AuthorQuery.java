@@ -0,0 +1,71 @@
+package com.niraj.database.repositories;
+
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Filter, sort, column selection and window for a listing of authors. Field and sort names are the
+ * {@link com.niraj.database.domain.entities.AuthorEntity} attribute names exposed on the API.
+ */
+public record AuthorQuery(Integer minAge, Integer maxAge, String namePrefix,
+                          Sort sort, List<String> fields, int offset, int limit) {
+
+    public static final List<String> FIELDS = List.of("id", "name", "age");
+
+    public AuthorQuery {
+        sort = sort.getOrderFor("id") == null ? sort.and(Sort.by("id")) : sort;
+        fields = List.copyOf(fields);
+    }
+
+    public AuthorQuery withLimit(int limit) {
+        return new AuthorQuery(minAge, maxAge, namePrefix, sort, fields, offset, limit);
+    }
+
+    public AuthorQuery withFields(List<String> fields) {
+        return new AuthorQuery(minAge, maxAge, namePrefix, sort, fields, offset, limit);
+    }
+
+    /**
+     * Parses {@code name,-age} into ascending name then descending age. Empty when a key is unknown or repeated.
+     */
+    public static Optional<Sort> parseSort(String sort) {
+        if (sort == null || sort.isBlank()) {
+            return Optional.of(Sort.by("id"));
+        }
+        List<Sort.Order> orders = new ArrayList<>();
+        Set<String> seen = new LinkedHashSet<>();
+        for (String key : sort.split(",")) {
+            String trimmed = key.trim();
+            boolean descending = trimmed.startsWith("-");
+            String property = descending ? trimmed.substring(1) : trimmed;
+            if (!FIELDS.contains(property) || !seen.add(property)) {
+                return Optional.empty();
+            }
+            orders.add(descending ? Sort.Order.desc(property) : Sort.Order.asc(property));
+        }
+        return Optional.of(Sort.by(orders));
+    }
+
+    /**
+     * Parses {@code id,name} into the selected columns, in request order. Empty when a field is unknown.
+     */
+    public static Optional<List<String>> parseFields(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return Optional.of(FIELDS);
+        }
+        Set<String> selected = new LinkedHashSet<>();
+        for (String field : fields.split(",")) {
+            String trimmed = field.trim();
+            if (!FIELDS.contains(trimmed)) {
+                return Optional.empty();
+            }
+            selected.add(trimmed);
+        }
+        return Optional.of(List.copyOf(selected));
+    }
+}
@@ -0,0 +1,13 @@
+package com.niraj.database.repositories;
+
+import com.niraj.database.domain.projections.AuthorVersion;
+
+import java.util.List;
+import java.util.Map;
+
+public interface AuthorQueryRepository {
+
+    List<Map<String, Object>> findProjected(AuthorQuery query);
+
+    List<AuthorVersion> findVersions(AuthorQuery query);
+}
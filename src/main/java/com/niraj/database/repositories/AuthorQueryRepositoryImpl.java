@@ -0,0 +1,90 @@
+package com.niraj.database.repositories;
+
+import com.niraj.database.domain.entities.AuthorEntity;
+import com.niraj.database.domain.projections.AuthorVersion;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class AuthorQueryRepositoryImpl implements AuthorQueryRepository {
+
+    private EntityManager entityManager;
+
+    public AuthorQueryRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<Map<String, Object>> findProjected(AuthorQuery query) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> criteria = cb.createTupleQuery();
+        Root<AuthorEntity> author = criteria.from(AuthorEntity.class);
+        criteria.multiselect(query.fields().stream()
+                .<Selection<?>>map(field -> author.get(field).alias(field))
+                .toList());
+        restrict(criteria, cb, author, query);
+
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Tuple tuple : window(entityManager.createQuery(criteria), query).getResultList()) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (String field : query.fields()) {
+                row.put(field, tuple.get(field));
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    @Override
+    public List<AuthorVersion> findVersions(AuthorQuery query) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<AuthorVersion> criteria = cb.createQuery(AuthorVersion.class);
+        Root<AuthorEntity> author = criteria.from(AuthorEntity.class);
+        criteria.select(cb.construct(AuthorVersion.class,
+                author.get("id"), author.get("version"), author.get("updatedAt")));
+        restrict(criteria, cb, author, query);
+        return window(entityManager.createQuery(criteria), query).getResultList();
+    }
+
+    private void restrict(CriteriaQuery<?> criteria, CriteriaBuilder cb, Root<AuthorEntity> author, AuthorQuery query) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (query.minAge() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(author.get("age"), query.minAge()));
+        }
+        if (query.maxAge() != null) {
+            predicates.add(cb.lessThanOrEqualTo(author.get("age"), query.maxAge()));
+        }
+        if (query.namePrefix() != null) {
+            predicates.add(cb.like(author.get("name"), escapeLike(query.namePrefix()) + "%", '\\'));
+        }
+        criteria.where(predicates.toArray(Predicate[]::new));
+
+        List<Order> orders = new ArrayList<>();
+        for (Sort.Order order : query.sort()) {
+            orders.add(order.isAscending()
+                    ? cb.asc(author.get(order.getProperty()))
+                    : cb.desc(author.get(order.getProperty())));
+        }
+        criteria.orderBy(orders);
+    }
+
+    private static <T> TypedQuery<T> window(TypedQuery<T> query, AuthorQuery authorQuery) {
+        return query.setFirstResult(authorQuery.offset()).setMaxResults(authorQuery.limit());
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
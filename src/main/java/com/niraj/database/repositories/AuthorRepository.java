@@ -1,15 +1,43 @@
 package com.niraj.database.repositories;
 
+import com.niraj.database.config.CacheConfig;
 import com.niraj.database.domain.entities.AuthorEntity;
+import com.niraj.database.domain.projections.AuthorVersion;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+
 @Repository
-public interface AuthorRepository extends CrudRepository<AuthorEntity, Long> {
+public interface AuthorRepository extends CrudRepository<AuthorEntity, Long>, BulkPersistRepository<AuthorEntity>,
+        AuthorQueryRepository {
+
+    AuthorEntity getReferenceById(Long id);
+
+    @Query("SELECT new com.niraj.database.domain.projections.AuthorVersion(a.id, a.version, a.updatedAt) "
+            + "FROM AuthorEntity a WHERE a.id = ?1")
+    Optional<AuthorVersion> findVersionById(Long id);
+
+    List<AuthorEntity> findAllByOrderByIdAsc(Limit limit);
+
+    List<AuthorEntity> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
 
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = CacheConfig.AUTHORS_BY_AGE_REGION)
+    })
     Iterable<AuthorEntity> ageLessThan(int age);
 
     @Query("SELECT a from AuthorEntity a WHERE a.age > ?1")
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = CacheConfig.AUTHORS_BY_AGE_REGION)
+    })
     Iterable<AuthorEntity> findAuthorsWithAgeGreaterThan(int age);
 }
@@ -1,10 +1,94 @@
 package com.niraj.database.repositories;
 
 import com.niraj.database.domain.entities.BookEntity;
+import com.niraj.database.domain.projections.BookRow;
+import com.niraj.database.domain.projections.BookSummary;
+import com.niraj.database.domain.projections.BookVersion;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
-public interface BookRepository extends CrudRepository<BookEntity, String>, PagingAndSortingRepository<BookEntity, String> {
+public interface BookRepository extends CrudRepository<BookEntity, String>, PagingAndSortingRepository<BookEntity, String>,
+        BulkPersistRepository<BookEntity> {
+
+    String ROW = "SELECT new com.niraj.database.domain.projections.BookRow(b.isbn, b.title, b.version, b.updatedAt, "
+            + "a.id, a.name, a.age, a.version, a.updatedAt) FROM BookEntity b LEFT JOIN b.authorEntity a ";
+
+    @Override
+    @EntityGraph(attributePaths = "authorEntity")
+    Iterable<BookEntity> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = "authorEntity")
+    Optional<BookEntity> findById(String isbn);
+
+    @Override
+    @EntityGraph(attributePaths = "authorEntity")
+    Iterable<BookEntity> findAllById(Iterable<String> isbns);
+
+    @Query("SELECT b FROM BookEntity b LEFT JOIN FETCH b.authorEntity ORDER BY b.isbn")
+    List<BookEntity> findAllWithAuthors();
+
+    @Query("SELECT new com.niraj.database.domain.projections.BookVersion(b.isbn, b.version, b.updatedAt, a.id, a.version, a.updatedAt) "
+            + "FROM BookEntity b LEFT JOIN b.authorEntity a WHERE :afterIsbn IS NULL OR b.isbn > :afterIsbn ORDER BY b.isbn")
+    List<BookVersion> findVersionsAfter(@Param("afterIsbn") String afterIsbn, Limit limit);
+
+    @Query("SELECT new com.niraj.database.domain.projections.BookVersion(b.isbn, b.version, b.updatedAt, a.id, a.version, a.updatedAt) "
+            + "FROM BookEntity b JOIN b.authorEntity a "
+            + "WHERE a.id = :authorId AND (:afterIsbn IS NULL OR b.isbn > :afterIsbn) ORDER BY b.isbn")
+    List<BookVersion> findVersionsByAuthorAfter(@Param("authorId") Long authorId, @Param("afterIsbn") String afterIsbn,
+                                                Limit limit);
+
+    // The first perAuthor books of each author, in ISBN order.
+    @Query("SELECT new com.niraj.database.domain.projections.BookVersion(r.isbn, r.version, r.updatedAt, r.authorId, "
+            + "r.authorVersion, r.authorUpdatedAt) FROM (SELECT b.isbn AS isbn, b.version AS version, "
+            + "b.updatedAt AS updatedAt, a.id AS authorId, a.version AS authorVersion, a.updatedAt AS authorUpdatedAt, "
+            + "row_number() OVER (PARTITION BY a.id ORDER BY b.isbn) AS authorRank "
+            + "FROM BookEntity b JOIN b.authorEntity a WHERE a.id IN :authorIds) r "
+            + "WHERE r.authorRank <= :perAuthor ORDER BY r.isbn")
+    List<BookVersion> findVersionsByAuthorIds(@Param("authorIds") Collection<Long> authorIds,
+                                              @Param("perAuthor") int perAuthor);
+
+    @Query("SELECT new com.niraj.database.domain.projections.BookSummary(r.authorId, r.isbn, r.title) "
+            + "FROM (SELECT b.authorEntity.id AS authorId, b.isbn AS isbn, b.title AS title, "
+            + "row_number() OVER (PARTITION BY b.authorEntity.id ORDER BY b.isbn) AS authorRank "
+            + "FROM BookEntity b WHERE b.authorEntity.id IN :authorIds) r "
+            + "WHERE r.authorRank <= :perAuthor ORDER BY r.isbn")
+    List<BookSummary> findSummariesByAuthorIds(@Param("authorIds") Collection<Long> authorIds,
+                                               @Param("perAuthor") int perAuthor);
+
+    @Query(ROW + "WHERE b.isbn = :isbn")
+    Optional<BookRow> findRowByIsbn(@Param("isbn") String isbn);
+
+    @Query(ROW + "WHERE :afterIsbn IS NULL OR b.isbn > :afterIsbn ORDER BY b.isbn")
+    List<BookRow> findRowsAfter(@Param("afterIsbn") String afterIsbn, Limit limit);
+
+    @Query(ROW + "WHERE a.id = :authorId AND (:afterIsbn IS NULL OR b.isbn > :afterIsbn) ORDER BY b.isbn")
+    List<BookRow> findRowsByAuthorAfter(@Param("authorId") Long authorId, @Param("afterIsbn") String afterIsbn,
+                                        Limit limit);
+
+    @Query("SELECT new com.niraj.database.domain.projections.BookSummary(b.authorEntity.id, b.isbn, b.title) "
+            + "FROM BookEntity b WHERE :afterIsbn IS NULL OR b.isbn > :afterIsbn ORDER BY b.isbn")
+    List<BookSummary> findSummariesAfter(@Param("afterIsbn") String afterIsbn, Limit limit);
+
+    @EntityGraph(attributePaths = "authorEntity")
+    List<BookEntity> findByAuthorEntityIdOrderByIsbnAsc(Long authorId, Limit limit);
+
+    @EntityGraph(attributePaths = "authorEntity")
+    List<BookEntity> findByAuthorEntityIdAndIsbnGreaterThanOrderByIsbnAsc(Long authorId, String isbn, Limit limit);
+
+    @EntityGraph(attributePaths = "authorEntity")
+    List<BookEntity> findAllByOrderByIsbnAsc(Limit limit);
+
+    @EntityGraph(attributePaths = "authorEntity")
+    List<BookEntity> findByIsbnGreaterThanOrderByIsbnAsc(String isbn, Limit limit);
 }
@@ -0,0 +1,8 @@
+package com.niraj.database.repositories;
+
+public interface BulkPersistRepository<T> {
+
+    void persistAll(Iterable<T> entities);
+
+    void flushAndClear();
+}
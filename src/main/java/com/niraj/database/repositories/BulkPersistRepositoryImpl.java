@@ -0,0 +1,25 @@
+package com.niraj.database.repositories;
+
+import jakarta.persistence.EntityManager;
+
+public class BulkPersistRepositoryImpl<T> implements BulkPersistRepository<T> {
+
+    private EntityManager entityManager;
+
+    public BulkPersistRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public void persistAll(Iterable<T> entities) {
+        for (T entity : entities) {
+            entityManager.persist(entity);
+        }
+    }
+
+    @Override
+    public void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+}
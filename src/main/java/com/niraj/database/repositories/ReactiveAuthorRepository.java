@@ -0,0 +1,162 @@
+package com.niraj.database.repositories;
+
+import com.niraj.database.domain.entities.AuthorEntity;
+import io.r2dbc.spi.Readable;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * R2DBC access to the {@code authors} table created for {@link AuthorEntity}. Writes maintain the version and
+ * updated-at columns the way Hibernate does, so entity tags stay comparable across both stacks.
+ */
+@Repository
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveAuthorRepository {
+
+    private static final String COLUMNS = "SELECT id, name, age, version, updated_at FROM authors ";
+
+    // Must match the allocation size of author_id_seq on AuthorEntity: Hibernate hands out the block above each
+    // value it draws, so drawing a value here and using only that value never collides with it.
+    private static final int ID_ALLOCATION_SIZE = 50;
+
+    private DatabaseClient databaseClient;
+
+    public ReactiveAuthorRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Mono<AuthorEntity> findById(Long id) {
+        return databaseClient.sql(COLUMNS + "WHERE id = :id")
+                .bind("id", id)
+                .map(ReactiveAuthorRepository::toEntity)
+                .one();
+    }
+
+    public Mono<AuthorEntity> findByIdForUpdate(Long id) {
+        return databaseClient.sql(COLUMNS + "WHERE id = :id FOR UPDATE")
+                .bind("id", id)
+                .map(ReactiveAuthorRepository::toEntity)
+                .one();
+    }
+
+    public Mono<Boolean> existsById(Long id) {
+        return databaseClient.sql("SELECT COUNT(*) FROM authors WHERE id = :id")
+                .bind("id", id)
+                .map(row -> row.get(0, Long.class) > 0)
+                .one();
+    }
+
+    /**
+     * The window of authors selected by the query. Every column is read whatever {@link AuthorQuery#fields()} asks
+     * for, since the version columns are needed for the entity tag anyway.
+     */
+    public Flux<AuthorEntity> findAll(AuthorQuery query) {
+        Map<String, Object> bindings = new LinkedHashMap<>();
+        StringBuilder sql = new StringBuilder(COLUMNS).append("WHERE 1 = 1");
+        if (query.minAge() != null) {
+            sql.append(" AND age >= :minAge");
+            bindings.put("minAge", query.minAge());
+        }
+        if (query.maxAge() != null) {
+            sql.append(" AND age <= :maxAge");
+            bindings.put("maxAge", query.maxAge());
+        }
+        if (query.namePrefix() != null) {
+            sql.append(" AND name LIKE :namePrefix ESCAPE '!'");
+            bindings.put("namePrefix", escapeLike(query.namePrefix()) + "%");
+        }
+        // Sort properties are restricted to AuthorQuery.FIELDS, which are also the column names.
+        sql.append(" ORDER BY ").append(query.sort().stream()
+                .map(order -> order.getProperty() + (order.isAscending() ? " ASC" : " DESC"))
+                .collect(Collectors.joining(", ")));
+        sql.append(" LIMIT :limit OFFSET :offset");
+        bindings.put("limit", query.limit());
+        bindings.put("offset", query.offset());
+
+        return databaseClient.sql(sql.toString())
+                .bindValues(bindings)
+                .map(ReactiveAuthorRepository::toEntity)
+                .all();
+    }
+
+    public Mono<AuthorEntity> insert(AuthorEntity author) {
+        return nextId().flatMap(id -> {
+            author.setId(id);
+            author.setVersion(0);
+            author.setUpdatedAt(Instant.now());
+            return bindColumns(databaseClient.sql(
+                    "INSERT INTO authors (id, name, age, version, updated_at) "
+                            + "VALUES (:id, :name, :age, :version, :updatedAt)"), author)
+                    .then()
+                    .thenReturn(author);
+        });
+    }
+
+    /**
+     * Writes the name and age of an author read for update, bumping its version.
+     */
+    public Mono<AuthorEntity> update(AuthorEntity author) {
+        author.setVersion(author.getVersion() + 1);
+        author.setUpdatedAt(Instant.now());
+        return bindColumns(databaseClient.sql(
+                "UPDATE authors SET name = :name, age = :age, version = :version, updated_at = :updatedAt "
+                        + "WHERE id = :id"), author)
+                .then()
+                .thenReturn(author);
+    }
+
+    public Mono<Void> deleteById(Long id) {
+        return databaseClient.sql("DELETE FROM authors WHERE id = :id")
+                .bind("id", id)
+                .then();
+    }
+
+    /**
+     * Draws an id from author_id_seq, which MySQL lacks and Hibernate emulates with a table of the same name.
+     */
+    private Mono<Long> nextId() {
+        if (!"MySQL".equalsIgnoreCase(databaseClient.getConnectionFactory().getMetadata().getName())) {
+            return databaseClient.sql("SELECT NEXT VALUE FOR author_id_seq")
+                    .map(row -> row.get(0, Long.class))
+                    .one();
+        }
+        return databaseClient.sql("SELECT next_val FROM author_id_seq FOR UPDATE")
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .flatMap(id -> databaseClient.sql("UPDATE author_id_seq SET next_val = :next")
+                        .bind("next", id + ID_ALLOCATION_SIZE)
+                        .then()
+                        .thenReturn(id));
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bindColumns(DatabaseClient.GenericExecuteSpec spec,
+                                                                 AuthorEntity author) {
+        spec = spec.bind("id", author.getId())
+                .bind("version", author.getVersion())
+                .bind("updatedAt", author.getUpdatedAt());
+        spec = author.getName() == null ? spec.bindNull("name", String.class) : spec.bind("name", author.getName());
+        return author.getAge() == null ? spec.bindNull("age", Integer.class) : spec.bind("age", author.getAge());
+    }
+
+    private static AuthorEntity toEntity(Readable row) {
+        return AuthorEntity.builder()
+                .id(row.get("id", Long.class))
+                .name(row.get("name", String.class))
+                .age(row.get("age", Integer.class))
+                .version(row.get("version", Long.class))
+                .updatedAt(row.get("updated_at", Instant.class))
+                .build();
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+}
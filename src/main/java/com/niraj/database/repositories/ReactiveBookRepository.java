@@ -0,0 +1,165 @@
+package com.niraj.database.repositories;
+
+import com.niraj.database.domain.entities.AuthorEntity;
+import com.niraj.database.domain.entities.BookEntity;
+import com.niraj.database.domain.projections.BookRow;
+import com.niraj.database.domain.projections.BookView;
+import io.r2dbc.spi.Readable;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.Collection;
+
+/**
+ * R2DBC access to the {@code books} table created for {@link BookEntity}. Reads project straight into
+ * {@link BookView}s, like {@link BookRepository}'s view queries.
+ */
+@Repository
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveBookRepository {
+
+    private static final String VIEW_COLUMNS = "b.isbn, b.title, b.version, b.updated_at, a.id AS author_id, "
+            + "a.name AS author_name, a.age AS author_age, a.version AS author_version, "
+            + "a.updated_at AS author_updated_at";
+    private static final String VIEW = "SELECT " + VIEW_COLUMNS + " FROM books b LEFT JOIN authors a ON a.id = b.author_id ";
+
+    private DatabaseClient databaseClient;
+
+    public ReactiveBookRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Mono<BookView> findViewByIsbn(String isbn) {
+        return databaseClient.sql(VIEW + "WHERE b.isbn = :isbn")
+                .bind("isbn", isbn)
+                .map(ReactiveBookRepository::toView)
+                .one();
+    }
+
+    public Flux<BookView> findViewsAfter(String afterIsbn, int limit) {
+        DatabaseClient.GenericExecuteSpec spec = afterIsbn == null
+                ? databaseClient.sql(VIEW + "ORDER BY b.isbn LIMIT :limit")
+                : databaseClient.sql(VIEW + "WHERE b.isbn > :afterIsbn ORDER BY b.isbn LIMIT :limit")
+                        .bind("afterIsbn", afterIsbn);
+        return spec.bind("limit", limit)
+                .map(ReactiveBookRepository::toView)
+                .all();
+    }
+
+    public Flux<BookView> findViewsByAuthorAfter(Long authorId, String afterIsbn, int limit) {
+        DatabaseClient.GenericExecuteSpec spec = afterIsbn == null
+                ? databaseClient.sql(VIEW + "WHERE a.id = :authorId ORDER BY b.isbn LIMIT :limit")
+                : databaseClient.sql(VIEW + "WHERE a.id = :authorId AND b.isbn > :afterIsbn ORDER BY b.isbn LIMIT :limit")
+                        .bind("afterIsbn", afterIsbn);
+        return spec.bind("authorId", authorId)
+                .bind("limit", limit)
+                .map(ReactiveBookRepository::toView)
+                .all();
+    }
+
+    /**
+     * The first {@code perAuthor} books of each author, in ISBN order.
+     */
+    public Flux<BookView> findViewsByAuthorIds(Collection<Long> authorIds, int perAuthor) {
+        return databaseClient.sql("SELECT * FROM (SELECT " + VIEW_COLUMNS + ", "
+                        + "ROW_NUMBER() OVER (PARTITION BY b.author_id ORDER BY b.isbn) AS author_rank "
+                        + "FROM books b JOIN authors a ON a.id = b.author_id WHERE a.id IN (:authorIds)) ranked "
+                        + "WHERE author_rank <= :perAuthor ORDER BY isbn")
+                .bind("authorIds", authorIds)
+                .bind("perAuthor", perAuthor)
+                .map(ReactiveBookRepository::toView)
+                .all();
+    }
+
+    /**
+     * Every book in ISBN order. The driver is asked for {@code fetchSize} rows at a time, where it supports cursors.
+     */
+    public Flux<BookView> findAllViews(int fetchSize) {
+        return databaseClient.sql(VIEW + "ORDER BY b.isbn")
+                .filter(statement -> statement.fetchSize(fetchSize))
+                .map(ReactiveBookRepository::toView)
+                .all();
+    }
+
+    /**
+     * Reads a book with its author and locks it until the transaction ends.
+     */
+    public Mono<BookEntity> findByIdForUpdate(String isbn) {
+        return databaseClient.sql("SELECT b.isbn, b.title, b.version, b.updated_at, a.id, a.name, a.age, "
+                        + "a.version AS author_version, a.updated_at AS author_updated_at "
+                        + "FROM books b LEFT JOIN authors a ON a.id = b.author_id WHERE b.isbn = :isbn FOR UPDATE")
+                .bind("isbn", isbn)
+                .map(row -> BookEntity.builder()
+                        .isbn(row.get("isbn", String.class))
+                        .title(row.get("title", String.class))
+                        .version(row.get("version", Long.class))
+                        .updatedAt(row.get("updated_at", Instant.class))
+                        .authorEntity(row.get("id", Long.class) == null ? null : AuthorEntity.builder()
+                                .id(row.get("id", Long.class))
+                                .name(row.get("name", String.class))
+                                .age(row.get("age", Integer.class))
+                                .version(row.get("author_version", Long.class))
+                                .updatedAt(row.get("author_updated_at", Instant.class))
+                                .build())
+                        .build())
+                .one();
+    }
+
+    public Mono<BookEntity> insert(BookEntity book) {
+        book.setVersion(0);
+        book.setUpdatedAt(Instant.now());
+        return bindColumns(databaseClient.sql(
+                "INSERT INTO books (isbn, title, author_id, version, updated_at) "
+                        + "VALUES (:isbn, :title, :authorId, :version, :updatedAt)"), book)
+                .then()
+                .thenReturn(book);
+    }
+
+    /**
+     * Writes the title and author of a book read for update, bumping its version.
+     */
+    public Mono<BookEntity> update(BookEntity book) {
+        book.setVersion(book.getVersion() + 1);
+        book.setUpdatedAt(Instant.now());
+        return bindColumns(databaseClient.sql(
+                "UPDATE books SET title = :title, author_id = :authorId, version = :version, updated_at = :updatedAt "
+                        + "WHERE isbn = :isbn"), book)
+                .then()
+                .thenReturn(book);
+    }
+
+    public Mono<Void> deleteById(String isbn) {
+        return databaseClient.sql("DELETE FROM books WHERE isbn = :isbn")
+                .bind("isbn", isbn)
+                .then();
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bindColumns(DatabaseClient.GenericExecuteSpec spec,
+                                                                 BookEntity book) {
+        spec = spec.bind("isbn", book.getIsbn())
+                .bind("version", book.getVersion())
+                .bind("updatedAt", book.getUpdatedAt());
+        spec = book.getTitle() == null ? spec.bindNull("title", String.class) : spec.bind("title", book.getTitle());
+        return book.getAuthorEntity() == null
+                ? spec.bindNull("authorId", Long.class)
+                : spec.bind("authorId", book.getAuthorEntity().getId());
+    }
+
+    private static BookView toView(Readable row) {
+        BookRow bookRow = new BookRow(
+                row.get("isbn", String.class),
+                row.get("title", String.class),
+                row.get("version", Long.class),
+                row.get("updated_at", Instant.class),
+                row.get("author_id", Long.class),
+                row.get("author_name", String.class),
+                row.get("author_age", Integer.class),
+                row.get("author_version", Long.class),
+                row.get("author_updated_at", Instant.class));
+        return bookRow.toView(bookRow.author());
+    }
+}
@@ -0,0 +1,133 @@
+package com.niraj.database.search;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+public class InvertedIndex<K extends Comparable<K>> {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final double PREFIX_MATCH_WEIGHT = 0.5;
+
+    private final NavigableMap<String, Map<K, Integer>> postings = new TreeMap<>();
+    private final Map<K, Map<String, Integer>> documents = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public static List<String> tokenize(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        String folded = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFKD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        List<String> tokens = new ArrayList<>();
+        for (String token : SEPARATORS.split(folded)) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    public void index(K key, String text) {
+        Map<String, Integer> termFrequencies = new HashMap<>();
+        tokenize(text).forEach(token -> termFrequencies.merge(token, 1, Integer::sum));
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(key);
+            if (termFrequencies.isEmpty()) {
+                return;
+            }
+            documents.put(key, termFrequencies);
+            termFrequencies.forEach((term, frequency) ->
+                    postings.computeIfAbsent(term, t -> new HashMap<>()).put(key, frequency));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(K key) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(key);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<K> search(String query, int limit) {
+        List<String> queryTerms = tokenize(query);
+        if (queryTerms.isEmpty() || limit < 1) {
+            return List.of();
+        }
+
+        Map<K, Double> scores = null;
+        lock.readLock().lock();
+        try {
+            int documentCount = documents.size();
+            for (String queryTerm : new LinkedHashSet<>(queryTerms)) {
+                Map<K, Double> termScores = new HashMap<>();
+                for (Map.Entry<String, Map<K, Integer>> posting : postings
+                        .subMap(queryTerm, true, queryTerm + Character.MAX_VALUE, true).entrySet()) {
+                    double idf = Math.log(1.0 + (double) documentCount / posting.getValue().size());
+                    double weight = posting.getKey().equals(queryTerm) ? 1.0 : PREFIX_MATCH_WEIGHT;
+                    posting.getValue().forEach((key, frequency) ->
+                            termScores.merge(key, frequency * idf * weight, Math::max));
+                }
+                if (scores == null) {
+                    scores = termScores;
+                } else {
+                    scores.keySet().retainAll(termScores.keySet());
+                    scores.replaceAll((key, score) -> score + termScores.get(key));
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return scores.entrySet().stream()
+                .sorted(Map.Entry.<K, Double>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    private void removeLocked(K key) {
+        Map<String, Integer> previous = documents.remove(key);
+        if (previous == null) {
+            return;
+        }
+        for (String term : previous.keySet()) {
+            Map<K, Integer> keys = postings.get(term);
+            keys.remove(key);
+            if (keys.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+    }
+}
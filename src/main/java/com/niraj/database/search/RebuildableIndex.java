@@ -0,0 +1,68 @@
+package com.niraj.database.search;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * An {@link InvertedIndex} that keeps answering searches while it is rebuilt. A rebuild fills a new index and swaps
+ * it in when done. Updates that arrive in the meantime go to both indexes, and win over any row the rebuild read
+ * before them.
+ */
+public class RebuildableIndex<K extends Comparable<K>> {
+
+    private final Object lock = new Object();
+
+    private volatile InvertedIndex<K> current = new InvertedIndex<>();
+
+    private InvertedIndex<K> next;
+
+    private Set<K> updatedDuringRebuild;
+
+    public List<K> search(String query, int limit) {
+        return current.search(query, limit);
+    }
+
+    public void index(K key, String text) {
+        synchronized (lock) {
+            current.index(key, text);
+            if (next != null) {
+                next.index(key, text);
+                updatedDuringRebuild.add(key);
+            }
+        }
+    }
+
+    public void remove(K key) {
+        synchronized (lock) {
+            current.remove(key);
+            if (next != null) {
+                next.remove(key);
+                updatedDuringRebuild.add(key);
+            }
+        }
+    }
+
+    public void startRebuild() {
+        synchronized (lock) {
+            next = new InvertedIndex<>();
+            updatedDuringRebuild = new HashSet<>();
+        }
+    }
+
+    public void rebuild(K key, String text) {
+        synchronized (lock) {
+            if (!updatedDuringRebuild.contains(key)) {
+                next.index(key, text);
+            }
+        }
+    }
+
+    public void finishRebuild() {
+        synchronized (lock) {
+            current = next;
+            next = null;
+            updatedDuringRebuild = null;
+        }
+    }
+}
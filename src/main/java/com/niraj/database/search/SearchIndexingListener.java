@@ -0,0 +1,60 @@
+package com.niraj.database.search;
+
+import com.niraj.database.domain.entities.AuthorEntity;
+import com.niraj.database.domain.entities.BookEntity;
+import com.niraj.database.services.SearchService;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Component
+public class SearchIndexingListener {
+
+    private ObjectProvider<SearchService> searchService;
+
+    public SearchIndexingListener(ObjectProvider<SearchService> searchService) {
+        this.searchService = searchService;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Object entity) {
+        if (entity instanceof BookEntity book) {
+            String isbn = book.getIsbn();
+            String title = book.getTitle();
+            afterCommit(() -> searchService.getObject().indexBook(isbn, title));
+        } else if (entity instanceof AuthorEntity author) {
+            Long id = author.getId();
+            String name = author.getName();
+            afterCommit(() -> searchService.getObject().indexAuthor(id, name));
+        }
+    }
+
+    @PostRemove
+    public void onRemove(Object entity) {
+        if (entity instanceof BookEntity book) {
+            String isbn = book.getIsbn();
+            afterCommit(() -> searchService.getObject().removeBook(isbn));
+        } else if (entity instanceof AuthorEntity author) {
+            Long id = author.getId();
+            afterCommit(() -> searchService.getObject().removeAuthor(id));
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -2,20 +2,40 @@ package com.niraj.database.services;
 
 import com.niraj.database.domain.dto.AuthorDto;
 import com.niraj.database.domain.entities.AuthorEntity;
+import com.niraj.database.domain.projections.AuthorVersion;
+import com.niraj.database.repositories.AuthorQuery;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Predicate;
 
 public interface AuthorService {
     AuthorEntity save(AuthorEntity authorEntity);
 
     List<AuthorEntity> findAll();
 
+    List<Map<String, Object>> findAll(AuthorQuery query);
+
+    /**
+     * Authors with the first {@code booksPerAuthor} of their books, in ISBN order. {@code booksTruncated} tells whether
+     * an author has more, which {@code /authors/{id}/books} pages through.
+     */
+    List<Map<String, Object>> findAllWithBooks(AuthorQuery query, int booksPerAuthor);
+
+    List<AuthorVersion> findVersions(AuthorQuery query);
+
     Optional<AuthorEntity> findOne(Long id);
 
+    Optional<AuthorVersion> findVersion(Long id);
+
     boolean isExists(Long id);
 
     AuthorEntity partialUpdate(Long id, AuthorEntity authorEntity);
 
+    WriteResult<AuthorEntity> replace(Long id, AuthorEntity authorEntity, Predicate<Optional<AuthorEntity>> precondition);
+
+    WriteResult<AuthorEntity> update(Long id, AuthorEntity authorEntity, Predicate<Optional<AuthorEntity>> precondition);
+
     void delete(Long id);
 }
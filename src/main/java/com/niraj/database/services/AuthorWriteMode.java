@@ -0,0 +1,18 @@
+package com.niraj.database.services;
+
+/**
+ * How a book write treats the author embedded in the request, selected with {@code books.author-write-mode}.
+ */
+public enum AuthorWriteMode {
+
+    /**
+     * Creates the author when it has no id or an unknown id, otherwise overwrites its name and age.
+     */
+    UPSERT,
+
+    /**
+     * Only links the book to an existing author by id. The author row is neither read for update nor written;
+     * authors are created and changed through {@code /authors}.
+     */
+    REFERENCE
+}
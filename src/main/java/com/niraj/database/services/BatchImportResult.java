@@ -0,0 +1,34 @@
+package com.niraj.database.services;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+public record BatchImportResult(int created, int updated, int deduplicated, int failed, List<Item> items) {
+
+    public enum Status {
+        CREATED,
+        UPDATED,
+        DEDUPLICATED,
+        FAILED
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record Item(int index, String key, Status status, String error) {
+
+        public static Item of(int index, Object key, Status status) {
+            return new Item(index, key == null ? null : key.toString(), status, null);
+        }
+
+        public static Item failed(int index, Object key, String error) {
+            return new Item(index, key == null ? null : key.toString(), Status.FAILED, error);
+        }
+    }
+
+    public static BatchImportResult of(List<Item> items) {
+        int[] counts = new int[Status.values().length];
+        items.forEach(item -> counts[item.status().ordinal()]++);
+        return new BatchImportResult(counts[Status.CREATED.ordinal()], counts[Status.UPDATED.ordinal()],
+                counts[Status.DEDUPLICATED.ordinal()], counts[Status.FAILED.ordinal()], items);
+    }
+}
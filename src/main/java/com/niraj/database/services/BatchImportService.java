@@ -0,0 +1,12 @@
+package com.niraj.database.services;
+
+import com.niraj.database.domain.entities.AuthorEntity;
+import com.niraj.database.domain.entities.BookEntity;
+
+import java.util.Iterator;
+
+public interface BatchImportService {
+    BatchImportResult importBooks(Iterator<BookEntity> books);
+
+    BatchImportResult importAuthors(Iterator<AuthorEntity> authors);
+}
@@ -0,0 +1,28 @@
+package com.niraj.database.services;
+
+import com.niraj.database.domain.projections.BookView;
+import com.niraj.database.pagination.KeysetPage;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Read side of the book endpoints. {@code books.read-path} selects whether books are projected straight into their
+ * response shape or loaded as entities and mapped.
+ */
+public interface BookReadService {
+
+    /**
+     * Qualifies the implementation selected by {@code books.read-path}, for decorators that need the undecorated one.
+     */
+    String READ_PATH = "bookReadPath";
+
+    Optional<BookView> findOne(String isbn);
+
+    KeysetPage<BookView> findPage(String afterIsbn, int limit);
+
+    KeysetPage<BookView> findPageByAuthor(Long authorId, String afterIsbn, int limit);
+
+    void forEachChunk(int chunkSize, Consumer<List<BookView>> consumer);
+}
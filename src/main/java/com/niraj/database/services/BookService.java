@@ -1,21 +1,50 @@
 package com.niraj.database.services;
 
 import com.niraj.database.domain.entities.BookEntity;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import com.niraj.database.domain.projections.BookVersion;
+import com.niraj.database.pagination.KeysetPage;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 public interface BookService {
     BookEntity createUpdateBook(String isbn, BookEntity book);
 
+    /**
+     * Unconditional create-or-replace. Returns {@link WriteResult.Outcome#ACCEPTED} instead of committing when
+     * write-behind is enabled.
+     */
+    WriteResult<BookEntity> submit(String isbn, BookEntity book);
+
+    List<BookEntity> createUpdateBooks(Map<String, BookEntity> books);
+
+    WriteResult<BookEntity> upsert(String isbn, BookEntity book, Predicate<Optional<BookEntity>> precondition);
+
+    WriteResult<BookEntity> update(String isbn, BookEntity bookEntity, Predicate<Optional<BookEntity>> precondition);
+
     List<BookEntity> findAll();
 
-    Page<BookEntity> findAll(Pageable pageable);
+    KeysetPage<BookEntity> findPage(String afterIsbn, int limit);
+
+    KeysetPage<BookEntity> findPageByAuthor(Long authorId, String afterIsbn, int limit);
+
+    List<BookVersion> findPageVersionsByAuthor(Long authorId, String afterIsbn, int limit);
+
+    /**
+     * Versions of at most {@code perAuthor} books of each author, in ISBN order.
+     */
+    List<BookVersion> findVersionsByAuthorIds(Collection<Long> authorIds, int perAuthor);
+
+    void forEachChunk(int chunkSize, Consumer<List<BookEntity>> consumer);
 
     Optional<BookEntity> findOne(String isbn);
 
+    List<BookVersion> findPageVersions(String afterIsbn, int limit);
+
     boolean isExists(String isbn);
 
     BookEntity partialUpdate(String isbn, BookEntity bookEntity);
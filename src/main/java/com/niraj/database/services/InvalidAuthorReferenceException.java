@@ -0,0 +1,8 @@
+package com.niraj.database.services;
+
+public class InvalidAuthorReferenceException extends RuntimeException {
+
+    public InvalidAuthorReferenceException(String message) {
+        super(message);
+    }
+}
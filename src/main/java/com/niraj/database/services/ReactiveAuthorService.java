@@ -0,0 +1,34 @@
+package com.niraj.database.services;
+
+import com.niraj.database.domain.entities.AuthorEntity;
+import com.niraj.database.repositories.AuthorQuery;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * Non-blocking counterpart of {@link AuthorService}, served by the reactive stack.
+ */
+public interface ReactiveAuthorService {
+
+    Mono<AuthorEntity> save(AuthorEntity authorEntity);
+
+    /**
+     * The authors selected by the query, with every field; {@link AuthorQuery#fields()} is left to the caller.
+     */
+    Flux<AuthorEntity> findAll(AuthorQuery query);
+
+    Mono<AuthorEntity> findOne(Long id);
+
+    Mono<Boolean> isExists(Long id);
+
+    Mono<WriteResult<AuthorEntity>> replace(Long id, AuthorEntity authorEntity,
+                                            Predicate<Optional<AuthorEntity>> precondition);
+
+    Mono<WriteResult<AuthorEntity>> update(Long id, AuthorEntity authorEntity,
+                                           Predicate<Optional<AuthorEntity>> precondition);
+
+    Mono<Void> delete(Long id);
+}
@@ -0,0 +1,42 @@
+package com.niraj.database.services;
+
+import com.niraj.database.domain.entities.BookEntity;
+import com.niraj.database.domain.projections.BookView;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * Non-blocking counterpart of {@link BookService} and {@link BookReadService}, served by the reactive stack. Writes
+ * follow {@code books.author-write-mode} like their blocking versions; reads are projected into {@link BookView}s.
+ */
+public interface ReactiveBookService {
+
+    Mono<WriteResult<BookEntity>> upsert(String isbn, BookEntity book, Predicate<Optional<BookEntity>> precondition);
+
+    Mono<WriteResult<BookEntity>> update(String isbn, BookEntity book, Predicate<Optional<BookEntity>> precondition);
+
+    Mono<BookView> findOne(String isbn);
+
+    /**
+     * At most {@code limit} books after {@code afterIsbn} (from the start when null), in ISBN order.
+     */
+    Flux<BookView> findPage(String afterIsbn, int limit);
+
+    Flux<BookView> findPageByAuthor(Long authorId, String afterIsbn, int limit);
+
+    /**
+     * At most {@code perAuthor} books of each author, in ISBN order.
+     */
+    Flux<BookView> findByAuthorIds(Collection<Long> authorIds, int perAuthor);
+
+    /**
+     * Every book in ISBN order, read from the database as the subscriber requests them, {@code fetchSize} at a time.
+     */
+    Flux<BookView> findAll(int fetchSize);
+
+    Mono<Void> delete(String isbn);
+}
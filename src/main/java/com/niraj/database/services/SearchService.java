@@ -0,0 +1,22 @@
+package com.niraj.database.services;
+
+import com.niraj.database.domain.entities.AuthorEntity;
+import com.niraj.database.domain.entities.BookEntity;
+
+import java.util.List;
+
+public interface SearchService {
+    List<BookEntity> searchBooks(String query, int limit);
+
+    List<AuthorEntity> searchAuthors(String query, int limit);
+
+    void indexBook(String isbn, String title);
+
+    void removeBook(String isbn);
+
+    void indexAuthor(Long id, String name);
+
+    void removeAuthor(Long id);
+
+    void rebuild();
+}
@@ -0,0 +1,49 @@
+package com.niraj.database.services;
+
+import java.util.Optional;
+
+public record WriteResult<T>(Outcome outcome, T entity) {
+
+    public enum Outcome {
+        CREATED,
+        UPDATED,
+        NOT_FOUND,
+        PRECONDITION_FAILED,
+        ACCEPTED,
+        REJECTED
+    }
+
+    public static <T> WriteResult<T> created(T entity) {
+        return new WriteResult<>(Outcome.CREATED, entity);
+    }
+
+    public static <T> WriteResult<T> updated(T entity) {
+        return new WriteResult<>(Outcome.UPDATED, entity);
+    }
+
+    public static <T> WriteResult<T> notFound() {
+        return new WriteResult<>(Outcome.NOT_FOUND, null);
+    }
+
+    public static <T> WriteResult<T> preconditionFailed() {
+        return new WriteResult<>(Outcome.PRECONDITION_FAILED, null);
+    }
+
+    /**
+     * The write was queued and is visible to reads of the same key, but has not been committed yet.
+     */
+    public static <T> WriteResult<T> accepted(T entity) {
+        return new WriteResult<>(Outcome.ACCEPTED, entity);
+    }
+
+    /**
+     * The write queue is full; the caller should retry later.
+     */
+    public static <T> WriteResult<T> rejected() {
+        return new WriteResult<>(Outcome.REJECTED, null);
+    }
+
+    public Optional<T> found() {
+        return Optional.ofNullable(entity);
+    }
+}
@@ -1,14 +1,28 @@
 package com.niraj.database.services.impl;
 
-import com.niraj.database.domain.dto.AuthorDto;
+import com.niraj.database.coalescing.Coalesced;
+import com.niraj.database.config.CacheConfig;
 import com.niraj.database.domain.entities.AuthorEntity;
+import com.niraj.database.domain.projections.AuthorVersion;
+import com.niraj.database.domain.projections.BookSummary;
+import com.niraj.database.repositories.AuthorQuery;
 import com.niraj.database.repositories.AuthorRepository;
+import com.niraj.database.repositories.BookRepository;
 import com.niraj.database.services.AuthorService;
+import com.niraj.database.services.WriteResult;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collector;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
@@ -17,16 +31,25 @@ public class AuthorServiceImpl implements AuthorService {
 
     private AuthorRepository authorRepository;
 
-    public AuthorServiceImpl(AuthorRepository authorRepository) {
+    private BookRepository bookRepository;
+
+    public AuthorServiceImpl(AuthorRepository authorRepository, BookRepository bookRepository) {
         this.authorRepository = authorRepository;
+        this.bookRepository = bookRepository;
     }
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = {CacheConfig.AUTHORS, CacheConfig.AUTHOR_EXISTS}, key = "#result.id"),
+            @CacheEvict(cacheNames = {CacheConfig.BOOKS, CacheConfig.BOOK_VIEWS}, allEntries = true)
+    })
     public AuthorEntity save(AuthorEntity authorEntity) {
         return authorRepository.save(authorEntity);
     }
 
     @Override
+    @Transactional(readOnly = true)
+    @Coalesced
     public List<AuthorEntity> findAll() {
         return StreamSupport
                 .stream(authorRepository.findAll().spliterator(), false)
@@ -34,27 +57,133 @@ public class AuthorServiceImpl implements AuthorService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    @Coalesced
+    public List<Map<String, Object>> findAll(AuthorQuery query) {
+        return authorRepository.findProjected(query);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Coalesced
+    public List<Map<String, Object>> findAllWithBooks(AuthorQuery query, int booksPerAuthor) {
+        boolean idRequested = query.fields().contains("id");
+        List<String> fields = new ArrayList<>(query.fields());
+        if (!idRequested) {
+            fields.add(0, "id");
+        }
+        List<Map<String, Object>> authors = authorRepository.findProjected(query.withFields(fields));
+        if (authors.isEmpty()) {
+            return authors;
+        }
+
+        List<Long> authorIds = authors.stream().map(author -> (Long) author.get("id")).toList();
+        Map<Long, List<Map<String, Object>>> booksByAuthor = new HashMap<>();
+        for (BookSummary book : bookRepository.findSummariesByAuthorIds(authorIds, booksPerAuthor + 1)) {
+            Map<String, Object> bookRow = new LinkedHashMap<>();
+            bookRow.put("isbn", book.isbn());
+            bookRow.put("title", book.title());
+            booksByAuthor.computeIfAbsent(book.authorId(), id -> new ArrayList<>()).add(bookRow);
+        }
+        for (Map<String, Object> author : authors) {
+            Long id = (Long) (idRequested ? author.get("id") : author.remove("id"));
+            List<Map<String, Object>> books = booksByAuthor.getOrDefault(id, List.of());
+            author.put("books", books.size() > booksPerAuthor ? books.subList(0, booksPerAuthor) : books);
+            author.put("booksTruncated", books.size() > booksPerAuthor);
+        }
+        return authors;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Coalesced
+    public List<AuthorVersion> findVersions(AuthorQuery query) {
+        return authorRepository.findVersions(query);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.AUTHORS, key = "#id")
+    @Coalesced
     public Optional<AuthorEntity> findOne(Long id) {
         return authorRepository.findById(id);
     }
 
     @Override
+    @Transactional(readOnly = true)
+    @Coalesced
+    public Optional<AuthorVersion> findVersion(Long id) {
+        return authorRepository.findVersionById(id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.AUTHOR_EXISTS, key = "#id")
+    @Coalesced
     public boolean isExists(Long id) {
         return authorRepository.existsById(id);
     }
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = {CacheConfig.AUTHORS, CacheConfig.AUTHOR_EXISTS}, key = "#id"),
+            @CacheEvict(cacheNames = {CacheConfig.BOOKS, CacheConfig.BOOK_VIEWS}, allEntries = true)
+    })
     public AuthorEntity partialUpdate(Long id, AuthorEntity authorEntity) {
         authorEntity.setId(id);
 
-        return authorRepository.findById(id).map(existingAuthor -> {
-            Optional.ofNullable(authorEntity.getName()).ifPresent(existingAuthor::setName);
-            Optional.ofNullable(authorEntity.getAge()).ifPresent(existingAuthor::setAge);
-            return authorRepository.save(existingAuthor);
-        }).orElseThrow(()->new RuntimeException("Author does not exist"));
+        return authorRepository.findById(id)
+                .map(existingAuthor -> authorRepository.save(applyPartialUpdate(existingAuthor, authorEntity)))
+                .orElseThrow(()->new RuntimeException("Author does not exist"));
+    }
+
+    @Override
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = {CacheConfig.AUTHORS, CacheConfig.AUTHOR_EXISTS}, key = "#id"),
+            @CacheEvict(cacheNames = {CacheConfig.BOOKS, CacheConfig.BOOK_VIEWS}, allEntries = true)
+    })
+    public WriteResult<AuthorEntity> replace(Long id, AuthorEntity authorEntity,
+                                             Predicate<Optional<AuthorEntity>> precondition) {
+        Optional<AuthorEntity> foundAuthor = authorRepository.findById(id);
+        if (!precondition.test(foundAuthor)) {
+            return WriteResult.preconditionFailed();
+        }
+        return foundAuthor.map(existingAuthor -> {
+            existingAuthor.setName(authorEntity.getName());
+            existingAuthor.setAge(authorEntity.getAge());
+            return WriteResult.updated(existingAuthor);
+        }).orElseGet(WriteResult::notFound);
+    }
+
+    @Override
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = {CacheConfig.AUTHORS, CacheConfig.AUTHOR_EXISTS}, key = "#id"),
+            @CacheEvict(cacheNames = {CacheConfig.BOOKS, CacheConfig.BOOK_VIEWS}, allEntries = true)
+    })
+    public WriteResult<AuthorEntity> update(Long id, AuthorEntity authorEntity,
+                                            Predicate<Optional<AuthorEntity>> precondition) {
+        Optional<AuthorEntity> foundAuthor = authorRepository.findById(id);
+        if (!precondition.test(foundAuthor)) {
+            return WriteResult.preconditionFailed();
+        }
+        return foundAuthor
+                .map(existingAuthor -> WriteResult.updated(applyPartialUpdate(existingAuthor, authorEntity)))
+                .orElseGet(WriteResult::notFound);
+    }
+
+    private AuthorEntity applyPartialUpdate(AuthorEntity existingAuthor, AuthorEntity authorEntity) {
+        Optional.ofNullable(authorEntity.getName()).ifPresent(existingAuthor::setName);
+        Optional.ofNullable(authorEntity.getAge()).ifPresent(existingAuthor::setAge);
+        return existingAuthor;
     }
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = {CacheConfig.AUTHORS, CacheConfig.AUTHOR_EXISTS}, key = "#id"),
+            @CacheEvict(cacheNames = {CacheConfig.BOOKS, CacheConfig.BOOK_VIEWS}, allEntries = true)
+    })
     public void delete(Long id) {
         authorRepository.deleteById(id);
     }
@@ -0,0 +1,263 @@
+package com.niraj.database.services.impl;
+
+import com.niraj.database.config.CacheConfig;
+import com.niraj.database.domain.entities.AuthorEntity;
+import com.niraj.database.domain.entities.BookEntity;
+import com.niraj.database.repositories.AuthorRepository;
+import com.niraj.database.repositories.BookRepository;
+import com.niraj.database.services.BatchImportResult;
+import com.niraj.database.services.BatchImportResult.Item;
+import com.niraj.database.services.BatchImportResult.Status;
+import com.niraj.database.services.BatchImportService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.function.Function;
+
+@Service
+public class BatchImportServiceImpl implements BatchImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchImportServiceImpl.class);
+
+    // What failed is logged; clients get a fixed message, not the exception's, which can expose SQL and schema.
+    private static final String MALFORMED_INPUT = "Malformed input";
+    private static final String CHUNK_ROLLED_BACK = "Chunk rolled back";
+
+    private BookRepository bookRepository;
+
+    private AuthorRepository authorRepository;
+
+    private TransactionTemplate transactionTemplate;
+
+    private int chunkSize;
+
+    public BatchImportServiceImpl(BookRepository bookRepository, AuthorRepository authorRepository,
+                                  TransactionTemplate transactionTemplate,
+                                  @Value("${batch.chunk-size:500}") int chunkSize) {
+        this.bookRepository = bookRepository;
+        this.authorRepository = authorRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    @CacheEvict(cacheNames = {CacheConfig.BOOKS, CacheConfig.BOOK_VIEWS, CacheConfig.BOOK_EXISTS, CacheConfig.AUTHORS, CacheConfig.AUTHOR_EXISTS},
+            allEntries = true)
+    public BatchImportResult importBooks(Iterator<BookEntity> books) {
+        return importInChunks(books, this::writeBookChunk, BookEntity::getIsbn);
+    }
+
+    @Override
+    @CacheEvict(cacheNames = {CacheConfig.BOOKS, CacheConfig.BOOK_VIEWS, CacheConfig.AUTHORS, CacheConfig.AUTHOR_EXISTS},
+            allEntries = true)
+    public BatchImportResult importAuthors(Iterator<AuthorEntity> authors) {
+        return importInChunks(authors, this::writeAuthorChunk, AuthorEntity::getId);
+    }
+
+    private <T> BatchImportResult importInChunks(Iterator<T> source, ChunkWriter<T> chunkWriter, Function<T, Object> keyOf) {
+        AuthorKeys authorKeys = new AuthorKeys();
+        List<Item> items = new ArrayList<>();
+        List<T> chunk = new ArrayList<>(chunkSize);
+        int offset = 0;
+        while (true) {
+            T next;
+            try {
+                if (!source.hasNext()) {
+                    break;
+                }
+                next = source.next();
+            } catch (RuntimeException e) {
+                log.warn("Batch import stopped at malformed item {}", offset + chunk.size(), e);
+                items.addAll(writeChunk(offset, chunk, chunkWriter, keyOf, authorKeys));
+                items.add(Item.failed(offset + chunk.size(), null, MALFORMED_INPUT));
+                return BatchImportResult.of(items);
+            }
+            chunk.add(next);
+            if (chunk.size() == chunkSize) {
+                items.addAll(writeChunk(offset, chunk, chunkWriter, keyOf, authorKeys));
+                offset += chunk.size();
+                chunk = new ArrayList<>(chunkSize);
+            }
+        }
+        items.addAll(writeChunk(offset, chunk, chunkWriter, keyOf, authorKeys));
+        return BatchImportResult.of(items);
+    }
+
+    private <T> List<Item> writeChunk(int offset, List<T> chunk, ChunkWriter<T> chunkWriter,
+                                      Function<T, Object> keyOf, AuthorKeys authorKeys) {
+        if (chunk.isEmpty()) {
+            return List.of();
+        }
+        try {
+            List<Item> items = transactionTemplate.execute(status -> chunkWriter.write(offset, chunk, authorKeys));
+            authorKeys.commit();
+            return items;
+        } catch (RuntimeException e) {
+            log.error("Batch import rolled back the chunk of items {} to {}", offset, offset + chunk.size() - 1, e);
+            authorKeys.rollback();
+            List<Item> failed = new ArrayList<>(chunk.size());
+            for (int i = 0; i < chunk.size(); i++) {
+                T item = chunk.get(i);
+                failed.add(Item.failed(offset + i, item == null ? null : keyOf.apply(item), CHUNK_ROLLED_BACK));
+            }
+            return failed;
+        }
+    }
+
+    private List<Item> writeBookChunk(int offset, List<BookEntity> chunk, AuthorKeys authorKeys) {
+        Set<String> isbns = new HashSet<>();
+        Set<Long> authorIds = new HashSet<>();
+        for (BookEntity book : chunk) {
+            if (book != null && book.getIsbn() != null) {
+                isbns.add(book.getIsbn());
+            }
+            if (book != null && book.getAuthorEntity() != null && book.getAuthorEntity().getId() != null) {
+                authorIds.add(book.getAuthorEntity().getId());
+            }
+        }
+        Map<String, BookEntity> existingBooks = new HashMap<>();
+        bookRepository.findAllById(isbns).forEach(book -> existingBooks.put(book.getIsbn(), book));
+        Map<Long, AuthorEntity> existingAuthors = findAuthorsById(authorIds);
+
+        List<Item> items = new ArrayList<>(chunk.size());
+        List<BookEntity> newBooks = new ArrayList<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            int index = offset + i;
+            BookEntity book = chunk.get(i);
+            if (book == null || book.getIsbn() == null) {
+                items.add(Item.failed(index, null, "isbn is required"));
+                continue;
+            }
+
+            AuthorEntity author = book.getAuthorEntity();
+            if (author != null) {
+                author = resolveAuthor(author, existingAuthors, authorKeys);
+                if (author == null) {
+                    items.add(Item.failed(index, book.getIsbn(),
+                            "Author " + book.getAuthorEntity().getId() + " does not exist"));
+                    continue;
+                }
+            }
+
+            BookEntity existingBook = existingBooks.get(book.getIsbn());
+            if (existingBook == null) {
+                book.setAuthorEntity(author);
+                newBooks.add(book);
+                existingBooks.put(book.getIsbn(), book);
+                items.add(Item.of(index, book.getIsbn(), Status.CREATED));
+            } else {
+                existingBook.setTitle(book.getTitle());
+                existingBook.setAuthorEntity(author);
+                items.add(Item.of(index, book.getIsbn(), Status.UPDATED));
+            }
+        }
+        bookRepository.persistAll(newBooks);
+        bookRepository.flushAndClear();
+        return items;
+    }
+
+    private AuthorEntity resolveAuthor(AuthorEntity author, Map<Long, AuthorEntity> existingAuthors, AuthorKeys authorKeys) {
+        if (author.getId() != null) {
+            AuthorEntity existingAuthor = existingAuthors.get(author.getId());
+            if (existingAuthor != null) {
+                Optional.ofNullable(author.getName()).ifPresent(existingAuthor::setName);
+                Optional.ofNullable(author.getAge()).ifPresent(existingAuthor::setAge);
+            }
+            return existingAuthor;
+        }
+
+        String key = AuthorKeys.keyOf(author);
+        Long resolvedId = authorKeys.get(key);
+        if (resolvedId != null) {
+            return authorRepository.getReferenceById(resolvedId);
+        }
+        authorRepository.persistAll(List.of(author));
+        authorKeys.put(key, author.getId());
+        return author;
+    }
+
+    private List<Item> writeAuthorChunk(int offset, List<AuthorEntity> chunk, AuthorKeys authorKeys) {
+        Set<Long> ids = new HashSet<>();
+        for (AuthorEntity author : chunk) {
+            if (author != null && author.getId() != null) {
+                ids.add(author.getId());
+            }
+        }
+        Map<Long, AuthorEntity> existingAuthors = findAuthorsById(ids);
+
+        List<Item> items = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            int index = offset + i;
+            AuthorEntity author = chunk.get(i);
+            if (author == null) {
+                items.add(Item.failed(index, null, "author is required"));
+            } else if (author.getId() != null) {
+                AuthorEntity existingAuthor = existingAuthors.get(author.getId());
+                if (existingAuthor == null) {
+                    items.add(Item.failed(index, author.getId(), "Author " + author.getId() + " does not exist"));
+                } else {
+                    existingAuthor.setName(author.getName());
+                    existingAuthor.setAge(author.getAge());
+                    items.add(Item.of(index, author.getId(), Status.UPDATED));
+                }
+            } else {
+                String key = AuthorKeys.keyOf(author);
+                Long resolvedId = authorKeys.get(key);
+                if (resolvedId != null) {
+                    items.add(Item.of(index, resolvedId, Status.DEDUPLICATED));
+                } else {
+                    authorRepository.persistAll(List.of(author));
+                    authorKeys.put(key, author.getId());
+                    items.add(Item.of(index, author.getId(), Status.CREATED));
+                }
+            }
+        }
+        authorRepository.flushAndClear();
+        return items;
+    }
+
+    private Map<Long, AuthorEntity> findAuthorsById(Set<Long> ids) {
+        Map<Long, AuthorEntity> authors = new HashMap<>();
+        if (!ids.isEmpty()) {
+            authorRepository.findAllById(ids).forEach(author -> authors.put(author.getId(), author));
+        }
+        return authors;
+    }
+
+    @FunctionalInterface
+    private interface ChunkWriter<T> {
+        List<Item> write(int offset, List<T> chunk, AuthorKeys authorKeys);
+    }
+
+    private static final class AuthorKeys {
+        private final Map<String, Long> committed = new HashMap<>();
+        private final Map<String, Long> pending = new HashMap<>();
+
+        static String keyOf(AuthorEntity author) {
+            return author.getName() + '\u0000' + author.getAge();
+        }
+
+        Long get(String key) {
+            Long id = pending.get(key);
+            return id != null ? id : committed.get(key);
+        }
+
+        void put(String key, Long id) {
+            pending.put(key, id);
+        }
+
+        void commit() {
+            committed.putAll(pending);
+            pending.clear();
+        }
+
+        void rollback() {
+            pending.clear();
+        }
+    }
+}
@@ -1,64 +1,368 @@
 package com.niraj.database.services.impl;
 
+import com.niraj.database.coalescing.Coalesced;
+import com.niraj.database.config.CacheConfig;
+import com.niraj.database.domain.entities.AuthorEntity;
 import com.niraj.database.domain.entities.BookEntity;
+import com.niraj.database.domain.projections.BookVersion;
+import com.niraj.database.domain.projections.BookView;
+import com.niraj.database.pagination.KeysetPage;
+import com.niraj.database.repositories.AuthorRepository;
 import com.niraj.database.repositories.BookRepository;
+import com.niraj.database.services.AuthorService;
+import com.niraj.database.services.AuthorWriteMode;
 import com.niraj.database.services.BookService;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import com.niraj.database.services.InvalidAuthorReferenceException;
+import com.niraj.database.services.WriteResult;
+import org.hibernate.Hibernate;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
 
 @Service
 public class BookServiceImpl implements BookService {
 
     private BookRepository bookRepository;
 
-    public BookServiceImpl(BookRepository bookRepository) {
+    private AuthorRepository authorRepository;
+
+    private AuthorService authorService;
+
+    private AuthorWriteMode authorWriteMode;
+
+    private CacheManager cacheManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    public BookServiceImpl(BookRepository bookRepository, AuthorRepository authorRepository, AuthorService authorService,
+                           @Value("${books.author-write-mode:upsert}") AuthorWriteMode authorWriteMode,
+                           CacheManager cacheManager, TransactionTemplate transactionTemplate) {
         this.bookRepository = bookRepository;
+        this.authorRepository = authorRepository;
+        this.authorService = authorService;
+        this.authorWriteMode = authorWriteMode;
+        this.cacheManager = cacheManager;
+        this.transactionTemplate = transactionTemplate;
     }
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = {CacheConfig.BOOKS, CacheConfig.BOOK_VIEWS, CacheConfig.BOOK_EXISTS}, key = "#isbn"),
+            @CacheEvict(cacheNames = {CacheConfig.AUTHORS, CacheConfig.AUTHOR_EXISTS},
+                    key = "#result.authorEntity.id", condition = "#result?.authorEntity?.id != null"),
+            @CacheEvict(cacheNames = {CacheConfig.BOOKS, CacheConfig.BOOK_VIEWS}, allEntries = true,
+                    condition = "#book.authorEntity != null")
+    })
     public BookEntity createUpdateBook(String isbn, BookEntity book) {
-        book.setIsbn(isbn);
-        return bookRepository.save(book);
+        return retryingLostInsert(() -> write(isbn, book, bookRepository.findById(isbn)));
+    }
+
+    @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = {CacheConfig.BOOKS, CacheConfig.BOOK_VIEWS, CacheConfig.BOOK_EXISTS}, key = "#isbn"),
+            @CacheEvict(cacheNames = {CacheConfig.AUTHORS, CacheConfig.AUTHOR_EXISTS},
+                    key = "#result.entity.authorEntity.id", condition = "#result?.entity?.authorEntity?.id != null"),
+            @CacheEvict(cacheNames = {CacheConfig.BOOKS, CacheConfig.BOOK_VIEWS}, allEntries = true,
+                    condition = "#book.authorEntity != null")
+    })
+    public WriteResult<BookEntity> submit(String isbn, BookEntity book) {
+        return upsert(isbn, book, current -> true);
+    }
+
+    @Override
+    public List<BookEntity> createUpdateBooks(Map<String, BookEntity> books) {
+        List<BookEntity> savedBooks = retryingLostInsert(() -> {
+            Map<String, BookEntity> existingBooks = new HashMap<>();
+            bookRepository.findAllById(books.keySet()).forEach(book -> existingBooks.put(book.getIsbn(), book));
+            List<BookEntity> written = new ArrayList<>(books.size());
+            books.forEach((isbn, book) -> written.add(write(isbn, book, Optional.ofNullable(existingBooks.get(isbn)))));
+            return written;
+        });
+        evict(books.keySet(), savedBooks);
+        return savedBooks;
+    }
+
+    // Two writers can both find an ISBN missing and insert it. The loser's commit fails on the primary key, so its
+    // write is retried once in a new transaction, where it finds the winner's row and updates it instead. Any other
+    // integrity violation would only fail again.
+    private <T> T retryingLostInsert(Supplier<T> write) {
+        try {
+            return transactionTemplate.execute(status -> write.get());
+        } catch (DataIntegrityViolationException e) {
+            if (!isDuplicateKey(e)) {
+                throw e;
+            }
+            return transactionTemplate.execute(status -> write.get());
+        }
+    }
+
+    // SQLState 23505 is the standard unique violation; MySQL reports the generic 23000 with error code 1062.
+    private static boolean isDuplicateKey(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation
+                    && violation.getKind() == ConstraintViolationException.ConstraintKind.UNIQUE) {
+                return true;
+            }
+            if (cause instanceof SQLException sqlException
+                    && ("23505".equals(sqlException.getSQLState()) || sqlException.getErrorCode() == 1062)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Evicts only what a batch wrote, so that write-behind flushes keep the rest of the caches warm. Cached books embed
+    // their author, so in upsert mode the other cached books of a written author go as well.
+    private void evict(Collection<String> isbns, List<BookEntity> savedBooks) {
+        Set<Long> authorIds = savedBooks.stream()
+                .map(BookEntity::getAuthorEntity)
+                .filter(Objects::nonNull)
+                .map(AuthorEntity::getId)
+                .collect(Collectors.toSet());
+        evict(CacheConfig.BOOKS, isbns);
+        evict(CacheConfig.BOOK_VIEWS, isbns);
+        evict(CacheConfig.BOOK_EXISTS, isbns);
+        evict(CacheConfig.AUTHORS, authorIds);
+        evict(CacheConfig.AUTHOR_EXISTS, authorIds);
+
+        if (authorWriteMode == AuthorWriteMode.REFERENCE || authorIds.isEmpty()) {
+            return;
+        }
+        evictIf(CacheConfig.BOOKS, cached -> cached instanceof BookEntity book
+                && book.getAuthorEntity() != null && authorIds.contains(book.getAuthorEntity().getId()));
+        evictIf(CacheConfig.BOOK_VIEWS, cached -> cached instanceof BookView view
+                && authorIds.contains(view.version().authorId()));
+    }
+
+    private void evictIf(String cacheName, Predicate<Object> stale) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) {
+            return;
+        }
+        if (cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine) {
+            caffeine.asMap().values().removeIf(stale);
+        } else {
+            cache.clear();
+        }
+    }
+
+    private void evict(String cacheName, Collection<?> keys) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            keys.forEach(cache::evict);
+        }
+    }
+
+    @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = {CacheConfig.BOOKS, CacheConfig.BOOK_VIEWS, CacheConfig.BOOK_EXISTS}, key = "#isbn"),
+            @CacheEvict(cacheNames = {CacheConfig.AUTHORS, CacheConfig.AUTHOR_EXISTS},
+                    key = "#result.entity.authorEntity.id", condition = "#result?.entity?.authorEntity?.id != null"),
+            @CacheEvict(cacheNames = {CacheConfig.BOOKS, CacheConfig.BOOK_VIEWS}, allEntries = true,
+                    condition = "#book.authorEntity != null")
+    })
+    public WriteResult<BookEntity> upsert(String isbn, BookEntity book, Predicate<Optional<BookEntity>> precondition) {
+        return retryingLostInsert(() -> {
+            Optional<BookEntity> existingBook = bookRepository.findById(isbn);
+            if (!precondition.test(existingBook)) {
+                return WriteResult.<BookEntity>preconditionFailed();
+            }
+            BookEntity savedBook = write(isbn, book, existingBook);
+            return existingBook.isPresent() ? WriteResult.updated(savedBook) : WriteResult.created(savedBook);
+        });
     }
 
     @Override
+    @Transactional
+    @CacheEvict(cacheNames = {CacheConfig.BOOKS, CacheConfig.BOOK_VIEWS, CacheConfig.BOOK_EXISTS}, key = "#isbn")
+    public WriteResult<BookEntity> update(String isbn, BookEntity bookEntity, Predicate<Optional<BookEntity>> precondition) {
+        Optional<BookEntity> existingBook = bookRepository.findById(isbn);
+        if (!precondition.test(existingBook)) {
+            return WriteResult.preconditionFailed();
+        }
+        return existingBook
+                .map(book -> WriteResult.updated(applyPartialUpdate(book, bookEntity)))
+                .orElseGet(WriteResult::notFound);
+    }
+
+    private BookEntity write(String isbn, BookEntity book, Optional<BookEntity> existingBook) {
+        AuthorEntity author = resolveAuthor(book.getAuthorEntity());
+        BookEntity savedBook;
+        if (existingBook.isPresent()) {
+            savedBook = existingBook.get();
+            savedBook.setTitle(book.getTitle());
+            savedBook.setAuthorEntity(author);
+        } else {
+            book.setIsbn(isbn);
+            book.setAuthorEntity(author);
+            bookRepository.persistAll(List.of(book));
+            savedBook = book;
+        }
+        // A referenced author is only needed to render the response; it normally comes from the second-level cache.
+        Hibernate.initialize(author);
+        return savedBook;
+    }
+
+    private AuthorEntity resolveAuthor(AuthorEntity author) {
+        if (author == null) {
+            return null;
+        }
+        return authorWriteMode == AuthorWriteMode.REFERENCE ? referenceAuthor(author) : upsertAuthor(author);
+    }
+
+    private AuthorEntity referenceAuthor(AuthorEntity author) {
+        if (author.getId() == null) {
+            throw new InvalidAuthorReferenceException("author.id is required; authors are created through /authors");
+        }
+        if (!authorService.isExists(author.getId())) {
+            throw new InvalidAuthorReferenceException("Author " + author.getId() + " does not exist");
+        }
+        return authorRepository.getReferenceById(author.getId());
+    }
+
+    private AuthorEntity upsertAuthor(AuthorEntity author) {
+        if (author.getId() != null) {
+            Optional<AuthorEntity> existingAuthor = authorRepository.findById(author.getId());
+            if (existingAuthor.isPresent()) {
+                AuthorEntity managedAuthor = existingAuthor.get();
+                managedAuthor.setName(author.getName());
+                managedAuthor.setAge(author.getAge());
+                return managedAuthor;
+            }
+            author.setId(null);
+        }
+        authorRepository.persistAll(List.of(author));
+        return author;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Coalesced
     public List<BookEntity> findAll() {
-        return StreamSupport
-                .stream(bookRepository.findAll().spliterator(), false)
-                .collect(Collectors.toList());
+        return bookRepository.findAllWithAuthors();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Coalesced
+    public KeysetPage<BookEntity> findPage(String afterIsbn, int limit) {
+        Limit fetchLimit = Limit.of(limit + 1);
+        List<BookEntity> books = afterIsbn == null
+                ? bookRepository.findAllByOrderByIsbnAsc(fetchLimit)
+                : bookRepository.findByIsbnGreaterThanOrderByIsbnAsc(afterIsbn, fetchLimit);
+        return toPage(books, limit);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Coalesced
+    public KeysetPage<BookEntity> findPageByAuthor(Long authorId, String afterIsbn, int limit) {
+        Limit fetchLimit = Limit.of(limit + 1);
+        List<BookEntity> books = afterIsbn == null
+                ? bookRepository.findByAuthorEntityIdOrderByIsbnAsc(authorId, fetchLimit)
+                : bookRepository.findByAuthorEntityIdAndIsbnGreaterThanOrderByIsbnAsc(authorId, afterIsbn, fetchLimit);
+        return toPage(books, limit);
     }
 
     @Override
-    public Page<BookEntity> findAll(Pageable pageable) {
-        return bookRepository.findAll(pageable);
+    @Transactional(readOnly = true)
+    @Coalesced
+    public List<BookVersion> findPageVersionsByAuthor(Long authorId, String afterIsbn, int limit) {
+        return bookRepository.findVersionsByAuthorAfter(authorId, afterIsbn, Limit.of(limit));
     }
 
     @Override
+    @Transactional(readOnly = true)
+    @Coalesced
+    public List<BookVersion> findVersionsByAuthorIds(Collection<Long> authorIds, int perAuthor) {
+        return authorIds.isEmpty() ? List.of() : bookRepository.findVersionsByAuthorIds(authorIds, perAuthor);
+    }
+
+    private static KeysetPage<BookEntity> toPage(List<BookEntity> books, int limit) {
+        if (books.size() <= limit) {
+            return new KeysetPage<>(books, null);
+        }
+        List<BookEntity> page = books.subList(0, limit);
+        return new KeysetPage<>(page, page.get(limit - 1).getIsbn());
+    }
+
+    @Override
+    public void forEachChunk(int chunkSize, Consumer<List<BookEntity>> consumer) {
+        String afterIsbn = null;
+        do {
+            KeysetPage<BookEntity> page = findPage(afterIsbn, chunkSize);
+            if (!page.items().isEmpty()) {
+                consumer.accept(page.items());
+            }
+            afterIsbn = page.nextKey();
+        } while (afterIsbn != null);
+    }
+
+    // The cached book outlives the session, so its lazy author is initialized here, normally from the second-level cache.
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.BOOKS, key = "#isbn")
+    @Coalesced
     public Optional<BookEntity> findOne(String isbn) {
-        return bookRepository.findById(isbn);
+        Optional<BookEntity> book = bookRepository.findById(isbn);
+        book.ifPresent(found -> Hibernate.initialize(found.getAuthorEntity()));
+        return book;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Coalesced
+    public List<BookVersion> findPageVersions(String afterIsbn, int limit) {
+        return bookRepository.findVersionsAfter(afterIsbn, Limit.of(limit));
     }
 
     @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.BOOK_EXISTS, key = "#isbn")
+    @Coalesced
     public boolean isExists(String isbn) {
         return bookRepository.existsById(isbn);
     }
 
     @Override
+    @CacheEvict(cacheNames = {CacheConfig.BOOKS, CacheConfig.BOOK_VIEWS, CacheConfig.BOOK_EXISTS}, key = "#isbn")
     public BookEntity partialUpdate(String isbn, BookEntity bookEntity) {
         bookEntity.setIsbn(isbn);
-        return bookRepository.findById(isbn).map(existingBook -> {
-            Optional.ofNullable(bookEntity.getTitle()).ifPresent(existingBook::setTitle);
-            return bookRepository.save(existingBook);
-        }).orElseThrow(() -> new RuntimeException("Book does not exist"));
+        return bookRepository.findById(isbn)
+                .map(existingBook -> bookRepository.save(applyPartialUpdate(existingBook, bookEntity)))
+                .orElseThrow(() -> new RuntimeException("Book does not exist"));
+    }
+
+    private BookEntity applyPartialUpdate(BookEntity existingBook, BookEntity bookEntity) {
+        Optional.ofNullable(bookEntity.getTitle()).ifPresent(existingBook::setTitle);
+        return existingBook;
     }
 
     @Override
+    @CacheEvict(cacheNames = {CacheConfig.BOOKS, CacheConfig.BOOK_VIEWS, CacheConfig.BOOK_EXISTS}, key = "#isbn")
     public void delete(String isbn) {
         bookRepository.deleteById(isbn);
     }
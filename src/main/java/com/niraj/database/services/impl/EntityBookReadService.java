@@ -0,0 +1,73 @@
+package com.niraj.database.services.impl;
+
+import com.niraj.database.domain.dto.BookDto;
+import com.niraj.database.domain.entities.BookEntity;
+import com.niraj.database.domain.projections.BookVersion;
+import com.niraj.database.domain.projections.BookView;
+import com.niraj.database.mappers.Mapper;
+import com.niraj.database.pagination.KeysetPage;
+import com.niraj.database.services.BookReadService;
+import com.niraj.database.services.BookService;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Reads books as entities, with their author fetched in the same query, and maps them with the configured mapper.
+ */
+@Service
+@Qualifier(BookReadService.READ_PATH)
+@ConditionalOnProperty(name = "books.read-path", havingValue = "entity")
+public class EntityBookReadService implements BookReadService {
+
+    private BookService bookService;
+
+    private Mapper<BookEntity, BookDto> bookMapper;
+
+    public EntityBookReadService(BookService bookService, Mapper<BookEntity, BookDto> bookMapper) {
+        this.bookService = bookService;
+        this.bookMapper = bookMapper;
+    }
+
+    @Override
+    public Optional<BookView> findOne(String isbn) {
+        return bookService.findOne(isbn).map(this::toView);
+    }
+
+    @Override
+    public KeysetPage<BookView> findPage(String afterIsbn, int limit) {
+        return toViews(bookService.findPage(afterIsbn, limit));
+    }
+
+    @Override
+    public KeysetPage<BookView> findPageByAuthor(Long authorId, String afterIsbn, int limit) {
+        return toViews(bookService.findPageByAuthor(authorId, afterIsbn, limit));
+    }
+
+    @Override
+    public void forEachChunk(int chunkSize, Consumer<List<BookView>> consumer) {
+        bookService.forEachChunk(chunkSize, chunk -> consumer.accept(toViews(chunk)));
+    }
+
+    private KeysetPage<BookView> toViews(KeysetPage<BookEntity> page) {
+        return new KeysetPage<>(toViews(page.items()), page.nextKey());
+    }
+
+    private List<BookView> toViews(List<BookEntity> bookEntities) {
+        List<BookDto> bookDtos = bookMapper.mapAllTo(bookEntities);
+        List<BookView> views = new ArrayList<>(bookEntities.size());
+        for (int i = 0; i < bookEntities.size(); i++) {
+            views.add(new BookView(bookDtos.get(i), BookVersion.of(bookEntities.get(i))));
+        }
+        return views;
+    }
+
+    private BookView toView(BookEntity bookEntity) {
+        return new BookView(bookMapper.mapTo(bookEntity), BookVersion.of(bookEntity));
+    }
+}
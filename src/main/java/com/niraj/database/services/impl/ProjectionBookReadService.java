@@ -0,0 +1,95 @@
+package com.niraj.database.services.impl;
+
+import com.niraj.database.coalescing.Coalesced;
+import com.niraj.database.config.CacheConfig;
+import com.niraj.database.domain.dto.AuthorDto;
+import com.niraj.database.domain.projections.BookRow;
+import com.niraj.database.domain.projections.BookView;
+import com.niraj.database.pagination.KeysetPage;
+import com.niraj.database.repositories.BookRepository;
+import com.niraj.database.services.BookReadService;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Reads books with JPQL constructor expressions, so no entity is hydrated, tracked or mapped.
+ */
+@Service
+@Transactional(readOnly = true)
+@Qualifier(BookReadService.READ_PATH)
+@ConditionalOnProperty(name = "books.read-path", havingValue = "projection", matchIfMissing = true)
+public class ProjectionBookReadService implements BookReadService {
+
+    private BookRepository bookRepository;
+
+    private TransactionTemplate chunkTransactions;
+
+    public ProjectionBookReadService(BookRepository bookRepository, PlatformTransactionManager transactionManager) {
+        this.bookRepository = bookRepository;
+        this.chunkTransactions = new TransactionTemplate(transactionManager);
+        this.chunkTransactions.setReadOnly(true);
+    }
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.BOOK_VIEWS, key = "#isbn")
+    @Coalesced
+    public Optional<BookView> findOne(String isbn) {
+        return bookRepository.findRowByIsbn(isbn).map(row -> row.toView(row.author()));
+    }
+
+    @Override
+    @Coalesced
+    public KeysetPage<BookView> findPage(String afterIsbn, int limit) {
+        return toPage(bookRepository.findRowsAfter(afterIsbn, Limit.of(limit + 1)), limit);
+    }
+
+    @Override
+    @Coalesced
+    public KeysetPage<BookView> findPageByAuthor(Long authorId, String afterIsbn, int limit) {
+        return toPage(bookRepository.findRowsByAuthorAfter(authorId, afterIsbn, Limit.of(limit + 1)), limit);
+    }
+
+    // A stream can outlast any transaction worth holding open, so each chunk is read in its own and the connection goes
+    // back to the pool before the chunk is handed to a possibly slow consumer.
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void forEachChunk(int chunkSize, Consumer<List<BookView>> consumer) {
+        String afterIsbn = null;
+        do {
+            String after = afterIsbn;
+            KeysetPage<BookView> page = chunkTransactions.execute(status -> toPage(
+                    bookRepository.findRowsAfter(after, Limit.of(chunkSize + 1)), chunkSize));
+            if (!page.items().isEmpty()) {
+                consumer.accept(page.items());
+            }
+            afterIsbn = page.nextKey();
+        } while (afterIsbn != null);
+    }
+
+    // Every row repeats its author's columns; build each author once per page and share it across the page's books.
+    private static KeysetPage<BookView> toPage(List<BookRow> rows, int limit) {
+        List<BookRow> page = rows.size() > limit ? rows.subList(0, limit) : rows;
+        Map<Long, AuthorDto> authors = new HashMap<>();
+        List<BookView> views = new ArrayList<>(page.size());
+        for (BookRow row : page) {
+            views.add(row.toView(row.authorId() == null
+                    ? null
+                    : authors.computeIfAbsent(row.authorId(), id -> row.author())));
+        }
+        return new KeysetPage<>(views, rows.size() > limit ? page.get(limit - 1).isbn() : null);
+    }
+}
@@ -0,0 +1,99 @@
+package com.niraj.database.services.impl;
+
+import com.niraj.database.domain.entities.AuthorEntity;
+import com.niraj.database.repositories.AuthorQuery;
+import com.niraj.database.repositories.ReactiveAuthorRepository;
+import com.niraj.database.services.ReactiveAuthorService;
+import com.niraj.database.services.WriteResult;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveAuthorServiceImpl implements ReactiveAuthorService {
+
+    private ReactiveAuthorRepository authorRepository;
+
+    private TransactionalOperator transactions;
+
+    public ReactiveAuthorServiceImpl(ReactiveAuthorRepository authorRepository, TransactionalOperator transactions) {
+        this.authorRepository = authorRepository;
+        this.transactions = transactions;
+    }
+
+    @Override
+    public Mono<AuthorEntity> save(AuthorEntity authorEntity) {
+        return authorRepository.insert(authorEntity).as(transactions::transactional);
+    }
+
+    @Override
+    public Flux<AuthorEntity> findAll(AuthorQuery query) {
+        return authorRepository.findAll(query);
+    }
+
+    @Override
+    public Mono<AuthorEntity> findOne(Long id) {
+        return authorRepository.findById(id);
+    }
+
+    @Override
+    public Mono<Boolean> isExists(Long id) {
+        return authorRepository.existsById(id);
+    }
+
+    @Override
+    public Mono<WriteResult<AuthorEntity>> replace(Long id, AuthorEntity authorEntity,
+                                                   Predicate<Optional<AuthorEntity>> precondition) {
+        return write(id, precondition, existingAuthor -> {
+            existingAuthor.setName(authorEntity.getName());
+            existingAuthor.setAge(authorEntity.getAge());
+        });
+    }
+
+    @Override
+    public Mono<WriteResult<AuthorEntity>> update(Long id, AuthorEntity authorEntity,
+                                                  Predicate<Optional<AuthorEntity>> precondition) {
+        return write(id, precondition, existingAuthor -> {
+            Optional.ofNullable(authorEntity.getName()).ifPresent(existingAuthor::setName);
+            Optional.ofNullable(authorEntity.getAge()).ifPresent(existingAuthor::setAge);
+        });
+    }
+
+    // Like Hibernate's dirty checking, an author left unchanged keeps its version.
+    private Mono<WriteResult<AuthorEntity>> write(Long id, Predicate<Optional<AuthorEntity>> precondition,
+                                                  Consumer<AuthorEntity> change) {
+        return authorRepository.findByIdForUpdate(id)
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(foundAuthor -> {
+                    if (!precondition.test(foundAuthor)) {
+                        return Mono.just(WriteResult.<AuthorEntity>preconditionFailed());
+                    }
+                    if (foundAuthor.isEmpty()) {
+                        return Mono.just(WriteResult.<AuthorEntity>notFound());
+                    }
+                    AuthorEntity existingAuthor = foundAuthor.get();
+                    String name = existingAuthor.getName();
+                    Integer age = existingAuthor.getAge();
+                    change.accept(existingAuthor);
+                    if (Objects.equals(name, existingAuthor.getName()) && Objects.equals(age, existingAuthor.getAge())) {
+                        return Mono.just(WriteResult.updated(existingAuthor));
+                    }
+                    return authorRepository.update(existingAuthor).map(WriteResult::updated);
+                })
+                .as(transactions::transactional);
+    }
+
+    @Override
+    public Mono<Void> delete(Long id) {
+        return authorRepository.deleteById(id);
+    }
+}
@@ -0,0 +1,179 @@
+package com.niraj.database.services.impl;
+
+import com.niraj.database.domain.entities.AuthorEntity;
+import com.niraj.database.domain.entities.BookEntity;
+import com.niraj.database.domain.projections.BookView;
+import com.niraj.database.repositories.ReactiveAuthorRepository;
+import com.niraj.database.repositories.ReactiveBookRepository;
+import com.niraj.database.services.AuthorWriteMode;
+import com.niraj.database.services.InvalidAuthorReferenceException;
+import com.niraj.database.services.ReactiveBookService;
+import com.niraj.database.services.WriteResult;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveBookServiceImpl implements ReactiveBookService {
+
+    private ReactiveBookRepository bookRepository;
+
+    private ReactiveAuthorRepository authorRepository;
+
+    private TransactionalOperator transactions;
+
+    private AuthorWriteMode authorWriteMode;
+
+    public ReactiveBookServiceImpl(ReactiveBookRepository bookRepository, ReactiveAuthorRepository authorRepository,
+                                   TransactionalOperator transactions,
+                                   @Value("${books.author-write-mode:upsert}") AuthorWriteMode authorWriteMode) {
+        this.bookRepository = bookRepository;
+        this.authorRepository = authorRepository;
+        this.transactions = transactions;
+        this.authorWriteMode = authorWriteMode;
+    }
+
+    @Override
+    public Mono<WriteResult<BookEntity>> upsert(String isbn, BookEntity book,
+                                                Predicate<Optional<BookEntity>> precondition) {
+        return findForUpdate(isbn)
+                .flatMap(existingBook -> {
+                    if (!precondition.test(existingBook)) {
+                        return Mono.just(WriteResult.<BookEntity>preconditionFailed());
+                    }
+                    return write(isbn, book, existingBook).map(savedBook -> existingBook.isPresent()
+                            ? WriteResult.updated(savedBook)
+                            : WriteResult.created(savedBook));
+                })
+                .as(transactions::transactional);
+    }
+
+    @Override
+    public Mono<WriteResult<BookEntity>> update(String isbn, BookEntity book,
+                                                Predicate<Optional<BookEntity>> precondition) {
+        return findForUpdate(isbn)
+                .flatMap(existingBook -> {
+                    if (!precondition.test(existingBook)) {
+                        return Mono.just(WriteResult.<BookEntity>preconditionFailed());
+                    }
+                    if (existingBook.isEmpty()) {
+                        return Mono.just(WriteResult.<BookEntity>notFound());
+                    }
+                    BookEntity savedBook = existingBook.get();
+                    if (book.getTitle() == null || book.getTitle().equals(savedBook.getTitle())) {
+                        return Mono.just(WriteResult.updated(savedBook));
+                    }
+                    savedBook.setTitle(book.getTitle());
+                    return bookRepository.update(savedBook).map(WriteResult::updated);
+                })
+                .as(transactions::transactional);
+    }
+
+    private Mono<Optional<BookEntity>> findForUpdate(String isbn) {
+        return bookRepository.findByIdForUpdate(isbn)
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty());
+    }
+
+    // Like Hibernate's dirty checking, a book left unchanged keeps its version.
+    private Mono<BookEntity> write(String isbn, BookEntity book, Optional<BookEntity> existingBook) {
+        return resolveAuthor(book.getAuthorEntity())
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(resolvedAuthor -> {
+                    AuthorEntity author = resolvedAuthor.orElse(null);
+                    if (existingBook.isEmpty()) {
+                        book.setIsbn(isbn);
+                        book.setAuthorEntity(author);
+                        return bookRepository.insert(book);
+                    }
+                    BookEntity savedBook = existingBook.get();
+                    boolean unchanged = Objects.equals(savedBook.getTitle(), book.getTitle())
+                            && Objects.equals(idOf(savedBook.getAuthorEntity()), idOf(author));
+                    savedBook.setTitle(book.getTitle());
+                    savedBook.setAuthorEntity(author);
+                    return unchanged ? Mono.just(savedBook) : bookRepository.update(savedBook);
+                });
+    }
+
+    private Mono<AuthorEntity> resolveAuthor(AuthorEntity author) {
+        if (author == null) {
+            return Mono.empty();
+        }
+        return authorWriteMode == AuthorWriteMode.REFERENCE ? referenceAuthor(author) : upsertAuthor(author);
+    }
+
+    private Mono<AuthorEntity> referenceAuthor(AuthorEntity author) {
+        if (author.getId() == null) {
+            return Mono.error(new InvalidAuthorReferenceException(
+                    "author.id is required; authors are created through /authors"));
+        }
+        return authorRepository.findById(author.getId())
+                .switchIfEmpty(Mono.error(() -> new InvalidAuthorReferenceException(
+                        "Author " + author.getId() + " does not exist")));
+    }
+
+    private Mono<AuthorEntity> upsertAuthor(AuthorEntity author) {
+        Mono<AuthorEntity> existingAuthor = author.getId() == null
+                ? Mono.empty()
+                : authorRepository.findByIdForUpdate(author.getId());
+        return existingAuthor
+                .flatMap(managedAuthor -> {
+                    if (Objects.equals(managedAuthor.getName(), author.getName())
+                            && Objects.equals(managedAuthor.getAge(), author.getAge())) {
+                        return Mono.just(managedAuthor);
+                    }
+                    managedAuthor.setName(author.getName());
+                    managedAuthor.setAge(author.getAge());
+                    return authorRepository.update(managedAuthor);
+                })
+                .switchIfEmpty(Mono.defer(() -> {
+                    author.setId(null);
+                    return authorRepository.insert(author);
+                }));
+    }
+
+    private static Long idOf(AuthorEntity author) {
+        return author == null ? null : author.getId();
+    }
+
+    @Override
+    public Mono<BookView> findOne(String isbn) {
+        return bookRepository.findViewByIsbn(isbn);
+    }
+
+    @Override
+    public Flux<BookView> findPage(String afterIsbn, int limit) {
+        return bookRepository.findViewsAfter(afterIsbn, limit);
+    }
+
+    @Override
+    public Flux<BookView> findPageByAuthor(Long authorId, String afterIsbn, int limit) {
+        return bookRepository.findViewsByAuthorAfter(authorId, afterIsbn, limit);
+    }
+
+    @Override
+    public Flux<BookView> findByAuthorIds(Collection<Long> authorIds, int perAuthor) {
+        return authorIds.isEmpty() ? Flux.empty() : bookRepository.findViewsByAuthorIds(authorIds, perAuthor);
+    }
+
+    // limitRate keeps the demand sent upstream in fetch-size batches, however the subscriber requests.
+    @Override
+    public Flux<BookView> findAll(int fetchSize) {
+        return bookRepository.findAllViews(fetchSize).limitRate(fetchSize);
+    }
+
+    @Override
+    public Mono<Void> delete(String isbn) {
+        return bookRepository.deleteById(isbn);
+    }
+}
@@ -0,0 +1,110 @@
+package com.niraj.database.services.impl;
+
+import com.niraj.database.domain.entities.AuthorEntity;
+import com.niraj.database.domain.entities.BookEntity;
+import com.niraj.database.domain.projections.BookSummary;
+import com.niraj.database.repositories.AuthorRepository;
+import com.niraj.database.repositories.BookRepository;
+import com.niraj.database.search.RebuildableIndex;
+import com.niraj.database.services.SearchService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+@Service
+public class SearchServiceImpl implements SearchService {
+
+    private final RebuildableIndex<String> bookIndex = new RebuildableIndex<>();
+
+    private final RebuildableIndex<Long> authorIndex = new RebuildableIndex<>();
+
+    private BookRepository bookRepository;
+
+    private AuthorRepository authorRepository;
+
+    private int rebuildChunkSize;
+
+    public SearchServiceImpl(BookRepository bookRepository, AuthorRepository authorRepository,
+                             @Value("${search.rebuild.chunk-size:1000}") int rebuildChunkSize) {
+        this.bookRepository = bookRepository;
+        this.authorRepository = authorRepository;
+        this.rebuildChunkSize = rebuildChunkSize;
+    }
+
+    @Override
+    public List<BookEntity> searchBooks(String query, int limit) {
+        List<String> isbns = bookIndex.search(query, limit);
+        if (isbns.isEmpty()) {
+            return List.of();
+        }
+        return inRankOrder(isbns, bookRepository.findAllById(isbns), BookEntity::getIsbn);
+    }
+
+    @Override
+    public List<AuthorEntity> searchAuthors(String query, int limit) {
+        List<Long> ids = authorIndex.search(query, limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return inRankOrder(ids, authorRepository.findAllById(ids), AuthorEntity::getId);
+    }
+
+    @Override
+    public void indexBook(String isbn, String title) {
+        bookIndex.index(isbn, title);
+    }
+
+    @Override
+    public void removeBook(String isbn) {
+        bookIndex.remove(isbn);
+    }
+
+    @Override
+    public void indexAuthor(Long id, String name) {
+        authorIndex.index(id, name);
+    }
+
+    @Override
+    public void removeAuthor(Long id) {
+        authorIndex.remove(id);
+    }
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        bookIndex.startRebuild();
+        List<BookSummary> books = bookRepository.findSummariesAfter(null, Limit.of(rebuildChunkSize));
+        while (!books.isEmpty()) {
+            books.forEach(book -> bookIndex.rebuild(book.isbn(), book.title()));
+            String lastIsbn = books.get(books.size() - 1).isbn();
+            books = bookRepository.findSummariesAfter(lastIsbn, Limit.of(rebuildChunkSize));
+        }
+        bookIndex.finishRebuild();
+
+        authorIndex.startRebuild();
+        List<AuthorEntity> authors = authorRepository.findAllByOrderByIdAsc(Limit.of(rebuildChunkSize));
+        while (!authors.isEmpty()) {
+            authors.forEach(author -> authorIndex.rebuild(author.getId(), author.getName()));
+            Long lastId = authors.get(authors.size() - 1).getId();
+            authors = authorRepository.findByIdGreaterThanOrderByIdAsc(lastId, Limit.of(rebuildChunkSize));
+        }
+        authorIndex.finishRebuild();
+    }
+
+    private static <K, T> List<T> inRankOrder(List<K> rankedKeys, Iterable<T> entities, Function<T, K> keyOf) {
+        Map<K, T> byKey = new HashMap<>();
+        entities.forEach(entity -> byKey.put(keyOf.apply(entity), entity));
+        return rankedKeys.stream()
+                .map(byKey::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+}
@@ -0,0 +1,75 @@
+package com.niraj.database.services.impl;
+
+import com.niraj.database.domain.dto.AuthorDto;
+import com.niraj.database.domain.dto.BookDto;
+import com.niraj.database.domain.entities.AuthorEntity;
+import com.niraj.database.domain.entities.BookEntity;
+import com.niraj.database.domain.projections.BookVersion;
+import com.niraj.database.domain.projections.BookView;
+import com.niraj.database.pagination.KeysetPage;
+import com.niraj.database.services.BookReadService;
+import com.niraj.database.writebehind.BookWriteBuffer;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Serves single-book reads from the {@link BookWriteBuffer} while a write to the book is queued.
+ */
+@Service
+@Primary
+@ConditionalOnProperty(name = "books.write-behind.enabled", havingValue = "true")
+public class WriteBehindBookReadService implements BookReadService {
+
+    private BookReadService bookReadService;
+
+    private BookWriteBuffer writeBuffer;
+
+    public WriteBehindBookReadService(@Qualifier(BookReadService.READ_PATH) BookReadService bookReadService,
+                                      BookWriteBuffer writeBuffer) {
+        this.bookReadService = bookReadService;
+        this.writeBuffer = writeBuffer;
+    }
+
+    @Override
+    public Optional<BookView> findOne(String isbn) {
+        Optional<BookView> queuedBook = writeBuffer.find(isbn).map(WriteBehindBookReadService::toView);
+        return queuedBook.isPresent() ? queuedBook : bookReadService.findOne(isbn);
+    }
+
+    @Override
+    public KeysetPage<BookView> findPage(String afterIsbn, int limit) {
+        return bookReadService.findPage(afterIsbn, limit);
+    }
+
+    @Override
+    public KeysetPage<BookView> findPageByAuthor(Long authorId, String afterIsbn, int limit) {
+        return bookReadService.findPageByAuthor(authorId, afterIsbn, limit);
+    }
+
+    @Override
+    public void forEachChunk(int chunkSize, Consumer<List<BookView>> consumer) {
+        bookReadService.forEachChunk(chunkSize, consumer);
+    }
+
+    // A queued book has no committed version yet.
+    private static BookView toView(BookEntity book) {
+        AuthorEntity author = book.getAuthorEntity();
+        BookDto bookDto = BookDto.builder()
+                .isbn(book.getIsbn())
+                .title(book.getTitle())
+                .author(author == null ? null : AuthorDto.builder()
+                        .id(author.getId())
+                        .name(author.getName())
+                        .age(author.getAge())
+                        .build())
+                .build();
+        return new BookView(bookDto, new BookVersion(book.getIsbn(), null, null,
+                author == null ? null : author.getId(), null, null));
+    }
+}
@@ -0,0 +1,126 @@
+package com.niraj.database.services.impl;
+
+import com.niraj.database.domain.entities.BookEntity;
+import com.niraj.database.domain.projections.BookVersion;
+import com.niraj.database.pagination.KeysetPage;
+import com.niraj.database.services.BookService;
+import com.niraj.database.services.WriteResult;
+import com.niraj.database.writebehind.BookWriteBuffer;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Queues unconditional book writes in the {@link BookWriteBuffer} instead of committing them. Single-book reads
+ * see queued writes; every other write first commits whatever is queued for the same ISBN.
+ */
+@Service
+@Primary
+@ConditionalOnProperty(name = "books.write-behind.enabled", havingValue = "true")
+public class WriteBehindBookService implements BookService {
+
+    private BookService bookService;
+
+    private BookWriteBuffer writeBuffer;
+
+    public WriteBehindBookService(@Qualifier("bookServiceImpl") BookService bookService, BookWriteBuffer writeBuffer) {
+        this.bookService = bookService;
+        this.writeBuffer = writeBuffer;
+    }
+
+    @Override
+    public WriteResult<BookEntity> submit(String isbn, BookEntity book) {
+        book.setIsbn(isbn);
+        return writeBuffer.offer(isbn, book) ? WriteResult.accepted(book) : WriteResult.rejected();
+    }
+
+    @Override
+    public BookEntity createUpdateBook(String isbn, BookEntity book) {
+        writeBuffer.flush(List.of(isbn));
+        return bookService.createUpdateBook(isbn, book);
+    }
+
+    @Override
+    public List<BookEntity> createUpdateBooks(Map<String, BookEntity> books) {
+        writeBuffer.flush(books.keySet());
+        return bookService.createUpdateBooks(books);
+    }
+
+    @Override
+    public WriteResult<BookEntity> upsert(String isbn, BookEntity book, Predicate<Optional<BookEntity>> precondition) {
+        writeBuffer.flush(List.of(isbn));
+        return bookService.upsert(isbn, book, precondition);
+    }
+
+    @Override
+    public WriteResult<BookEntity> update(String isbn, BookEntity bookEntity, Predicate<Optional<BookEntity>> precondition) {
+        writeBuffer.flush(List.of(isbn));
+        return bookService.update(isbn, bookEntity, precondition);
+    }
+
+    @Override
+    public List<BookEntity> findAll() {
+        return bookService.findAll();
+    }
+
+    @Override
+    public KeysetPage<BookEntity> findPage(String afterIsbn, int limit) {
+        return bookService.findPage(afterIsbn, limit);
+    }
+
+    @Override
+    public KeysetPage<BookEntity> findPageByAuthor(Long authorId, String afterIsbn, int limit) {
+        return bookService.findPageByAuthor(authorId, afterIsbn, limit);
+    }
+
+    @Override
+    public List<BookVersion> findPageVersionsByAuthor(Long authorId, String afterIsbn, int limit) {
+        return bookService.findPageVersionsByAuthor(authorId, afterIsbn, limit);
+    }
+
+    @Override
+    public List<BookVersion> findVersionsByAuthorIds(Collection<Long> authorIds, int perAuthor) {
+        return bookService.findVersionsByAuthorIds(authorIds, perAuthor);
+    }
+
+    @Override
+    public void forEachChunk(int chunkSize, Consumer<List<BookEntity>> consumer) {
+        bookService.forEachChunk(chunkSize, consumer);
+    }
+
+    @Override
+    public Optional<BookEntity> findOne(String isbn) {
+        Optional<BookEntity> queuedBook = writeBuffer.find(isbn);
+        return queuedBook.isPresent() ? queuedBook : bookService.findOne(isbn);
+    }
+
+    @Override
+    public List<BookVersion> findPageVersions(String afterIsbn, int limit) {
+        return bookService.findPageVersions(afterIsbn, limit);
+    }
+
+    @Override
+    public boolean isExists(String isbn) {
+        return writeBuffer.find(isbn).isPresent() || bookService.isExists(isbn);
+    }
+
+    @Override
+    public BookEntity partialUpdate(String isbn, BookEntity bookEntity) {
+        writeBuffer.flush(List.of(isbn));
+        return bookService.partialUpdate(isbn, bookEntity);
+    }
+
+    @Override
+    public void delete(String isbn) {
+        writeBuffer.flush(List.of(isbn));
+        bookService.delete(isbn);
+    }
+}
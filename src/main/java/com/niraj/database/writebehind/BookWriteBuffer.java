@@ -0,0 +1,393 @@
+package com.niraj.database.writebehind;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.niraj.database.domain.entities.AuthorEntity;
+import com.niraj.database.domain.entities.BookEntity;
+import com.niraj.database.services.BookService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded queue of accepted book writes, keyed by ISBN so that repeated writes to the same book coalesce into
+ * the latest one. A background thread commits the queue in batches of {@code books.write-behind.batch-size};
+ * writers block for up to {@code books.write-behind.offer-timeout} when the queue is full and are then rejected.
+ */
+@Component
+@ConditionalOnProperty(name = "books.write-behind.enabled", havingValue = "true")
+public class BookWriteBuffer implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(BookWriteBuffer.class);
+    private static final String WRITES = "books.write-behind.writes";
+
+    private final BookService bookService;
+    private final int capacity;
+    private final int batchSize;
+    private final Duration flushInterval;
+    private final Duration offerTimeout;
+    private final BookWriteJournal journal;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    private final LinkedHashMap<String, BookEntity> pending = new LinkedHashMap<>();
+    private final Map<String, BookEntity> inFlight = new HashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private final Counter accepted;
+    private final Counter coalesced;
+    private final Counter rejected;
+    private final Counter flushed;
+    private final Counter failed;
+    private final Timer flushTimer;
+
+    private volatile Thread flusher;
+    private volatile boolean running;
+
+    public BookWriteBuffer(@Qualifier("bookServiceImpl") BookService bookService, ObjectMapper objectMapper,
+                           MeterRegistry meterRegistry,
+                           @Value("${books.write-behind.capacity:10000}") int capacity,
+                           @Value("${books.write-behind.batch-size:100}") int batchSize,
+                           @Value("${books.write-behind.flush-interval:50ms}") Duration flushInterval,
+                           @Value("${books.write-behind.offer-timeout:100ms}") Duration offerTimeout,
+                           @Value("${books.write-behind.journal-path:}") String journalPath,
+                           @Value("${books.write-behind.journal-fsync:false}") boolean journalFsync) {
+        this.bookService = bookService;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+        this.offerTimeout = offerTimeout;
+        this.journal = journalPath.isBlank() ? null : new BookWriteJournal(Path.of(journalPath), journalFsync, objectMapper);
+
+        Gauge.builder("books.write-behind.pending", this, BookWriteBuffer::pendingCount)
+                .description("Accepted book writes not yet committed")
+                .register(meterRegistry);
+        this.accepted = Counter.builder(WRITES).tag("result", "accepted").register(meterRegistry);
+        this.coalesced = Counter.builder(WRITES).tag("result", "coalesced").register(meterRegistry);
+        this.rejected = Counter.builder(WRITES).tag("result", "rejected").register(meterRegistry);
+        this.flushed = Counter.builder(WRITES).tag("result", "flushed").register(meterRegistry);
+        this.failed = Counter.builder(WRITES).tag("result", "failed").register(meterRegistry);
+        this.flushTimer = Timer.builder("books.write-behind.flush")
+                .description("Time to commit one batch of queued book writes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queues a write, replacing any queued write to the same ISBN. Returns false when the queue stayed full for the
+     * whole offer timeout.
+     */
+    public boolean offer(String isbn, BookEntity book) {
+        BookEntity snapshot = copyOf(isbn, book);
+        long deadline = System.nanoTime() + offerTimeout.toNanos();
+        lock.lock();
+        try {
+            while (!pending.containsKey(isbn) && pending.size() >= capacity) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    rejected.increment();
+                    return false;
+                }
+                notFull.awaitNanos(remaining);
+            }
+            if (journal != null) {
+                journal.append(isbn, snapshot);
+            }
+            if (pending.put(isbn, snapshot) != null) {
+                coalesced.increment();
+            }
+            accepted.increment();
+            notEmpty.signal();
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            rejected.increment();
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * The latest accepted write to the ISBN that is not committed yet, so callers can read their own writes.
+     */
+    public Optional<BookEntity> find(String isbn) {
+        lock.lock();
+        try {
+            BookEntity book = pending.get(isbn);
+            if (book == null) {
+                book = inFlight.get(isbn);
+            }
+            return Optional.ofNullable(book).map(found -> copyOf(isbn, found));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int pendingCount() {
+        lock.lock();
+        try {
+            return pending.size() + inFlight.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Commits everything queued so far.
+     */
+    public void flush() {
+        flushLock.lock();
+        try {
+            Map<String, BookEntity> batch;
+            while (!(batch = take(null)).isEmpty()) {
+                if (!write(batch)) {
+                    return;
+                }
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Commits the queued writes to the given ISBNs. Synchronous writes call this first so that a queued write
+     * cannot be committed after, and overwrite, a later synchronous one.
+     */
+    public void flush(Collection<String> isbns) {
+        flushLock.lock();
+        try {
+            Map<String, BookEntity> batch = take(isbns);
+            if (!batch.isEmpty()) {
+                write(batch);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private Map<String, BookEntity> take(Collection<String> isbns) {
+        Map<String, BookEntity> batch = new LinkedHashMap<>();
+        lock.lock();
+        try {
+            if (isbns == null) {
+                Iterator<Map.Entry<String, BookEntity>> queued = pending.entrySet().iterator();
+                while (queued.hasNext() && batch.size() < batchSize) {
+                    Map.Entry<String, BookEntity> entry = queued.next();
+                    batch.put(entry.getKey(), entry.getValue());
+                    queued.remove();
+                }
+            } else {
+                for (String isbn : isbns) {
+                    BookEntity book = pending.remove(isbn);
+                    if (book != null) {
+                        batch.put(isbn, book);
+                    }
+                }
+            }
+            inFlight.putAll(batch);
+            if (!batch.isEmpty()) {
+                notFull.signalAll();
+            }
+            return batch;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Commits one batch. A batch that fails on a data error is retried one write at a time, so a single bad write
+     * is dropped without taking the rest with it. A batch that fails because the database is unavailable is put
+     * back on the queue and false is returned.
+     */
+    private boolean write(Map<String, BookEntity> batch) {
+        long start = System.nanoTime();
+        try {
+            bookService.createUpdateBooks(copiesOf(batch));
+            flushed.increment(batch.size());
+            complete(batch);
+            return true;
+        } catch (TransientDataAccessException | DataAccessResourceFailureException e) {
+            log.warn("Write-behind flush of {} books failed, retrying: {}", batch.size(), e.getMessage());
+            requeue(batch);
+            return false;
+        } catch (RuntimeException e) {
+            batch.forEach(this::writeOne);
+            complete(batch);
+            return true;
+        } finally {
+            flushTimer.record(Duration.ofNanos(System.nanoTime() - start));
+        }
+    }
+
+    private void writeOne(String isbn, BookEntity book) {
+        try {
+            bookService.createUpdateBooks(Map.of(isbn, copyOf(isbn, book)));
+            flushed.increment();
+        } catch (RuntimeException e) {
+            failed.increment();
+            log.error("Dropping write-behind write to book {}", isbn, e);
+        }
+    }
+
+    private void complete(Map<String, BookEntity> batch) {
+        lock.lock();
+        try {
+            inFlight.keySet().removeAll(batch.keySet());
+        } finally {
+            lock.unlock();
+        }
+        if (journal != null) {
+            journal.commit(batch);
+        }
+    }
+
+    private void requeue(Map<String, BookEntity> batch) {
+        lock.lock();
+        try {
+            inFlight.keySet().removeAll(batch.keySet());
+            batch.forEach(pending::putIfAbsent);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                awaitBatch();
+                flushLock.lock();
+                boolean committed;
+                try {
+                    Map<String, BookEntity> batch = take(null);
+                    committed = batch.isEmpty() || write(batch);
+                } finally {
+                    flushLock.unlock();
+                }
+                if (!committed) {
+                    Thread.sleep(flushInterval.toMillis());
+                } else if (journal != null) {
+                    journal.compactIfNeeded();
+                }
+            } catch (InterruptedException e) {
+                return;
+            } catch (RuntimeException e) {
+                log.error("Write-behind flusher failed", e);
+            }
+        }
+    }
+
+    // Waits for a first write, then up to the flush interval for a full batch, so bursts coalesce and batch.
+    private void awaitBatch() throws InterruptedException {
+        lock.lock();
+        try {
+            while (running && pending.isEmpty()) {
+                notEmpty.await();
+            }
+            long remaining = flushInterval.toNanos();
+            while (running && pending.size() < batchSize && remaining > 0) {
+                remaining = notEmpty.awaitNanos(remaining);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void start() {
+        if (journal != null) {
+            Map<String, BookEntity> uncommitted = journal.uncommitted();
+            lock.lock();
+            try {
+                pending.putAll(uncommitted);
+            } finally {
+                lock.unlock();
+            }
+            if (!uncommitted.isEmpty()) {
+                log.info("Replaying {} uncommitted write-behind writes from the journal", uncommitted.size());
+            }
+        }
+        running = true;
+        flusher = Thread.ofPlatform().name("book-write-behind").daemon().start(this::run);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread thread = flusher;
+        flusher = null;
+        if (thread != null) {
+            lock.lock();
+            try {
+                notEmpty.signalAll();
+            } finally {
+                lock.unlock();
+            }
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flush();
+        if (journal != null) {
+            try {
+                journal.close();
+            } catch (IOException e) {
+                log.warn("Cannot close write-behind journal", e);
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return flusher != null;
+    }
+
+    // Stops after the web server, so that no write is accepted once the final flush has started.
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private static Map<String, BookEntity> copiesOf(Map<String, BookEntity> books) {
+        Map<String, BookEntity> copies = new LinkedHashMap<>();
+        books.forEach((isbn, book) -> copies.put(isbn, copyOf(isbn, book)));
+        return copies;
+    }
+
+    // Queued books are never handed out or written directly, since the writer mutates what it persists.
+    private static BookEntity copyOf(String isbn, BookEntity book) {
+        AuthorEntity author = book.getAuthorEntity();
+        return BookEntity.builder()
+                .isbn(isbn)
+                .title(book.getTitle())
+                .authorEntity(author == null ? null : AuthorEntity.builder()
+                        .id(author.getId())
+                        .name(author.getName())
+                        .age(author.getAge())
+                        .build())
+                .build();
+    }
+}
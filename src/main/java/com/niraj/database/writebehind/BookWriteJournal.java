@@ -0,0 +1,248 @@
+package com.niraj.database.writebehind;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.niraj.database.domain.entities.AuthorEntity;
+import com.niraj.database.domain.entities.BookEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Append-only log of accepted book writes, one JSON object per line. Each write carries a sequence number, and a
+ * committed batch appends a marker naming the sequence numbers it committed, so replay skips a committed write
+ * instead of re-applying it over a newer one. Once most of the log is committed, {@link #compactIfNeeded()} rewrites
+ * it to hold only the pending writes.
+ */
+public class BookWriteJournal implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(BookWriteJournal.class);
+    private static final int MIN_RECORDS_TO_COMPACT = 1024;
+
+    private final Path path;
+    private final boolean fsync;
+    private final ObjectMapper objectMapper;
+    private FileChannel channel;
+
+    // The latest uncommitted write to each ISBN, which is what compaction keeps and replay returns.
+    private final LinkedHashMap<String, Pending> pending = new LinkedHashMap<>();
+    private long nextSequence = 1;
+    private long records;
+
+    public BookWriteJournal(Path path, boolean fsync, ObjectMapper objectMapper) {
+        this.path = path;
+        this.fsync = fsync;
+        this.objectMapper = objectMapper;
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            if (Files.exists(path)) {
+                replay();
+            }
+            this.channel = open(path);
+            endTornLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open write-behind journal " + path, e);
+        }
+    }
+
+    /**
+     * Logs a write. The given book is what a later {@link #commit(Map)} must pass to mark this write committed.
+     */
+    public synchronized void append(String isbn, BookEntity book) {
+        Entry entry = Entry.of(nextSequence++, isbn, book);
+        try {
+            write(channel, entry);
+            records++;
+            if (fsync) {
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot append to write-behind journal " + path, e);
+        }
+        pending.put(isbn, new Pending(entry, book));
+    }
+
+    /**
+     * Marks the given writes committed. A write that has since been replaced by a newer one to the same ISBN is left
+     * alone, since replay only ever applies the newest.
+     */
+    public synchronized void commit(Map<String, BookEntity> books) {
+        Map<String, Long> committed = new LinkedHashMap<>();
+        books.forEach((isbn, book) -> {
+            Pending write = pending.get(isbn);
+            if (write != null && write.book() == book) {
+                pending.remove(isbn);
+                committed.put(isbn, write.entry().sequence());
+            }
+        });
+        if (committed.isEmpty()) {
+            return;
+        }
+        try {
+            write(channel, new Commit(committed));
+            records++;
+            if (fsync) {
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot append to write-behind journal " + path, e);
+        }
+    }
+
+    /**
+     * The writes the log holds that are not committed, newest per ISBN. These are the books later commits refer to.
+     */
+    public synchronized Map<String, BookEntity> uncommitted() {
+        Map<String, BookEntity> books = new LinkedHashMap<>();
+        pending.forEach((isbn, write) -> books.put(isbn, write.book()));
+        return books;
+    }
+
+    /**
+     * Rewrites the log to hold only the pending writes, once committed records make up most of it. The pending writes
+     * are copied without holding the journal; only what was appended meanwhile is copied while appends wait.
+     */
+    public void compactIfNeeded() {
+        List<Entry> live;
+        long position;
+        long recordsAtSnapshot;
+        synchronized (this) {
+            if (records <= Math.max(MIN_RECORDS_TO_COMPACT, 2L * pending.size())) {
+                return;
+            }
+            live = pending.values().stream().map(Pending::entry).toList();
+            recordsAtSnapshot = records;
+            try {
+                position = channel.size();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot compact write-behind journal " + path, e);
+            }
+        }
+        Path compacted = path.resolveSibling(path.getFileName() + ".compact");
+        try (FileChannel out = FileChannel.open(compacted, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (Entry entry : live) {
+                write(out, entry);
+            }
+            synchronized (this) {
+                long tail = channel.size() - position;
+                while (tail > 0) {
+                    long copied = channel.transferTo(position, tail, out);
+                    position += copied;
+                    tail -= copied;
+                }
+                if (fsync) {
+                    out.force(false);
+                }
+                Files.move(compacted, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                channel.close();
+                channel = open(path);
+                records = live.size() + (records - recordsAtSnapshot);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot compact write-behind journal " + path, e);
+        }
+    }
+
+    // A torn last line, left by a crash mid-append, is skipped.
+    private void replay() throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                records++;
+                try {
+                    JsonNode record = objectMapper.readTree(line);
+                    if (record.has("committed")) {
+                        objectMapper.treeToValue(record, Commit.class).committed().forEach((isbn, sequence) -> {
+                            Pending write = pending.get(isbn);
+                            if (write != null && write.entry().sequence() == sequence) {
+                                pending.remove(isbn);
+                            }
+                        });
+                    } else {
+                        Entry entry = objectMapper.treeToValue(record, Entry.class);
+                        pending.put(entry.isbn(), new Pending(entry, entry.toBook()));
+                        nextSequence = Math.max(nextSequence, entry.sequence() + 1);
+                    }
+                } catch (IOException e) {
+                    log.warn("Skipping unreadable write-behind journal entry: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    // Ends a torn last line, so that the next record starts on a line of its own.
+    private void endTornLine() throws IOException {
+        long size = channel.size();
+        if (size == 0) {
+            return;
+        }
+        ByteBuffer last = ByteBuffer.allocate(1);
+        channel.read(last, size - 1);
+        if (last.get(0) != '\n') {
+            channel.write(ByteBuffer.wrap(new byte[]{'\n'}));
+        }
+    }
+
+    private void write(FileChannel out, Object record) throws IOException {
+        byte[] line = objectMapper.writeValueAsBytes(record);
+        ByteBuffer buffer = ByteBuffer.allocate(line.length + 1).put(line).put((byte) '\n').flip();
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+    }
+
+    // Read as well as write, to check for a torn last line; records are only ever written at the end.
+    private static FileChannel open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        return channel.position(channel.size());
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.close();
+    }
+
+    private record Pending(Entry entry, BookEntity book) {
+    }
+
+    private record Commit(Map<String, Long> committed) {
+    }
+
+    private record Entry(long sequence, String isbn, String title, Long authorId, String authorName, Integer authorAge) {
+
+        static Entry of(long sequence, String isbn, BookEntity book) {
+            AuthorEntity author = book.getAuthorEntity();
+            return author == null
+                    ? new Entry(sequence, isbn, book.getTitle(), null, null, null)
+                    : new Entry(sequence, isbn, book.getTitle(), author.getId(), author.getName(), author.getAge());
+        }
+
+        public BookEntity toBook() {
+            AuthorEntity author = authorId == null && authorName == null && authorAge == null
+                    ? null
+                    : AuthorEntity.builder().id(authorId).name(authorName).age(authorAge).build();
+            return BookEntity.builder().isbn(isbn).title(title).authorEntity(author).build();
+        }
+    }
+}
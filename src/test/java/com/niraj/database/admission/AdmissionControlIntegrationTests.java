@@ -0,0 +1,121 @@
+package com.niraj.database.admission;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "admission.enabled=true",
+        "admission.trust-client-header=true",
+        "admission.list.rate=0.1",
+        "admission.list.burst=2",
+        "admission.list.max-concurrent-per-client=1",
+        "admission.list.max-concurrent=2"
+})
+@ExtendWith(SpringExtension.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@AutoConfigureMockMvc
+public class AdmissionControlIntegrationTests {
+
+    private final MockMvc mockMvc;
+    private final AdmissionControlFilter admissionControlFilter;
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public AdmissionControlIntegrationTests(MockMvc mockMvc, AdmissionControlFilter admissionControlFilter,
+                                            MeterRegistry meterRegistry) {
+        this.mockMvc = mockMvc;
+        this.admissionControlFilter = admissionControlFilter;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Test
+    public void testThatAClientOverItsListRateGetsHttpStatus429WithRetryAfter() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(MockMvcRequestBuilders.get("/books").header("X-Client-Id", "greedy"))
+                    .andExpect(MockMvcResultMatchers.status().isOk());
+        }
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/books").header("X-Client-Id", "greedy"))
+                .andExpect(MockMvcResultMatchers.status().isTooManyRequests())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.RETRY_AFTER, "10"));
+        mockMvc.perform(MockMvcRequestBuilders.get("/books/978-1-2345-6789-0").header("X-Client-Id", "greedy"))
+                .andExpect(MockMvcResultMatchers.status().isNotFound());
+        mockMvc.perform(MockMvcRequestBuilders.get("/books").header("X-Client-Id", "polite"))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+
+        assertThat(meterRegistry.get(AdmissionControlFilter.REJECTIONS_METRIC)
+                .tags("endpoint", "list", "reason", "rate").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    public void testThatListsInFlightAreCappedPerClientAndOverall() throws Exception {
+        MockHttpServletResponse sameClient = new MockHttpServletResponse();
+        MockHttpServletResponse otherClient = new MockHttpServletResponse();
+        MockHttpServletResponse overCap = new MockHttpServletResponse();
+
+        // Each chain runs while the outer list request still holds its slot.
+        admissionControlFilter.doFilter(listRequest("a"), new MockHttpServletResponse(), (request, response) -> {
+            admissionControlFilter.doFilter(listRequest("a"), sameClient, (inner, innerResponse) -> {
+            });
+            admissionControlFilter.doFilter(listRequest("b"), otherClient, (inner, innerResponse) ->
+                    admissionControlFilter.doFilter(listRequest("c"), overCap, (last, lastResponse) -> {
+                    }));
+            assertThat(meterRegistry.get(AdmissionControlFilter.LISTS_IN_FLIGHT_METRIC).gauge().value())
+                    .isEqualTo(1.0);
+        });
+
+        assertThat(sameClient.getStatus()).isEqualTo(429);
+        assertThat(sameClient.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(otherClient.getStatus()).isEqualTo(200);
+        assertThat(overCap.getStatus()).isEqualTo(429);
+        assertThat(meterRegistry.get(AdmissionControlFilter.REJECTIONS_METRIC)
+                .tags("endpoint", "list", "reason", "concurrency").counter().count()).isEqualTo(2.0);
+        assertThat(meterRegistry.get(AdmissionControlFilter.LISTS_IN_FLIGHT_METRIC).gauge().value()).isZero();
+    }
+
+    @Test
+    public void testThatAnUntrustedClientHeaderDoesNotBuyAFreshBudget() throws Exception {
+        AdmissionControlFilter untrusted = new AdmissionControlFilter(null,
+                Map.of(EndpointClass.LIST, new RateLimit(0.1, 2)), 1, 2, new SimpleMeterRegistry());
+        MockHttpServletResponse response = null;
+        for (String client : List.of("a", "b", "c")) {
+            response = new MockHttpServletResponse();
+            untrusted.doFilter(listRequest(client), response, (request, chainResponse) -> {
+            });
+        }
+
+        assertThat(response.getStatus()).isEqualTo(429);
+    }
+
+    @Test
+    public void testThatActuatorIsNotAdmissionControlled() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            mockMvc.perform(MockMvcRequestBuilders.get("/actuator/health"))
+                    .andExpect(MockMvcResultMatchers.status().isOk());
+        }
+    }
+
+    private static MockHttpServletRequest listRequest(String client) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/books");
+        request.addHeader("X-Client-Id", client);
+        return request;
+    }
+}
@@ -0,0 +1,141 @@
+package com.niraj.database.coalescing;
+
+import com.niraj.database.TestDataUtil;
+import com.niraj.database.services.AuthorService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "coalescing.timeout=10s")
+@ExtendWith(SpringExtension.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class CoalescingIntegrationTests {
+
+    private final SlowReads slowReads;
+    private final AuthorService authorService;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public CoalescingIntegrationTests(SlowReads slowReads, AuthorService authorService,
+                                      TransactionTemplate transactionTemplate, MeterRegistry meterRegistry) {
+        this.slowReads = slowReads;
+        this.authorService = authorService;
+        this.transactionTemplate = transactionTemplate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @AfterEach
+    public void releaseReads() {
+        slowReads.release();
+    }
+
+    @Test
+    public void testThatConcurrentReadsShareOneTransaction() throws Exception {
+        List<CompletableFuture<Integer>> readers = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            readers.add(CompletableFuture.supplyAsync(() -> slowReads.read("978-1")));
+        }
+        awaitCalls(8);
+        slowReads.release();
+
+        for (CompletableFuture<Integer> reader : readers) {
+            assertThat(reader.get(10, TimeUnit.SECONDS)).isEqualTo(1);
+        }
+        assertThat(slowReads.transactions()).isEqualTo(1);
+    }
+
+    @Test
+    public void testThatReadsAfterACommittedWriteDoNotJoinEarlierReads() throws Exception {
+        CompletableFuture<Integer> before = CompletableFuture.supplyAsync(() -> slowReads.read("978-1"));
+        awaitCalls(1);
+        authorService.save(TestDataUtil.createTestAuthor());
+
+        CompletableFuture<Integer> after = CompletableFuture.supplyAsync(() -> slowReads.read("978-1"));
+        awaitCalls(2);
+        slowReads.release();
+
+        assertThat(before.get(10, TimeUnit.SECONDS)).isNotEqualTo(after.get(10, TimeUnit.SECONDS));
+        assertThat(slowReads.transactions()).isEqualTo(2);
+    }
+
+    @Test
+    public void testThatReadsInsideATransactionAreNotCoalesced() throws Exception {
+        CompletableFuture<Integer> outside = CompletableFuture.supplyAsync(() -> slowReads.read("978-1"));
+        awaitCalls(1);
+
+        CompletableFuture<Integer> inside = CompletableFuture.supplyAsync(() ->
+                transactionTemplate.execute(status -> slowReads.read("978-1")));
+        while (slowReads.transactions() < 2) {
+            Thread.onSpinWait();
+        }
+        slowReads.release();
+
+        assertThat(outside.get(10, TimeUnit.SECONDS)).isNotEqualTo(inside.get(10, TimeUnit.SECONDS));
+        assertThat(calls("SlowReads", "follower")).isZero();
+    }
+
+    private void awaitCalls(int calls) {
+        while (calls("SlowReads", "leader") + calls("SlowReads", "follower") < calls) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private double calls(String className, String role) {
+        return meterRegistry.find(SingleFlight.CALLS_METRIC).tags("class", className, "role", role)
+                .counters().stream().mapToDouble(counter -> counter.count()).sum();
+    }
+
+    public static class SlowReads {
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final AtomicInteger transactions = new AtomicInteger();
+
+        @Transactional(readOnly = true)
+        @Coalesced
+        public int read(String isbn) {
+            assertThat(TransactionSynchronizationManager.isActualTransactionActive()).isTrue();
+            int transaction = transactions.incrementAndGet();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return transaction;
+        }
+
+        public void release() {
+            release.countDown();
+        }
+
+        public int transactions() {
+            return transactions.get();
+        }
+    }
+
+    @TestConfiguration
+    static class SlowReadsConfig {
+        @Bean
+        SlowReads slowReads() {
+            return new SlowReads();
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.niraj.database.coalescing;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class SingleFlightTests {
+
+    private static final int FOLLOWERS = 7;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SingleFlight flight = new SingleFlight("Books", "findOne", Duration.ofSeconds(10), meterRegistry);
+    private final AtomicInteger executions = new AtomicInteger();
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @Test
+    public void testThatConcurrentCallsWithEqualKeysShareOneExecution() throws Exception {
+        CompletableFuture<String> leader = call(List.of("978-1"), () -> {
+            release.await();
+            return "book-" + executions.incrementAndGet();
+        });
+        awaitLeader();
+        List<CompletableFuture<String>> followers = new ArrayList<>();
+        for (int i = 0; i < FOLLOWERS; i++) {
+            followers.add(call(List.of("978-1"), () -> "book-" + executions.incrementAndGet()));
+        }
+        awaitFollowers(FOLLOWERS);
+        release.countDown();
+
+        assertThat(leader.get()).isEqualTo("book-1");
+        for (CompletableFuture<String> follower : followers) {
+            assertThat(follower.get()).isEqualTo("book-1");
+        }
+        assertThat(executions).hasValue(1);
+        assertThat(count("leader")).isEqualTo(1.0);
+        assertThat(count("follower")).isEqualTo(FOLLOWERS);
+    }
+
+    @Test
+    public void testThatCallsWithDifferentKeysRunSeparately() throws Throwable {
+        assertThat(flight.execute(List.of("978-1"), () -> "book-" + executions.incrementAndGet())).isEqualTo("book-1");
+        assertThat(flight.execute(List.of("978-2"), () -> "book-" + executions.incrementAndGet())).isEqualTo("book-2");
+        assertThat(flight.execute(List.of("978-1"), () -> "book-" + executions.incrementAndGet())).isEqualTo("book-3");
+        assertThat(count("follower")).isZero();
+    }
+
+    @Test
+    public void testThatFollowersReceiveTheLeadersException() throws Exception {
+        IllegalStateException failure = new IllegalStateException("database down");
+        CompletableFuture<String> leader = call(List.of("978-1"), () -> {
+            release.await();
+            throw failure;
+        });
+        awaitLeader();
+        CompletableFuture<String> follower = call(List.of("978-1"), () -> "unused");
+        awaitFollowers(1);
+        release.countDown();
+
+        assertThatThrownBy(leader::join).hasCause(failure);
+        assertThatThrownBy(follower::join).hasCause(failure);
+    }
+
+    @Test
+    public void testThatFollowersGiveUpAfterTheTimeout() throws Exception {
+        SingleFlight impatient = new SingleFlight("Books", "findPage", Duration.ofMillis(50), meterRegistry);
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> {
+            try {
+                return impatient.execute(List.of(1), () -> {
+                    release.await();
+                    return "page";
+                });
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        while (meterRegistry.get(SingleFlight.CALLS_METRIC).tags("method", "findPage", "role", "leader")
+                .counter().count() == 0) {
+            Thread.onSpinWait();
+        }
+
+        assertThatThrownBy(() -> impatient.execute(List.of(1), () -> "unused"))
+                .isInstanceOf(CoalescingTimeoutException.class);
+        assertThat(meterRegistry.get(SingleFlight.TIMEOUTS_METRIC).tags("method", "findPage").counter().count())
+                .isEqualTo(1.0);
+        release.countDown();
+        assertThat(leader.get()).isEqualTo("page");
+    }
+
+    @Test
+    public void testThatForgottenCallsAreNotJoined() throws Throwable {
+        CompletableFuture<String> leader = call(List.of("978-1"), () -> {
+            release.await();
+            return "before-" + executions.incrementAndGet();
+        });
+        awaitLeader();
+        flight.forgetInFlight();
+
+        assertThat(flight.execute(List.of("978-1"), () -> "after-" + executions.incrementAndGet()))
+                .isEqualTo("after-1");
+        release.countDown();
+        assertThat(leader.get()).isEqualTo("before-2");
+    }
+
+    private CompletableFuture<String> call(List<Object> key, SingleFlight.Call<String> call) {
+        CompletableFuture<String> result = new CompletableFuture<>();
+        Thread.ofPlatform().start(() -> {
+            try {
+                result.complete(flight.execute(key, call));
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        });
+        return result;
+    }
+
+    // Followers started before the leader is in flight could become leaders themselves.
+    private void awaitLeader() {
+        while (count("leader") < 1) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private void awaitFollowers(int followers) {
+        while (count("follower") < followers) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private double count(String role) {
+        return meterRegistry.get(SingleFlight.CALLS_METRIC).tags("method", "findOne", "role", role).counter().count();
+    }
+}
@@ -0,0 +1,70 @@
+package com.niraj.database.config;
+
+import com.niraj.database.TestDataUtil;
+import com.niraj.database.domain.entities.BookEntity;
+import com.niraj.database.services.BookService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ExtendWith(SpringExtension.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@ActiveProfiles("virtual-threads")
+public class VirtualThreadsIntegrationTests {
+
+    private final TestRestTemplate restTemplate;
+    private final BookService bookService;
+    private final VirtualThreadPinningMonitor pinningMonitor;
+
+    @Autowired
+    public VirtualThreadsIntegrationTests(TestRestTemplate restTemplate, BookService bookService,
+                                          VirtualThreadPinningMonitor pinningMonitor) {
+        this.restTemplate = restTemplate;
+        this.bookService = bookService;
+        this.pinningMonitor = pinningMonitor;
+    }
+
+    @Test
+    public void testThatBooksAreServedWithVirtualThreadsEnabled() {
+        BookEntity testBook = TestDataUtil.createTestBook(TestDataUtil.createTestAuthor());
+        bookService.createUpdateBook(testBook.getIsbn(), testBook);
+
+        ResponseEntity<String> response = restTemplate.getForEntity("/books/" + testBook.getIsbn(), String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).contains("JK Rowling");
+    }
+
+    @Test
+    public void testThatPinnedVirtualThreadsAreDetected() throws Exception {
+        Object monitor = new Object();
+        Thread pinned = Thread.ofVirtual().start(() -> {
+            synchronized (monitor) {
+                try {
+                    Thread.sleep(100);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        pinned.join();
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (pinningMonitor.getPinnedCount() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(pinningMonitor.getPinnedCount()).isPositive();
+    }
+}
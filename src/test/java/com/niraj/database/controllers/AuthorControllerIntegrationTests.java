@@ -5,19 +5,27 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.niraj.database.TestDataUtil;
 import com.niraj.database.domain.dto.AuthorDto;
 import com.niraj.database.domain.entities.AuthorEntity;
+import com.niraj.database.domain.entities.BookEntity;
 import com.niraj.database.services.AuthorService;
+import com.niraj.database.services.BookService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
+import java.net.URI;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
 @SpringBootTest
 @ExtendWith(SpringExtension.class)
 @DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
@@ -25,15 +33,18 @@ import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 public class AuthorControllerIntegrationTests {
     private AuthorService authorService;
 
+    private BookService bookService;
+
     private MockMvc mockMvc;
 
     private ObjectMapper objectMapper;
 
     @Autowired
-    public AuthorControllerIntegrationTests(MockMvc mockMvc, AuthorService authorService) {
+    public AuthorControllerIntegrationTests(MockMvc mockMvc, AuthorService authorService, BookService bookService) {
         this.mockMvc = mockMvc;
         this.objectMapper = new ObjectMapper();
         this.authorService = authorService;
+        this.bookService = bookService;
     }
 
     @Test
@@ -93,6 +104,141 @@ public class AuthorControllerIntegrationTests {
         );
     }
 
+    @Test
+    public void testThatListAuthorsFiltersSortsAndProjects() throws Exception {
+        authorService.save(TestDataUtil.createTestAuthor());
+        authorService.save(TestDataUtil.createTestAuthorA());
+        authorService.save(TestDataUtil.createTestAuthorB());
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/authors?minAge=40&maxAge=70&sort=-age&fields=name")
+        ).andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].name").value("JK Rowling"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].name").value("Steve Jobs"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].id").doesNotExist())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].age").doesNotExist());
+        mockMvc.perform(MockMvcRequestBuilders.get("/authors?name=Jo&fields=id,age"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].age").value(38));
+    }
+
+    @Test
+    public void testThatListAuthorsPaginatesByOffset() throws Exception {
+        authorService.save(TestDataUtil.createTestAuthor());
+        authorService.save(TestDataUtil.createTestAuthorA());
+        authorService.save(TestDataUtil.createTestAuthorB());
+
+        MvcResult firstPage = mockMvc.perform(MockMvcRequestBuilders.get("/authors?sort=name&limit=2"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].name").value("JK Rowling"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].name").value("Jon Jones"))
+                .andExpect(MockMvcResultMatchers.header().exists(HttpHeaders.LINK))
+                .andReturn();
+        String link = firstPage.getResponse().getHeader(HttpHeaders.LINK);
+        URI next = URI.create(link.substring(link.indexOf('<') + 1, link.indexOf('>')));
+        assertThat(next.getQuery()).contains("offset=2");
+
+        mockMvc.perform(MockMvcRequestBuilders.get(next))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].name").value("Steve Jobs"))
+                .andExpect(MockMvcResultMatchers.header().doesNotExist(HttpHeaders.LINK));
+        mockMvc.perform(MockMvcRequestBuilders.get("/authors?offset=-1"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
+    @Test
+    public void testThatListAuthorsReturnsHttpStatus400ForUnknownFieldOrSortKey() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/authors?fields=id,email"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+        mockMvc.perform(MockMvcRequestBuilders.get("/authors?sort=-version"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+        mockMvc.perform(MockMvcRequestBuilders.get("/authors?minAge=50&maxAge=40"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
+    @Test
+    public void testThatListAuthorBooksPaginatesTheAuthorsBooks() throws Exception {
+        AuthorEntity savedAuthor = authorService.save(TestDataUtil.createTestAuthor());
+        AuthorEntity otherAuthor = authorService.save(TestDataUtil.createTestAuthorA());
+        for (int i = 0; i < 3; i++) {
+            BookEntity book = BookEntity.builder().isbn("100-0-" + i).title("Book " + i).authorEntity(savedAuthor).build();
+            bookService.createUpdateBook(book.getIsbn(), book);
+        }
+        BookEntity otherBook = BookEntity.builder().isbn("000-0-0").title("Other").authorEntity(otherAuthor).build();
+        bookService.createUpdateBook(otherBook.getIsbn(), otherBook);
+
+        MvcResult firstPage = mockMvc.perform(
+                MockMvcRequestBuilders.get("/authors/" + savedAuthor.getId() + "/books?limit=2")
+        ).andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].isbn").value("100-0-0"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].author.name").value("JK Rowling"))
+                .andReturn();
+        String link = firstPage.getResponse().getHeader(HttpHeaders.LINK);
+        URI next = URI.create(link.substring(link.indexOf('<') + 1, link.indexOf('>')));
+
+        mockMvc.perform(MockMvcRequestBuilders.get(next))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].isbn").value("100-0-2"))
+                .andExpect(MockMvcResultMatchers.header().doesNotExist(HttpHeaders.LINK));
+        mockMvc.perform(MockMvcRequestBuilders.get("/authors/99/books"))
+                .andExpect(MockMvcResultMatchers.status().isNotFound());
+    }
+
+    @Test
+    public void testThatListAuthorsIncludesBooksAndTracksTheirChanges() throws Exception {
+        AuthorEntity savedAuthor = authorService.save(TestDataUtil.createTestAuthor());
+        BookEntity book = TestDataUtil.createTestBook(savedAuthor);
+        bookService.createUpdateBook(book.getIsbn(), book);
+
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get("/authors?include=books&fields=name"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].name").value("JK Rowling"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].id").doesNotExist())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].books[0].isbn").value(book.getIsbn()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].books[0].title").value("Harry Potter"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].booksTruncated").value(false))
+                .andReturn();
+        String etag = result.getResponse().getHeader(HttpHeaders.ETAG);
+
+        bookService.update(book.getIsbn(), BookEntity.builder().title("UPDATED").build(), current -> true);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/authors?include=books&fields=name")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].books[0].title").value("UPDATED"));
+        mockMvc.perform(MockMvcRequestBuilders.get("/authors?include=reviews"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
+    @Test
+    public void testThatSearchAuthorsReflectsUpdatedNames() throws Exception {
+        AuthorEntity savedAuthor = authorService.save(TestDataUtil.createTestAuthor());
+        authorService.update(savedAuthor.getId(), AuthorEntity.builder().name("Joanne Rowling").build(), current -> true);
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/authors/search?q=joan")
+                        .contentType(MediaType.APPLICATION_JSON)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$[0].name").value("Joanne Rowling")
+        );
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/authors/search?q=jk")
+                        .contentType(MediaType.APPLICATION_JSON)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.length()").value(0)
+        );
+    }
+
+    @Test
+    public void testThatSearchAuthorsReturnsHttpStatus400ForBlankQuery() throws Exception {
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/authors/search?q= ")
+                        .contentType(MediaType.APPLICATION_JSON)
+        ).andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
     @Test
     public void testThatLGetAuthorReturnsHttpStatus200WhenAuthorExists() throws Exception {
         AuthorEntity testAuthor = TestDataUtil.createTestAuthor();
@@ -132,6 +278,41 @@ public class AuthorControllerIntegrationTests {
         );
     }
 
+    @Test
+    public void testThatGetAuthorReturnsHttpStatus304WhenETagMatches() throws Exception {
+        AuthorEntity savedAuthor = authorService.save(TestDataUtil.createTestAuthor());
+
+        String etag = mockMvc.perform(MockMvcRequestBuilders.get("/authors/" + savedAuthor.getId()))
+                .andExpect(MockMvcResultMatchers.header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/authors/" + savedAuthor.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(MockMvcResultMatchers.status().isNotModified());
+        mockMvc.perform(MockMvcRequestBuilders.get("/authors").header(HttpHeaders.IF_NONE_MATCH,
+                        mockMvc.perform(MockMvcRequestBuilders.get("/authors"))
+                                .andReturn().getResponse().getHeader(HttpHeaders.ETAG)))
+                .andExpect(MockMvcResultMatchers.status().isNotModified());
+    }
+
+    @Test
+    public void testThatFullUpdateAuthorWithStaleIfMatchReturnsHttpStatus412() throws Exception {
+        AuthorEntity savedAuthor = authorService.save(TestDataUtil.createTestAuthor());
+        String etag = mockMvc.perform(MockMvcRequestBuilders.get("/authors/" + savedAuthor.getId()))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        authorService.update(savedAuthor.getId(), AuthorEntity.builder().age(68).build(), current -> true);
+
+        String authorJson = objectMapper.writeValueAsString(TestDataUtil.createTestAuthorA());
+        mockMvc.perform(
+                MockMvcRequestBuilders.put("/authors/" + savedAuthor.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.IF_MATCH, etag)
+                        .content(authorJson)
+        ).andExpect(MockMvcResultMatchers.status().isPreconditionFailed());
+        mockMvc.perform(MockMvcRequestBuilders.get("/authors/" + savedAuthor.getId()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.age").value(68));
+    }
+
     @Test
     public void testThatFullUpdateAuthorReturnsHttpStatus404WhenAuthorDoesNotExists() throws Exception {
         AuthorDto testAuthorDto = TestDataUtil.createTestAuthorDto();
@@ -217,6 +398,18 @@ public class AuthorControllerIntegrationTests {
         );
     }
 
+    @Test
+    public void testThatPartialUpdateAuthorReturnsHttpStatus404WhenAuthorDoesNotExist() throws Exception{
+        AuthorDto testAuthorDto = TestDataUtil.createTestAuthorDto();
+        String authorDtoJson = objectMapper.writeValueAsString(testAuthorDto);
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.patch("/authors/99")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(authorDtoJson)
+        ).andExpect(MockMvcResultMatchers.status().isNotFound());
+    }
+
     @Test
     public void testThatDeleteAuthorReturnsHttpStatus204ForNonExistingAuthor() throws Exception{
         mockMvc.perform(
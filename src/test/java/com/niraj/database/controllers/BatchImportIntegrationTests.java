@@ -0,0 +1,183 @@
+package com.niraj.database.controllers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.niraj.database.TestDataUtil;
+import com.niraj.database.domain.dto.AuthorDto;
+import com.niraj.database.domain.dto.BookDto;
+import com.niraj.database.domain.entities.AuthorEntity;
+import com.niraj.database.domain.entities.BookEntity;
+import com.niraj.database.repositories.AuthorRepository;
+import com.niraj.database.services.AuthorService;
+import com.niraj.database.services.BookService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "batch.chunk-size=2")
+@ExtendWith(SpringExtension.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@AutoConfigureMockMvc
+public class BatchImportIntegrationTests {
+
+    private final MockMvc mockMvc;
+    private final ObjectMapper objectMapper;
+    private final BookService bookService;
+    private final AuthorService authorService;
+    private final AuthorRepository authorRepository;
+
+    @Autowired
+    public BatchImportIntegrationTests(MockMvc mockMvc, BookService bookService, AuthorService authorService,
+                                       AuthorRepository authorRepository) {
+        this.mockMvc = mockMvc;
+        this.objectMapper = new ObjectMapper();
+        this.bookService = bookService;
+        this.authorService = authorService;
+        this.authorRepository = authorRepository;
+    }
+
+    @Test
+    public void testThatBookBatchCreatesBooksAndDeduplicatesSharedAuthors() throws Exception {
+        AuthorDto sharedAuthor = AuthorDto.builder().name("Terry Pratchett").age(66).build();
+        List<BookDto> books = List.of(
+                BookDto.builder().isbn("100-0-0000-0000-1").title("Guards! Guards!").author(sharedAuthor).build(),
+                BookDto.builder().isbn("100-0-0000-0000-2").title("Mort").author(sharedAuthor).build(),
+                BookDto.builder().isbn("100-0-0000-0000-3").title("Small Gods").author(sharedAuthor).build());
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.post("/books:batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(books))
+        ).andExpect(
+                MockMvcResultMatchers.status().isOk()
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.created").value(3)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.failed").value(0)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.items[2].key").value("100-0-0000-0000-3")
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.items[2].status").value("CREATED")
+        );
+
+        assertThat(authorRepository.count()).isEqualTo(1);
+        assertThat(bookService.findAll())
+                .hasSize(3)
+                .allSatisfy(book -> assertThat(book.getAuthorEntity().getName()).isEqualTo("Terry Pratchett"));
+    }
+
+    @Test
+    public void testThatBookBatchAcceptsNdjsonAndReportsPerItemOutcomes() throws Exception {
+        AuthorEntity savedAuthor = authorService.save(TestDataUtil.createTestAuthor());
+        BookEntity existingBook = TestDataUtil.createTestBook(savedAuthor);
+        bookService.createUpdateBook(existingBook.getIsbn(), existingBook);
+
+        String ndjson = String.join("\n",
+                objectMapper.writeValueAsString(BookDto.builder().isbn(existingBook.getIsbn()).title("UPDATED")
+                        .author(AuthorDto.builder().id(savedAuthor.getId()).build()).build()),
+                objectMapper.writeValueAsString(BookDto.builder().isbn("100-0-0000-0000-4").title("New")
+                        .author(AuthorDto.builder().id(99L).build()).build()),
+                objectMapper.writeValueAsString(BookDto.builder().title("No isbn").build()));
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.post("/books:batch")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(ndjson)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.updated").value(1)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.failed").value(2)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.items[0].status").value("UPDATED")
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.items[1].error").value("Author 99 does not exist")
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.items[2].error").value("isbn is required")
+        );
+
+        assertThat(bookService.findOne(existingBook.getIsbn()))
+                .hasValueSatisfying(book -> {
+                    assertThat(book.getTitle()).isEqualTo("UPDATED");
+                    assertThat(book.getAuthorEntity().getName()).isEqualTo("JK Rowling");
+                });
+    }
+
+    @Test
+    public void testThatAuthorBatchCreatesUpdatesAndDeduplicates() throws Exception {
+        AuthorEntity savedAuthor = authorService.save(TestDataUtil.createTestAuthor());
+        List<AuthorDto> authors = List.of(
+                AuthorDto.builder().id(savedAuthor.getId()).name("UPDATED").age(68).build(),
+                AuthorDto.builder().name("Ursula K. Le Guin").age(88).build(),
+                AuthorDto.builder().name("Ursula K. Le Guin").age(88).build(),
+                AuthorDto.builder().id(99L).name("Missing").age(1).build());
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.post("/authors:batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(authors))
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.created").value(1)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.updated").value(1)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.deduplicated").value(1)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.failed").value(1)
+        );
+
+        assertThat(authorRepository.count()).isEqualTo(2);
+        assertThat(authorService.findOne(savedAuthor.getId()))
+                .hasValueSatisfying(author -> assertThat(author.getName()).isEqualTo("UPDATED"));
+    }
+
+    @Test
+    public void testThatMalformedBatchReportsFailureAfterImportingPrecedingItems() throws Exception {
+        String ndjson = objectMapper.writeValueAsString(AuthorDto.builder().name("Valid").age(40).build())
+                + "\n{\"name\": ";
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.post("/authors:batch")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(ndjson)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.created").value(1)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.failed").value(1)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.items[1].error").value("Malformed input")
+        );
+    }
+
+    @Test
+    public void testThatRolledBackChunkReportsAStableErrorPerItem() throws Exception {
+        List<BookDto> books = List.of(
+                BookDto.builder().isbn("100-0-0000-0000-1").title("Mort").build(),
+                BookDto.builder().isbn("100-0-0000-0000-2").title("T".repeat(1000)).build(),
+                BookDto.builder().isbn("100-0-0000-0000-3").title("Small Gods").build());
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.post("/books:batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(books))
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.created").value(1)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.failed").value(2)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.items[0].error").value("Chunk rolled back")
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.items[1].error").value("Chunk rolled back")
+        );
+    }
+}
@@ -2,22 +2,33 @@ package com.niraj.database.controllers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.niraj.database.TestDataUtil;
+import com.niraj.database.domain.dto.AuthorDto;
 import com.niraj.database.domain.dto.BookDto;
+import com.niraj.database.domain.dto.BookRefDto;
+import com.niraj.database.domain.dto.NormalizedBooksDto;
 import com.niraj.database.domain.entities.AuthorEntity;
 import com.niraj.database.domain.entities.BookEntity;
+import com.niraj.database.services.AuthorService;
 import com.niraj.database.services.BookService;
+import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
+import java.net.URI;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
 @SpringBootTest
 @ExtendWith(SpringExtension.class)
 @DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
@@ -27,12 +38,14 @@ public class BookControllerIntegrationTests {
     private MockMvc mockMvc;
     private ObjectMapper objectMapper;
     private BookService bookService;
+    private AuthorService authorService;
 
     @Autowired
-    public BookControllerIntegrationTests(MockMvc mockMvc, BookService bookService) {
+    public BookControllerIntegrationTests(MockMvc mockMvc, BookService bookService, AuthorService authorService) {
         this.mockMvc = mockMvc;
         this.objectMapper = new ObjectMapper();
         this.bookService = bookService;
+        this.authorService = authorService;
     }
 
     @Test
@@ -129,6 +142,108 @@ public class BookControllerIntegrationTests {
         );
     }
 
+    @Test
+    public void testThatListBooksPaginatesWithContinuationCursor() throws Exception {
+        BookEntity testBook = TestDataUtil.createTestBook(null);
+        bookService.createUpdateBook(testBook.getIsbn(), testBook);
+        BookEntity testBookA = TestDataUtil.createTestBookA(null);
+        bookService.createUpdateBook(testBookA.getIsbn(), testBookA);
+        BookEntity testBookB = TestDataUtil.createTestBookB(null);
+        bookService.createUpdateBook(testBookB.getIsbn(), testBookB);
+
+        MvcResult firstPage = mockMvc.perform(
+                MockMvcRequestBuilders.get("/books?limit=2")
+                        .contentType(MediaType.APPLICATION_JSON)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.length()").value(2)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$[0].isbn").value(testBookB.getIsbn())
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$[1].isbn").value(testBookA.getIsbn())
+        ).andExpect(
+                MockMvcResultMatchers.header().string(HttpHeaders.LINK, Matchers.containsString("rel=\"next\""))
+        ).andReturn();
+
+        String link = firstPage.getResponse().getHeader(HttpHeaders.LINK);
+        String nextUri = link.substring(link.indexOf('<') + 1, link.indexOf('>'));
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get(URI.create(nextUri))
+                        .contentType(MediaType.APPLICATION_JSON)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.length()").value(1)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$[0].isbn").value(testBook.getIsbn())
+        ).andExpect(
+                MockMvcResultMatchers.header().doesNotExist(HttpHeaders.LINK)
+        );
+    }
+
+    @Test
+    public void testThatListBooksReturnsHttpStatus400ForInvalidCursor() throws Exception {
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/books?cursor=not-a-cursor")
+                        .contentType(MediaType.APPLICATION_JSON)
+        ).andExpect(
+                MockMvcResultMatchers.status().isBadRequest()
+        );
+    }
+
+    @Test
+    public void testThatStreamBooksReturnsNdjson() throws Exception {
+        BookEntity testBook = TestDataUtil.createTestBook(null);
+        bookService.createUpdateBook(testBook.getIsbn(), testBook);
+        BookEntity testBookA = TestDataUtil.createTestBookA(null);
+        bookService.createUpdateBook(testBookA.getIsbn(), testBookA);
+
+        MvcResult result = mockMvc.perform(
+                MockMvcRequestBuilders.get("/books")
+                        .accept(MediaType.APPLICATION_NDJSON)
+        ).andExpect(MockMvcResultMatchers.request().asyncStarted()).andReturn();
+
+        String body = mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(result))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readValue(lines[0], BookDto.class).getIsbn()).isEqualTo(testBookA.getIsbn());
+        assertThat(objectMapper.readValue(lines[1], BookDto.class).getIsbn()).isEqualTo(testBook.getIsbn());
+    }
+
+    @Test
+    public void testThatSearchBooksReturnsMatchingBooksByTitlePrefix() throws Exception {
+        BookEntity testBook = TestDataUtil.createTestBook(null);
+        bookService.createUpdateBook(testBook.getIsbn(), testBook);
+        BookEntity otherBook = TestDataUtil.createTestBookA(null);
+        otherBook.setTitle("The Hobbit");
+        bookService.createUpdateBook(otherBook.getIsbn(), otherBook);
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/books/search?q=harry pot")
+                        .contentType(MediaType.APPLICATION_JSON)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.length()").value(1)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$[0].isbn").value(testBook.getIsbn())
+        );
+    }
+
+    @Test
+    public void testThatSearchBooksDropsDeletedBooks() throws Exception {
+        BookEntity testBook = TestDataUtil.createTestBook(null);
+        bookService.createUpdateBook(testBook.getIsbn(), testBook);
+        bookService.delete(testBook.getIsbn());
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/books/search?q=harry")
+                        .contentType(MediaType.APPLICATION_JSON)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.length()").value(0)
+        );
+    }
+
     @Test
     public void testThatGetBookReturnsHttpStatus200OkWhenBookExists() throws Exception {
         BookEntity testBook = TestDataUtil.createTestBook(null);
@@ -154,6 +269,136 @@ public class BookControllerIntegrationTests {
         );
     }
 
+    @Test
+    public void testThatGetBookReturnsHttpStatus304WhenETagMatches() throws Exception {
+        AuthorEntity testAuthor = TestDataUtil.createTestAuthor();
+        BookEntity testBook = TestDataUtil.createTestBook(testAuthor);
+        bookService.createUpdateBook(testBook.getIsbn(), testBook);
+
+        MvcResult first = mockMvc.perform(MockMvcRequestBuilders.get("/books/" + testBook.getIsbn()))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().exists(HttpHeaders.ETAG))
+                .andExpect(MockMvcResultMatchers.header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn();
+        String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+        String lastModified = first.getResponse().getHeader(HttpHeaders.LAST_MODIFIED);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/books/" + testBook.getIsbn())
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(MockMvcResultMatchers.status().isNotModified())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, etag))
+                .andExpect(MockMvcResultMatchers.content().string(""));
+        mockMvc.perform(MockMvcRequestBuilders.get("/books/" + testBook.getIsbn())
+                        .header(HttpHeaders.IF_MODIFIED_SINCE, lastModified))
+                .andExpect(MockMvcResultMatchers.status().isNotModified());
+    }
+
+    @Test
+    public void testThatBookETagChangesWhenItsAuthorChanges() throws Exception {
+        AuthorEntity testAuthor = TestDataUtil.createTestAuthor();
+        BookEntity testBook = TestDataUtil.createTestBook(testAuthor);
+        BookEntity savedBook = bookService.createUpdateBook(testBook.getIsbn(), testBook);
+
+        String etag = mockMvc.perform(MockMvcRequestBuilders.get("/books/" + testBook.getIsbn()))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        authorService.update(savedBook.getAuthorEntity().getId(), AuthorEntity.builder().age(68).build(),
+                current -> true);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/books/" + testBook.getIsbn())
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.author.age").value(68));
+    }
+
+    @Test
+    public void testThatListBooksReturnsHttpStatus304UntilABookChanges() throws Exception {
+        BookEntity testBook = TestDataUtil.createTestBook(null);
+        bookService.createUpdateBook(testBook.getIsbn(), testBook);
+
+        String etag = mockMvc.perform(MockMvcRequestBuilders.get("/books"))
+                .andExpect(MockMvcResultMatchers.header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(MockMvcRequestBuilders.get("/books").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(MockMvcResultMatchers.status().isNotModified());
+
+        bookService.update(testBook.getIsbn(), BookEntity.builder().title("UPDATED").build(), current -> true);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/books").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].title").value("UPDATED"));
+    }
+
+    @Test
+    public void testThatListBooksWithNormalizedAuthorsListsEachAuthorOnce() throws Exception {
+        AuthorEntity jonJones = authorService.save(TestDataUtil.createTestAuthorA());
+        AuthorEntity steveJobs = authorService.save(TestDataUtil.createTestAuthorB());
+        bookService.createUpdateBook("978-1-2345-6789-0", TestDataUtil.createTestBook(jonJones));
+        bookService.createUpdateBook("978-1-2345-6789-1", TestDataUtil.createTestBook(jonJones));
+        bookService.createUpdateBook("978-1-2345-6789-2", TestDataUtil.createTestBook(steveJobs));
+        bookService.createUpdateBook("978-1-2345-6789-3", TestDataUtil.createTestBook(null));
+
+        String json = mockMvc.perform(MockMvcRequestBuilders.get("/books").param("authors", "normalized"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.books[0].author").doesNotExist())
+                .andReturn().getResponse().getContentAsString();
+        NormalizedBooksDto page = objectMapper.readValue(json, NormalizedBooksDto.class);
+
+        assertThat(page.getAuthors()).extracting(AuthorDto::getName).containsExactly("Jon Jones", "Steve Jobs");
+        assertThat(page.getBooks()).extracting(BookRefDto::getAuthorId)
+                .containsExactly(jonJones.getId(), jonJones.getId(), steveJobs.getId(), null);
+    }
+
+    @Test
+    public void testThatListBooksWithUnknownAuthorsShapeReturnsHttpStatus400() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/books").param("authors", "embedded"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
+    @Test
+    public void testThatUpdateBookWithStaleIfMatchReturnsHttpStatus412() throws Exception {
+        BookEntity testBook = TestDataUtil.createTestBook(null);
+        bookService.createUpdateBook(testBook.getIsbn(), testBook);
+        String etag = mockMvc.perform(MockMvcRequestBuilders.get("/books/" + testBook.getIsbn()))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        String firstEdit = objectMapper.writeValueAsString(BookDto.builder().title("First edit").build());
+        String newEtag = mockMvc.perform(
+                MockMvcRequestBuilders.patch("/books/" + testBook.getIsbn())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.IF_MATCH, etag)
+                        .content(firstEdit)
+        ).andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(newEtag).isNotEqualTo(etag);
+
+        String secondEdit = objectMapper.writeValueAsString(BookDto.builder().title("Second edit").build());
+        mockMvc.perform(
+                MockMvcRequestBuilders.patch("/books/" + testBook.getIsbn())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.IF_MATCH, etag)
+                        .content(secondEdit)
+        ).andExpect(MockMvcResultMatchers.status().isPreconditionFailed());
+        mockMvc.perform(
+                MockMvcRequestBuilders.put("/books/" + testBook.getIsbn())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.IF_MATCH, newEtag)
+                        .content(secondEdit)
+        ).andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.title").value("Second edit"));
+    }
+
+    @Test
+    public void testThatCreateBookWithIfMatchReturnsHttpStatus412() throws Exception {
+        BookDto bookDto = TestDataUtil.createTestBookDto(null);
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.put("/books/" + bookDto.getIsbn())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.IF_MATCH, "*")
+                        .content(objectMapper.writeValueAsString(bookDto))
+        ).andExpect(MockMvcResultMatchers.status().isPreconditionFailed());
+    }
+
     @Test
     public void testThatPartialUpdateReturnsHttpStatus200Ok() throws Exception {
         BookEntity testBook = TestDataUtil.createTestBook(null);
@@ -192,6 +437,21 @@ public class BookControllerIntegrationTests {
         );
     }
 
+    @Test
+    public void testThatPartialUpdateReturnsHttpStatus404WhenBookDoesNotExist() throws Exception {
+        BookDto bookDto = TestDataUtil.createTestBookDto(null);
+        bookDto.setTitle("UPDATED");
+        String bookJson = objectMapper.writeValueAsString(bookDto);
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.patch("/books/" + bookDto.getIsbn())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(bookJson)
+        ).andExpect(
+                MockMvcResultMatchers.status().isNotFound()
+        );
+    }
+
     @Test
     public void testThatDeleteBookReturnsHttpStatus204ForNonExistingBook() throws Exception{
         mockMvc.perform(
@@ -0,0 +1,163 @@
+package com.niraj.database.controllers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.niraj.database.TestDataUtil;
+import com.niraj.database.config.SerializationConfig;
+import com.niraj.database.domain.dto.BookDto;
+import com.niraj.database.domain.entities.BookEntity;
+import com.niraj.database.services.BookService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ExtendWith(SpringExtension.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class ContentNegotiationIntegrationTests {
+
+    private static final int BOOK_COUNT = 50;
+
+    private final BookService bookService;
+    private final ObjectMapper objectMapper;
+    private final int port;
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @Autowired
+    public ContentNegotiationIntegrationTests(BookService bookService, ObjectMapper objectMapper,
+                                              @LocalServerPort int port) {
+        this.bookService = bookService;
+        this.objectMapper = objectMapper;
+        this.port = port;
+    }
+
+    @BeforeEach
+    public void createBooks() {
+        for (int i = 0; i < BOOK_COUNT; i++) {
+            BookEntity book = TestDataUtil.createTestBook(TestDataUtil.createTestAuthor());
+            book.setIsbn(String.format("978-0-%09d", i));
+            book.setTitle("Book title number " + i);
+            bookService.createUpdateBook(book.getIsbn(), book);
+        }
+    }
+
+    @Test
+    public void testThatLargeListsAreGzippedWhenTheClientAcceptsIt() throws Exception {
+        HttpResponse<byte[]> plain = get("/books", "application/json", null);
+        HttpResponse<byte[]> gzipped = get("/books", "application/json", "gzip");
+
+        assertThat(plain.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).isEmpty();
+        assertThat(gzipped.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).hasValue("gzip");
+        assertThat(gzipped.headers().firstValue(HttpHeaders.VARY).orElseThrow().split(","))
+                .containsExactlyInAnyOrder("accept", "accept-encoding");
+        assertThat(gzipped.body().length).isLessThan(plain.body().length / 4);
+        assertThat(objectMapper.readValue(gunzip(gzipped.body()), BookDto[].class)).hasSize(BOOK_COUNT);
+    }
+
+    @Test
+    public void testThatCompressedListsStayConditional() throws Exception {
+        HttpResponse<byte[]> gzipped = get("/books", "application/json", "gzip");
+        String etag = gzipped.headers().firstValue(HttpHeaders.ETAG).orElseThrow();
+        assertThat(etag).startsWith("W/");
+
+        HttpRequest revalidate = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/books"))
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .build();
+        assertThat(httpClient.send(revalidate, HttpResponse.BodyHandlers.discarding()).statusCode()).isEqualTo(304);
+    }
+
+    @Test
+    public void testThatSmallResponsesAreNotCompressed() throws Exception {
+        HttpResponse<byte[]> response = get("/books/978-0-000000000", "application/json", "gzip");
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).isEmpty();
+    }
+
+    @Test
+    public void testThatListsAreServedAsSmile() throws Exception {
+        HttpResponse<byte[]> json = get("/books", "application/json", null);
+        HttpResponse<byte[]> smile = get("/books", "application/x-jackson-smile", null);
+
+        assertThat(smile.headers().firstValue(HttpHeaders.CONTENT_TYPE)).hasValue("application/x-jackson-smile");
+        assertThat(smile.body().length).isLessThan(json.body().length);
+        BookDto[] books = new ObjectMapper(SerializationConfig.smileFactory()).readValue(smile.body(), BookDto[].class);
+        assertThat(books).hasSize(BOOK_COUNT);
+        assertThat(books[BOOK_COUNT - 1].getAuthor().getName()).isEqualTo("JK Rowling");
+    }
+
+    @Test
+    public void testThatListsAreServedAsCbor() throws Exception {
+        HttpResponse<byte[]> json = get("/books", "application/json", null);
+        HttpResponse<byte[]> cbor = get("/books", "application/cbor", null);
+
+        assertThat(cbor.headers().firstValue(HttpHeaders.CONTENT_TYPE)).hasValue("application/cbor");
+        assertThat(cbor.body().length).isLessThan(json.body().length);
+        BookDto[] books = new ObjectMapper(SerializationConfig.cborFactory()).readValue(cbor.body(), BookDto[].class);
+        assertThat(books).hasSize(BOOK_COUNT);
+        assertThat(books[BOOK_COUNT - 1].getAuthor().getName()).isEqualTo("JK Rowling");
+    }
+
+    @Test
+    public void testThatEachRepresentationOfABookHasItsOwnTag() throws Exception {
+        HttpResponse<byte[]> json = get("/books/978-0-000000000", "application/json", null);
+        HttpResponse<byte[]> smile = get("/books/978-0-000000000", "application/x-jackson-smile", null);
+        String jsonTag = json.headers().firstValue(HttpHeaders.ETAG).orElseThrow();
+        String smileTag = smile.headers().firstValue(HttpHeaders.ETAG).orElseThrow();
+
+        assertThat(smileTag).isNotEqualTo(jsonTag).doesNotStartWith("W/");
+        assertThat(smile.headers().allValues(HttpHeaders.ETAG)).hasSize(1);
+        assertThat(json.headers().firstValue(HttpHeaders.VARY)).hasValue("Accept");
+        assertThat(smile.headers().firstValue(HttpHeaders.VARY)).hasValue("Accept");
+        assertThat(revalidate("/books/978-0-000000000", "application/x-jackson-smile", jsonTag)).isEqualTo(200);
+        assertThat(revalidate("/books/978-0-000000000", "application/x-jackson-smile", smileTag)).isEqualTo(304);
+        assertThat(revalidate("/books/978-0-000000000", "application/json", jsonTag)).isEqualTo(304);
+
+        HttpRequest patch = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/books/978-0-000000000"))
+                .header(HttpHeaders.CONTENT_TYPE, "application/json")
+                .header(HttpHeaders.IF_MATCH, smileTag)
+                .method("PATCH", HttpRequest.BodyPublishers.ofString("{\"title\":\"PATCHED\"}"))
+                .build();
+        assertThat(httpClient.send(patch, HttpResponse.BodyHandlers.discarding()).statusCode()).isEqualTo(200);
+    }
+
+    private int revalidate(String path, String accept, String etag) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header(HttpHeaders.ACCEPT, accept)
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private HttpResponse<byte[]> get(String path, String accept, String acceptEncoding)
+            throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header(HttpHeaders.ACCEPT, accept);
+        if (acceptEncoding != null) {
+            request.header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        return httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private static byte[] gunzip(byte[] body) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return in.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.niraj.database.controllers;
+
+import com.niraj.database.TestDataUtil;
+import com.niraj.database.domain.dto.AuthorDto;
+import com.niraj.database.domain.dto.BookDto;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.r2dbc.url=r2dbc:h2:mem:///testdb?options=MODE=MySQL;DATABASE_TO_LOWER=TRUE")
+@ActiveProfiles("reactive")
+@ExtendWith(SpringExtension.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@AutoConfigureWebTestClient
+public class ReactiveAuthorControllerIntegrationTests {
+
+    private WebTestClient webTestClient;
+
+    @Autowired
+    public ReactiveAuthorControllerIntegrationTests(WebTestClient webTestClient) {
+        this.webTestClient = webTestClient;
+    }
+
+    @Test
+    public void testThatCreateAuthorReturnsHttpStatus201AndTheSavedAuthor() {
+        AuthorDto savedAuthor = createAuthor("JK Rowling", 67);
+
+        assertThat(savedAuthor.getId()).isNotNull();
+        webTestClient.get().uri("/authors/" + savedAuthor.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().exists(HttpHeaders.ETAG)
+                .expectBody()
+                .jsonPath("$.name").isEqualTo("JK Rowling")
+                .jsonPath("$.age").isEqualTo(67);
+    }
+
+    @Test
+    public void testThatGetAuthorReturnsHttpStatus404WhenNoAuthorExists() {
+        webTestClient.get().uri("/authors/99")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    public void testThatListAuthorsFiltersSortsAndProjects() {
+        createAuthor("Jon Jones", 38);
+        createAuthor("JK Rowling", 67);
+        createAuthor("Steve Jobs", 51);
+
+        webTestClient.get().uri("/authors?minAge=40&sort=-age&fields=name")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[0].name").isEqualTo("JK Rowling")
+                .jsonPath("$[0].age").doesNotExist()
+                .jsonPath("$[1].name").isEqualTo("Steve Jobs");
+
+        webTestClient.get().uri("/authors?name=Jo")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].name").isEqualTo("Jon Jones");
+    }
+
+    @Test
+    public void testThatListAuthorsPagesWithNextLink() {
+        createAuthor("Jon Jones", 38);
+        createAuthor("JK Rowling", 67);
+        createAuthor("Steve Jobs", 51);
+
+        String link = webTestClient.get().uri("/authors?sort=name&limit=2")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .returnResult()
+                .getResponseHeaders()
+                .getFirst(HttpHeaders.LINK);
+        assertThat(link).contains("rel=\"next\"");
+
+        webTestClient.get().uri(link.substring(link.indexOf('<') + 1, link.indexOf('>')))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().doesNotExist(HttpHeaders.LINK)
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].name").isEqualTo("Steve Jobs");
+    }
+
+    @Test
+    public void testThatListAuthorsIncludesTheirBooks() {
+        AuthorDto author = createAuthor("JK Rowling", 67);
+        BookDto bookDto = TestDataUtil.createTestBookDto(author);
+        webTestClient.put().uri("/books/" + bookDto.getIsbn())
+                .bodyValue(bookDto)
+                .exchange()
+                .expectStatus().isCreated();
+
+        webTestClient.get().uri("/authors?include=books")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].books.length()").isEqualTo(1)
+                .jsonPath("$[0].books[0].isbn").isEqualTo(bookDto.getIsbn())
+                .jsonPath("$[0].booksTruncated").isEqualTo(false);
+
+        webTestClient.get().uri("/authors/" + author.getId() + "/books")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].isbn").isEqualTo(bookDto.getIsbn());
+    }
+
+    @Test
+    public void testThatListAuthorBooksReturnsHttpStatus404WhenNoAuthorExists() {
+        webTestClient.get().uri("/authors/99/books")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    public void testThatPartialUpdateKeepsTheTagOfAnUnchangedAuthor() {
+        AuthorDto author = createAuthor("JK Rowling", 67);
+        String etag = webTestClient.get().uri("/authors/" + author.getId())
+                .exchange()
+                .returnResult(AuthorDto.class)
+                .getResponseHeaders()
+                .getETag();
+
+        webTestClient.patch().uri("/authors/" + author.getId())
+                .bodyValue(AuthorDto.builder().name("JK Rowling").build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, etag);
+
+        webTestClient.patch().uri("/authors/" + author.getId())
+                .header(HttpHeaders.IF_MATCH, etag)
+                .bodyValue(AuthorDto.builder().name("UPDATED").build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.name").isEqualTo("UPDATED")
+                .jsonPath("$.age").isEqualTo(67);
+
+        webTestClient.put().uri("/authors/" + author.getId())
+                .header(HttpHeaders.IF_MATCH, etag)
+                .bodyValue(AuthorDto.builder().name("REPLACED").age(70).build())
+                .exchange()
+                .expectStatus().isEqualTo(412);
+    }
+
+    @Test
+    public void testThatDeleteAuthorReturnsHttpStatus204() {
+        AuthorDto author = createAuthor("JK Rowling", 67);
+
+        webTestClient.delete().uri("/authors/" + author.getId())
+                .exchange()
+                .expectStatus().isNoContent();
+        webTestClient.get().uri("/authors/" + author.getId())
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    private AuthorDto createAuthor(String name, int age) {
+        return webTestClient.post().uri("/authors")
+                .bodyValue(AuthorDto.builder().name(name).age(age).build())
+                .exchange()
+                .expectStatus().isCreated()
+                .returnResult(AuthorDto.class)
+                .getResponseBody()
+                .blockFirst();
+    }
+}
@@ -0,0 +1,277 @@
+package com.niraj.database.controllers;
+
+import com.niraj.database.TestDataUtil;
+import com.niraj.database.domain.dto.AuthorDto;
+import com.niraj.database.domain.dto.BookDto;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.r2dbc.url=r2dbc:h2:mem:///testdb?options=MODE=MySQL;DATABASE_TO_LOWER=TRUE")
+@ActiveProfiles("reactive")
+@ExtendWith(SpringExtension.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@AutoConfigureWebTestClient
+public class ReactiveBookControllerIntegrationTests {
+
+    private WebTestClient webTestClient;
+
+    @Autowired
+    public ReactiveBookControllerIntegrationTests(WebTestClient webTestClient) {
+        this.webTestClient = webTestClient;
+    }
+
+    @Test
+    public void testThatCreateBookReturnsHttpStatus201ThenUpdateReturns200() {
+        BookDto bookDto = TestDataUtil.createTestBookDto(TestDataUtil.createTestAuthorDto());
+
+        webTestClient.put().uri("/books/" + bookDto.getIsbn())
+                .bodyValue(bookDto)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectHeader().exists(HttpHeaders.ETAG)
+                .expectBody()
+                .jsonPath("$.isbn").isEqualTo(bookDto.getIsbn())
+                .jsonPath("$.author.name").isEqualTo("JK Rowling");
+
+        bookDto.setTitle("UPDATED");
+        webTestClient.put().uri("/books/" + bookDto.getIsbn())
+                .bodyValue(bookDto)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.title").isEqualTo("UPDATED");
+    }
+
+    @Test
+    public void testThatGetBookReturnsTagAndRevalidatesWith304() {
+        BookDto bookDto = TestDataUtil.createTestBookDto(TestDataUtil.createTestAuthorDto());
+        String etag = putBook(bookDto);
+
+        webTestClient.get().uri("/books/" + bookDto.getIsbn())
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, etag)
+                .expectHeader().exists(HttpHeaders.LAST_MODIFIED)
+                .expectBody()
+                .jsonPath("$.title").isEqualTo(bookDto.getTitle());
+
+        webTestClient.get().uri("/books/" + bookDto.getIsbn())
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .exchange()
+                .expectStatus().isNotModified();
+    }
+
+    @Test
+    public void testThatGetBookReturnsHttpStatus404WhenNoBookExists() {
+        webTestClient.get().uri("/books/missing")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    public void testThatStaleIfMatchReturnsHttpStatus412() {
+        BookDto bookDto = TestDataUtil.createTestBookDto(null);
+        String etag = putBook(bookDto);
+
+        bookDto.setTitle("FIRST");
+        webTestClient.put().uri("/books/" + bookDto.getIsbn())
+                .header(HttpHeaders.IF_MATCH, etag)
+                .bodyValue(bookDto)
+                .exchange()
+                .expectStatus().isOk();
+
+        bookDto.setTitle("SECOND");
+        webTestClient.patch().uri("/books/" + bookDto.getIsbn())
+                .header(HttpHeaders.IF_MATCH, etag)
+                .bodyValue(bookDto)
+                .exchange()
+                .expectStatus().isEqualTo(412);
+    }
+
+    @Test
+    public void testThatUnchangedPutKeepsTheTag() {
+        BookDto bookDto = TestDataUtil.createTestBookDto(TestDataUtil.createTestAuthorDto());
+        String etag = putBook(bookDto);
+
+        webTestClient.put().uri("/books/" + bookDto.getIsbn())
+                .bodyValue(bookDto)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, etag);
+    }
+
+    @Test
+    public void testThatPartialUpdateReturnsUpdatedBookOr404() {
+        BookDto bookDto = TestDataUtil.createTestBookDto(null);
+        putBook(bookDto);
+
+        webTestClient.patch().uri("/books/" + bookDto.getIsbn())
+                .bodyValue(BookDto.builder().title("PATCHED").build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.title").isEqualTo("PATCHED");
+
+        webTestClient.patch().uri("/books/missing")
+                .bodyValue(BookDto.builder().title("PATCHED").build())
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    public void testThatListBooksPagesWithNextLink() {
+        AuthorDto authorDto = TestDataUtil.createTestAuthorDto();
+        for (String isbn : List.of("isbn-1", "isbn-2", "isbn-3")) {
+            putBook(BookDto.builder().isbn(isbn).title("Title " + isbn).author(authorDto).build());
+        }
+
+        String link = webTestClient.get().uri("/books?limit=2")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().exists(HttpHeaders.ETAG)
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[0].isbn").isEqualTo("isbn-1")
+                .jsonPath("$[1].isbn").isEqualTo("isbn-2")
+                .returnResult()
+                .getResponseHeaders()
+                .getFirst(HttpHeaders.LINK);
+        assertThat(link).contains("rel=\"next\"");
+
+        String nextUri = link.substring(link.indexOf('<') + 1, link.indexOf('>'));
+        webTestClient.get().uri(nextUri)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().doesNotExist(HttpHeaders.LINK)
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].isbn").isEqualTo("isbn-3");
+    }
+
+    @Test
+    public void testThatListBooksRevalidatesWith304() {
+        putBook(TestDataUtil.createTestBookDto(TestDataUtil.createTestAuthorDto()));
+
+        String etag = webTestClient.get().uri("/books")
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(String.class)
+                .getResponseHeaders()
+                .getETag();
+
+        webTestClient.get().uri("/books")
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .exchange()
+                .expectStatus().isNotModified();
+    }
+
+    @Test
+    public void testThatListBooksReturnsNormalizedAuthors() {
+        AuthorDto authorDto = webTestClient.post().uri("/authors")
+                .bodyValue(TestDataUtil.createTestAuthorDto())
+                .exchange()
+                .expectStatus().isCreated()
+                .returnResult(AuthorDto.class)
+                .getResponseBody()
+                .blockFirst();
+        putBook(BookDto.builder().isbn("isbn-1").title("One").author(authorDto).build());
+        putBook(BookDto.builder().isbn("isbn-2").title("Two").author(authorDto).build());
+
+        webTestClient.get().uri("/books?authors=normalized")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.books.length()").isEqualTo(2)
+                .jsonPath("$.authors.length()").isEqualTo(1)
+                .jsonPath("$.authors[0].name").isEqualTo("JK Rowling");
+    }
+
+    @Test
+    public void testThatListBooksRejectsAnInvalidCursor() {
+        webTestClient.get().uri("/books?cursor=not-a-cursor")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    public void testThatStreamBooksReturnsEveryBookAsNdjson() {
+        AuthorDto authorDto = TestDataUtil.createTestAuthorDto();
+        for (int i = 0; i < 25; i++) {
+            putBook(BookDto.builder().isbn(String.format("isbn-%02d", i)).title("Title").author(authorDto).build());
+        }
+
+        List<BookDto> books = webTestClient.get().uri("/books")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(BookDto.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        assertThat(books).hasSize(25);
+        assertThat(books.get(0).getIsbn()).isEqualTo("isbn-00");
+        assertThat(books.get(24).getIsbn()).isEqualTo("isbn-24");
+    }
+
+    @Test
+    public void testThatGetBookSupportsSmileUnderItsOwnTag() {
+        BookDto bookDto = TestDataUtil.createTestBookDto(null);
+        String jsonTag = putBook(bookDto);
+
+        String smileTag = webTestClient.get().uri("/books/" + bookDto.getIsbn())
+                .accept(MediaType.parseMediaType("application/x-jackson-smile"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.parseMediaType("application/x-jackson-smile"))
+                .expectHeader().valueEquals(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+                .returnResult(byte[].class)
+                .getResponseHeaders()
+                .getETag();
+        assertThat(smileTag).isNotEqualTo(jsonTag);
+
+        webTestClient.get().uri("/books/" + bookDto.getIsbn())
+                .accept(MediaType.parseMediaType("application/x-jackson-smile"))
+                .header(HttpHeaders.IF_NONE_MATCH, jsonTag)
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    @Test
+    public void testThatDeleteBookReturnsHttpStatus204() {
+        BookDto bookDto = TestDataUtil.createTestBookDto(null);
+        putBook(bookDto);
+
+        webTestClient.delete().uri("/books/" + bookDto.getIsbn())
+                .exchange()
+                .expectStatus().isNoContent();
+        webTestClient.get().uri("/books/" + bookDto.getIsbn())
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    private String putBook(BookDto bookDto) {
+        return webTestClient.put().uri("/books/" + bookDto.getIsbn())
+                .bodyValue(bookDto)
+                .exchange()
+                .expectStatus().is2xxSuccessful()
+                .returnResult(BookDto.class)
+                .getResponseHeaders()
+                .getETag();
+    }
+}
@@ -0,0 +1,161 @@
+package com.niraj.database.datasource;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.niraj.database.TestDataUtil;
+import com.niraj.database.domain.dto.AuthorDto;
+import com.niraj.database.domain.dto.BookDto;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two in-memory databases stand in for the primary and a replica; {@link #replicate()} plays the replication
+ * stream by copying the primary into the replica. A third, unreachable replica must stay out of rotation.
+ */
+@SpringBootTest(properties = {
+        "datasource.routing.enabled=true",
+        "spring.datasource.url=jdbc:h2:mem:primary;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "datasource.routing.replica-urls=" + ReplicaRoutingIntegrationTests.REPLICA_URL
+                + ",jdbc:h2:tcp://localhost:1/mem:unreachable",
+        "datasource.routing.replica-connect-timeout=250ms",
+        "datasource.routing.sticky-window=1m"
+})
+@ExtendWith(SpringExtension.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@AutoConfigureMockMvc
+public class ReplicaRoutingIntegrationTests {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE";
+
+    private final MockMvc mockMvc;
+    private final ObjectMapper objectMapper;
+    private final HikariDataSource primaryDataSource;
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public ReplicaRoutingIntegrationTests(MockMvc mockMvc, ObjectMapper objectMapper,
+                                          HikariDataSource primaryDataSource, MeterRegistry meterRegistry) {
+        this.mockMvc = mockMvc;
+        this.objectMapper = objectMapper;
+        this.primaryDataSource = primaryDataSource;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @BeforeEach
+    public void createReplicaSchema() throws SQLException {
+        replicate();
+    }
+
+    @Test
+    public void testThatWritesGoToThePrimaryAndReadsToTheReplica() throws Exception {
+        BookDto testBook = TestDataUtil.createTestBookDto(TestDataUtil.createTestAuthorDto());
+        mockMvc.perform(put(testBook))
+                .andExpect(MockMvcResultMatchers.status().isCreated());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/books"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(0));
+
+        replicate();
+        mockMvc.perform(MockMvcRequestBuilders.get("/books"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].author.name").value("JK Rowling"));
+        assertThat(reads("replica-1")).isPositive();
+        assertThat(reads("primary")).isZero();
+    }
+
+    @Test
+    public void testThatAClientReadsItsOwnWritesFromThePrimary() throws Exception {
+        BookDto testBook = TestDataUtil.createTestBookDto(TestDataUtil.createTestAuthorDto());
+        mockMvc.perform(put(testBook).header("X-Client-Id", "writer"))
+                .andExpect(MockMvcResultMatchers.status().isCreated());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/books").header("X-Client-Id", "writer"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(1));
+        mockMvc.perform(MockMvcRequestBuilders.get("/books").header("X-Client-Id", "reader"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(0));
+        assertThat(reads("primary")).isPositive();
+    }
+
+    @Test
+    public void testThatAStaleReplicaDoesNotRefillTheCacheAfterAWrite() throws Exception {
+        AuthorDto author = objectMapper.readValue(mockMvc.perform(MockMvcRequestBuilders.post("/authors")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(TestDataUtil.createTestAuthorDto())))
+                .andExpect(MockMvcResultMatchers.status().isCreated())
+                .andReturn().getResponse().getContentAsString(), AuthorDto.class);
+        replicate();
+        mockMvc.perform(MockMvcRequestBuilders.get("/authors/" + author.getId() + "/books"))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+
+        mockMvc.perform(MockMvcRequestBuilders.delete("/authors/" + author.getId()).header("X-Client-Id", "writer"))
+                .andExpect(MockMvcResultMatchers.status().isNoContent());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/authors/" + author.getId() + "/books").header("X-Client-Id", "reader"))
+                .andExpect(MockMvcResultMatchers.status().isNotFound());
+    }
+
+    @Test
+    public void testThatAnUnreachableReplicaIsTakenOutOfRotation() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            mockMvc.perform(MockMvcRequestBuilders.get("/books"))
+                    .andExpect(MockMvcResultMatchers.status().isOk());
+        }
+
+        assertThat(meterRegistry.get("datasource.replica.healthy").tag("replica", "replica-1").gauge().value())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("datasource.replica.healthy").tag("replica", "replica-2").gauge().value())
+                .isZero();
+        assertThat(reads("replica-2")).isZero();
+        assertThat(reads("primary")).isZero();
+    }
+
+    private MockHttpServletRequestBuilder put(BookDto book) throws Exception {
+        return MockMvcRequestBuilders.put("/books/" + book.getIsbn())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(book));
+    }
+
+    private double reads(String target) {
+        return meterRegistry.get("datasource.routing.reads").tag("target", target).counter().count();
+    }
+
+    private void replicate() throws SQLException {
+        List<String> script = new ArrayList<>();
+        try (Connection primary = primaryDataSource.getConnection();
+             Statement statement = primary.createStatement();
+             ResultSet rows = statement.executeQuery("SCRIPT")) {
+            while (rows.next()) {
+                script.add(rows.getString(1));
+            }
+        }
+        try (Connection replica = DriverManager.getConnection(REPLICA_URL, "sa", "password");
+             Statement statement = replica.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+            for (String sql : script) {
+                statement.execute(sql);
+            }
+        }
+    }
+}
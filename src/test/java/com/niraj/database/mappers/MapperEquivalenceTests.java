@@ -0,0 +1,70 @@
+package com.niraj.database.mappers;
+
+import com.niraj.database.TestDataUtil;
+import com.niraj.database.config.MapperConfig;
+import com.niraj.database.domain.dto.AuthorDto;
+import com.niraj.database.domain.dto.BookDto;
+import com.niraj.database.domain.entities.AuthorEntity;
+import com.niraj.database.domain.entities.BookEntity;
+import com.niraj.database.mappers.impl.AuthorMapperImpl;
+import com.niraj.database.mappers.impl.BookMapper;
+import com.niraj.database.mappers.impl.ExplicitAuthorMapper;
+import com.niraj.database.mappers.impl.ExplicitBookMapper;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MapperEquivalenceTests {
+
+    private final ModelMapper modelMapper = new MapperConfig().modelMapper();
+    private final Mapper<AuthorEntity, AuthorDto> reflectiveAuthorMapper = new AuthorMapperImpl(modelMapper);
+    private final Mapper<BookEntity, BookDto> reflectiveBookMapper = new BookMapper(modelMapper);
+    private final ExplicitAuthorMapper explicitAuthorMapper = new ExplicitAuthorMapper();
+    private final Mapper<BookEntity, BookDto> explicitBookMapper = new ExplicitBookMapper(explicitAuthorMapper);
+
+    @Test
+    public void testThatExplicitAuthorMapperMatchesModelMapper() {
+        AuthorEntity authorEntity = TestDataUtil.createTestAuthor();
+        AuthorDto authorDto = TestDataUtil.createTestAuthorDto();
+
+        assertThat(explicitAuthorMapper.mapTo(authorEntity)).isEqualTo(reflectiveAuthorMapper.mapTo(authorEntity));
+        assertThat(explicitAuthorMapper.mapFrom(authorDto)).isEqualTo(reflectiveAuthorMapper.mapFrom(authorDto));
+    }
+
+    @Test
+    public void testThatExplicitBookMapperMatchesModelMapper() {
+        BookEntity bookEntity = TestDataUtil.createTestBook(TestDataUtil.createTestAuthor());
+        BookDto bookDto = TestDataUtil.createTestBookDto(TestDataUtil.createTestAuthorDto());
+
+        assertThat(explicitBookMapper.mapTo(bookEntity)).isEqualTo(reflectiveBookMapper.mapTo(bookEntity));
+        assertThat(explicitBookMapper.mapFrom(bookDto)).isEqualTo(reflectiveBookMapper.mapFrom(bookDto));
+    }
+
+    @Test
+    public void testThatExplicitBookMapperMatchesModelMapperWithoutAuthor() {
+        BookEntity bookEntity = TestDataUtil.createTestBook(null);
+        BookDto bookDto = TestDataUtil.createTestBookDto(null);
+
+        assertThat(explicitBookMapper.mapTo(bookEntity)).isEqualTo(reflectiveBookMapper.mapTo(bookEntity));
+        assertThat(explicitBookMapper.mapFrom(bookDto)).isEqualTo(reflectiveBookMapper.mapFrom(bookDto));
+    }
+
+    @Test
+    public void testThatBothBookMappersMapEachAuthorOncePerList() {
+        AuthorEntity authorEntity = TestDataUtil.createTestAuthor();
+        List<BookEntity> bookEntities = List.of(
+                TestDataUtil.createTestBook(authorEntity),
+                TestDataUtil.createTestBookA(TestDataUtil.createTestAuthor()),
+                TestDataUtil.createTestBookB(null));
+
+        for (Mapper<BookEntity, BookDto> bookMapper : List.of(explicitBookMapper, reflectiveBookMapper)) {
+            List<BookDto> bookDtos = bookMapper.mapAllTo(bookEntities);
+
+            assertThat(bookDtos).containsExactlyElementsOf(bookEntities.stream().map(bookMapper::mapTo).toList());
+            assertThat(bookDtos.get(0).getAuthor()).isSameAs(bookDtos.get(1).getAuthor());
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.niraj.database.mappers;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "mappers.strategy=modelmapper",
+        "mappers.warmup.enabled=true"
+})
+@ExtendWith(SpringExtension.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class MapperWarmupIntegrationTests {
+
+    private final MapperWarmup mapperWarmup;
+    private final ModelMapper modelMapper;
+
+    @Autowired
+    public MapperWarmupIntegrationTests(MapperWarmup mapperWarmup, ModelMapper modelMapper) {
+        this.mapperWarmup = mapperWarmup;
+        this.modelMapper = modelMapper;
+    }
+
+    @Test
+    public void testThatWarmupBuildsTheTypeMapsInTheBackground() {
+        assertThat(mapperWarmup.completion()).succeedsWithin(Duration.ofSeconds(30));
+        assertThat(modelMapper.getTypeMaps()).isNotEmpty();
+    }
+}
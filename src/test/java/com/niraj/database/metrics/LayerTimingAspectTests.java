@@ -0,0 +1,46 @@
+package com.niraj.database.metrics;
+
+import com.niraj.database.domain.entities.AuthorEntity;
+import com.niraj.database.repositories.ReactiveAuthorRepository;
+import com.niraj.database.services.ReactiveAuthorService;
+import com.niraj.database.services.impl.ReactiveAuthorServiceImpl;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LayerTimingAspectTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    public void testThatAReactiveCallIsTimedUntilItCompletes() {
+        ReactiveAuthorRepository slowRepository = new ReactiveAuthorRepository(null) {
+            @Override
+            public Mono<AuthorEntity> findById(Long id) {
+                return Mono.just(AuthorEntity.builder().id(id).build()).delayElement(Duration.ofMillis(200));
+            }
+        };
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(new ReactiveAuthorServiceImpl(slowRepository, null));
+        proxyFactory.addAspect(new LayerTimingAspect(meterRegistry));
+        ReactiveAuthorService underTest = proxyFactory.getProxy();
+
+        Mono<AuthorEntity> author = underTest.findOne(1L);
+        assertThat(meterRegistry.find(LayerTimingAspect.METRIC).timers()).isEmpty();
+
+        author.block();
+        Timer timer = meterRegistry.get(LayerTimingAspect.METRIC)
+                .tag("class", "ReactiveAuthorServiceImpl")
+                .tag("method", "findOne")
+                .tag("outcome", "success")
+                .timer();
+        assertThat(timer.count()).isEqualTo(1);
+        assertThat(timer.totalTime(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(200);
+    }
+}
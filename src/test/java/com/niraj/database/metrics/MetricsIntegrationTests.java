@@ -0,0 +1,63 @@
+package com.niraj.database.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.niraj.database.TestDataUtil;
+import com.niraj.database.domain.dto.BookDto;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ExtendWith(SpringExtension.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+public class MetricsIntegrationTests {
+
+    private final MockMvc mockMvc;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public MetricsIntegrationTests(MockMvc mockMvc, ObjectMapper objectMapper) {
+        this.mockMvc = mockMvc;
+        this.objectMapper = objectMapper;
+    }
+
+    @Test
+    public void testThatPrometheusScrapeCoversEveryLayer() throws Exception {
+        BookDto testBook = TestDataUtil.createTestBookDto(TestDataUtil.createTestAuthorDto());
+        mockMvc.perform(MockMvcRequestBuilders.put("/books/" + testBook.getIsbn())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(testBook)))
+                .andExpect(MockMvcResultMatchers.status().isCreated());
+        mockMvc.perform(MockMvcRequestBuilders.get("/books/" + testBook.getIsbn()))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+
+        String scrape = mockMvc.perform(MockMvcRequestBuilders.get("/actuator/prometheus"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(scrape)
+                .contains("http_server_requests_seconds_bucket{")
+                .contains("uri=\"/books/{isbn}\"")
+                .containsPattern("layer_calls_seconds_count\\{[^}]*class=\"ProjectionBookReadService\"[^}]*layer=\"service\"[^}]*method=\"findOne\"")
+                .containsPattern("layer_calls_seconds_count\\{[^}]*layer=\"mapper\"[^}]*method=\"mapTo\"")
+                .contains("spring_data_repository_invocations_seconds_count{")
+                .contains("hibernate_query_executions_total{")
+                .contains("hibernate_entities_loads_total{")
+                .contains("hibernate_cache_query_requests_total{")
+                .contains("hikaricp_connections_active{")
+                .contains("cache_gets_total{");
+    }
+}
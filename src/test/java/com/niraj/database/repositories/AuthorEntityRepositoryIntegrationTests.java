@@ -6,9 +6,12 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -86,11 +89,24 @@ public class AuthorEntityRepositoryIntegrationTests {
         AuthorEntity authorEntity = TestDataUtil.createTestAuthor();
         underTest.save(authorEntity);
         AuthorEntity authorEntityA = TestDataUtil.createTestAuthorA();
-        underTest.save(authorEntity);
+        underTest.save(authorEntityA);
         AuthorEntity authorEntityB = TestDataUtil.createTestAuthorB();
-        underTest.save(authorEntity);
+        underTest.save(authorEntityB);
 
         Iterable<AuthorEntity> result = underTest.findAuthorsWithAgeGreaterThan(60);
         assertThat(result).containsExactly(authorEntity);
     }
+
+    @Test
+    public void testThatProjectedQuerySelectsOnlyRequestedColumnsWithinAgeRange() {
+        underTest.save(TestDataUtil.createTestAuthor());
+        underTest.save(TestDataUtil.createTestAuthorA());
+        underTest.save(TestDataUtil.createTestAuthorB());
+
+        AuthorQuery query = new AuthorQuery(40, null, null, Sort.by(Sort.Order.desc("age")),
+                List.of("name"), 0, 10);
+        assertThat(underTest.findProjected(query))
+                .containsExactly(Map.of("name", "JK Rowling"), Map.of("name", "Steve Jobs"));
+        assertThat(underTest.findVersions(query.withLimit(1))).hasSize(1);
+    }
 }
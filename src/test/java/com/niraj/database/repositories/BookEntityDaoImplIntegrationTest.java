@@ -3,13 +3,18 @@ package com.niraj.database.repositories;
 import com.niraj.database.TestDataUtil;
 import com.niraj.database.domain.entities.AuthorEntity;
 import com.niraj.database.domain.entities.BookEntity;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -20,11 +25,15 @@ import static org.assertj.core.api.Assertions.assertThat;
 public class BookEntityDaoImplIntegrationTest {
     private final AuthorRepository authorDao;
     private final BookRepository underTest;
+    private final Statistics statistics;
 
     @Autowired
-    public BookEntityDaoImplIntegrationTest(BookRepository underTest, AuthorRepository authorDao) {
+    public BookEntityDaoImplIntegrationTest(BookRepository underTest, AuthorRepository authorDao,
+                                            EntityManagerFactory entityManagerFactory) {
         this.underTest = underTest;
         this.authorDao = authorDao;
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        this.statistics.setStatisticsEnabled(true);
     }
 
 //    @Test
@@ -41,15 +50,15 @@ public class BookEntityDaoImplIntegrationTest {
 
     @Test
     public void testThatMultipleBookCanBeCreatedAndRecalled() {
-        AuthorEntity authorEntity = TestDataUtil.createTestAuthor();
+        AuthorEntity savedAuthor = authorDao.save(TestDataUtil.createTestAuthor());
 
-        BookEntity bookEntity = TestDataUtil.createTestBook(authorEntity);
+        BookEntity bookEntity = TestDataUtil.createTestBook(savedAuthor);
         underTest.save(bookEntity);
 
-        BookEntity bookEntityA = TestDataUtil.createTestBookA(authorEntity);
+        BookEntity bookEntityA = TestDataUtil.createTestBookA(savedAuthor);
         underTest.save(bookEntityA);
 
-        BookEntity bookEntityB = TestDataUtil.createTestBookB(authorEntity);
+        BookEntity bookEntityB = TestDataUtil.createTestBookB(savedAuthor);
         underTest.save(bookEntityB);
 
         Iterable<BookEntity> books = underTest.findAll();
@@ -60,7 +69,7 @@ public class BookEntityDaoImplIntegrationTest {
 
     @Test
     public void testThatBookCanBeUpdated() {
-        AuthorEntity authorEntity = TestDataUtil.createTestAuthor();
+        AuthorEntity authorEntity = authorDao.save(TestDataUtil.createTestAuthor());
 
         BookEntity bookEntity = TestDataUtil.createTestBook(authorEntity);
         underTest.save(bookEntity);
@@ -75,7 +84,7 @@ public class BookEntityDaoImplIntegrationTest {
 
     @Test
     public void TestThatBookCanBeDeleted() {
-        AuthorEntity authorEntity = TestDataUtil.createTestAuthor();
+        AuthorEntity authorEntity = authorDao.save(TestDataUtil.createTestAuthor());
 
         BookEntity bookEntity = TestDataUtil.createTestBook(authorEntity);
         underTest.save(bookEntity);
@@ -85,4 +94,57 @@ public class BookEntityDaoImplIntegrationTest {
         Optional<BookEntity> result = underTest.findById(bookEntity.getIsbn());
         assertThat(result).isEmpty();
     }
+
+    @Test
+    public void testThatListingBooksLoadsAuthorsInASingleQuery() {
+        int bookCount = 20;
+        createBooksWithDistinctAuthors(bookCount);
+
+        statistics.clear();
+        Iterable<BookEntity> books = underTest.findAll();
+
+        assertThat(books).hasSize(bookCount)
+                .allSatisfy(book -> assertThat(book.getAuthorEntity().getName()).isNotNull());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void testThatFetchJoinListingLoadsAuthorsInASingleQuery() {
+        int bookCount = 20;
+        createBooksWithDistinctAuthors(bookCount);
+
+        statistics.clear();
+        List<BookEntity> books = underTest.findAllWithAuthors();
+
+        assertThat(books).hasSize(bookCount)
+                .allSatisfy(book -> assertThat(book.getAuthorEntity().getName()).isNotNull());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void testThatKeysetPageLoadsAuthorsInASingleQuery() {
+        createBooksWithDistinctAuthors(20);
+
+        statistics.clear();
+        List<BookEntity> books = underTest.findAllByOrderByIsbnAsc(Limit.of(10));
+
+        assertThat(books).hasSize(10)
+                .allSatisfy(book -> assertThat(book.getAuthorEntity().getName()).isNotNull());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    private void createBooksWithDistinctAuthors(int count) {
+        for (int i = 0; i < count; i++) {
+            AuthorEntity authorEntity = authorDao.save(AuthorEntity.builder()
+                    .name("Author " + i)
+                    .age(30 + i)
+                    .build());
+            BookEntity bookEntity = BookEntity.builder()
+                    .isbn(String.format("900-0-0000-%04d-0", i))
+                    .title("Book " + i)
+                    .authorEntity(authorEntity)
+                    .build();
+            underTest.save(bookEntity);
+        }
+    }
 }
@@ -0,0 +1,103 @@
+package com.niraj.database.repositories;
+
+import com.niraj.database.TestDataUtil;
+import com.niraj.database.config.CacheConfig;
+import com.niraj.database.domain.entities.AuthorEntity;
+import com.niraj.database.domain.entities.BookEntity;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ExtendWith(SpringExtension.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@AutoConfigureMockMvc
+public class SecondLevelCacheIntegrationTests {
+
+    private final BookRepository bookRepository;
+    private final AuthorRepository authorRepository;
+    private final MockMvc mockMvc;
+    private final TransactionTemplate transactionTemplate;
+    private final Statistics statistics;
+
+    @Autowired
+    public SecondLevelCacheIntegrationTests(BookRepository bookRepository, AuthorRepository authorRepository,
+                                            MockMvc mockMvc, TransactionTemplate transactionTemplate,
+                                            EntityManagerFactory entityManagerFactory) {
+        this.bookRepository = bookRepository;
+        this.authorRepository = authorRepository;
+        this.mockMvc = mockMvc;
+        this.transactionTemplate = transactionTemplate;
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        this.statistics.setStatisticsEnabled(true);
+    }
+
+    @Test
+    public void testThatRepeatedBookLoadsAreServedFromTheSecondLevelCache() {
+        BookEntity testBook = TestDataUtil.createTestBook(authorRepository.save(TestDataUtil.createTestAuthor()));
+        bookRepository.save(testBook);
+        bookRepository.findById(testBook.getIsbn());
+
+        statistics.clear();
+        transactionTemplate.executeWithoutResult(status -> assertThat(bookRepository.findById(testBook.getIsbn()))
+                .hasValueSatisfying(book -> assertThat(book.getAuthorEntity().getName()).isEqualTo("JK Rowling")));
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getCacheRegionStatistics(CacheConfig.BOOK_REGION).getHitCount()).isEqualTo(1);
+        assertThat(statistics.getCacheRegionStatistics(CacheConfig.AUTHOR_REGION).getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void testThatRepeatedAgeQueriesAreServedFromTheQueryCache() {
+        authorRepository.save(TestDataUtil.createTestAuthor());
+        authorRepository.save(TestDataUtil.createTestAuthorA());
+        authorRepository.ageLessThan(50);
+        authorRepository.findAuthorsWithAgeGreaterThan(50);
+
+        statistics.clear();
+        assertThat(authorRepository.ageLessThan(50)).extracting(AuthorEntity::getName).containsExactly("Jon Jones");
+        assertThat(authorRepository.findAuthorsWithAgeGreaterThan(50)).extracting(AuthorEntity::getName)
+                .containsExactly("JK Rowling");
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void testThatWritesInvalidateCachedQueryResults() {
+        AuthorEntity savedAuthor = authorRepository.save(TestDataUtil.createTestAuthor());
+        assertThat(authorRepository.ageLessThan(50)).isEmpty();
+
+        savedAuthor.setAge(40);
+        authorRepository.save(savedAuthor);
+
+        statistics.clear();
+        assertThat(authorRepository.ageLessThan(50)).extracting(AuthorEntity::getAge).containsExactly(40);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void testThatRegionStatisticsAreExposed() throws Exception {
+        BookEntity testBook = TestDataUtil.createTestBook(authorRepository.save(TestDataUtil.createTestAuthor()));
+        bookRepository.save(testBook);
+        bookRepository.findById(testBook.getIsbn());
+        authorRepository.ageLessThan(50);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/caches/regions"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[?(@.name == 'book-entities')].hits").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[?(@.name == 'author-entities')]").exists())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[?(@.name == 'authors-by-age-queries')]").exists());
+    }
+}
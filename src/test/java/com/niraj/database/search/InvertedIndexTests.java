@@ -0,0 +1,56 @@
+package com.niraj.database.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class InvertedIndexTests {
+
+    private final InvertedIndex<String> underTest = new InvertedIndex<>();
+
+    @Test
+    public void testThatTokenizeCaseFoldsAndStripsDiacritics() {
+        assertThat(InvertedIndex.tokenize("Les Misérables: TOME-1")).containsExactly("les", "miserables", "tome", "1");
+    }
+
+    @Test
+    public void testThatSearchMatchesPrefixesOfEveryQueryTerm() {
+        underTest.index("a", "Harry Potter and the Philosopher's Stone");
+        underTest.index("b", "Harry Potter and the Chamber of Secrets");
+        underTest.index("c", "The Hobbit");
+
+        assertThat(underTest.search("harr cham", 10)).containsExactly("b");
+        assertThat(underTest.search("pot", 10)).containsExactlyInAnyOrder("a", "b");
+        assertThat(underTest.search("hobbit potter", 10)).isEmpty();
+    }
+
+    @Test
+    public void testThatExactTermsRankAboveIncidentalPrefixMatches() {
+        underTest.index("a", "Dune Messiah");
+        underTest.index("b", "Dunes of the Desert");
+        underTest.index("c", "Dune");
+
+        assertThat(underTest.search("dune", 10)).containsExactly("a", "c", "b");
+    }
+
+    @Test
+    public void testThatReindexAndRemoveUpdatePostings() {
+        underTest.index("a", "Old Title");
+        underTest.index("a", "New Title");
+
+        assertThat(underTest.search("old", 10)).isEmpty();
+        assertThat(underTest.search("new", 10)).containsExactly("a");
+
+        underTest.remove("a");
+        assertThat(underTest.search("title", 10)).isEmpty();
+        assertThat(underTest.size()).isZero();
+    }
+
+    @Test
+    public void testThatSearchHonoursLimit() {
+        for (int i = 0; i < 10; i++) {
+            underTest.index("k" + i, "Common word " + i);
+        }
+        assertThat(underTest.search("common", 3)).hasSize(3);
+    }
+}
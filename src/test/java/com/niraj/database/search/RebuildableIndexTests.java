@@ -0,0 +1,43 @@
+package com.niraj.database.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RebuildableIndexTests {
+
+    private final RebuildableIndex<String> underTest = new RebuildableIndex<>();
+
+    @Test
+    public void testThatSearchesSeeTheOldIndexUntilTheRebuildFinishes() {
+        underTest.index("a", "The Hobbit");
+        underTest.index("b", "Dune");
+
+        underTest.startRebuild();
+        underTest.rebuild("a", "The Hobbit");
+        assertThat(underTest.search("dune", 10)).containsExactly("b");
+
+        underTest.finishRebuild();
+        assertThat(underTest.search("dune", 10)).isEmpty();
+        assertThat(underTest.search("hobbit", 10)).containsExactly("a");
+    }
+
+    @Test
+    public void testThatUpdatesDuringARebuildWinOverTheRowsItRead() {
+        underTest.index("a", "The Hobbit");
+        underTest.index("b", "Dune");
+
+        underTest.startRebuild();
+        underTest.index("a", "The Silmarillion");
+        underTest.remove("b");
+        underTest.index("c", "Emma");
+        underTest.rebuild("a", "The Hobbit");
+        underTest.rebuild("b", "Dune");
+        underTest.finishRebuild();
+
+        assertThat(underTest.search("hobbit", 10)).isEmpty();
+        assertThat(underTest.search("silmarillion", 10)).containsExactly("a");
+        assertThat(underTest.search("dune", 10)).isEmpty();
+        assertThat(underTest.search("emma", 10)).containsExactly("c");
+    }
+}
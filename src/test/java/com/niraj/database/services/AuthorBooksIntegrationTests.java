@@ -0,0 +1,89 @@
+package com.niraj.database.services;
+
+import com.niraj.database.domain.entities.AuthorEntity;
+import com.niraj.database.domain.entities.BookEntity;
+import com.niraj.database.domain.projections.BookVersion;
+import com.niraj.database.repositories.AuthorQuery;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ExtendWith(SpringExtension.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class AuthorBooksIntegrationTests {
+
+    private final BookService bookService;
+    private final AuthorService authorService;
+    private final Statistics statistics;
+
+    @Autowired
+    public AuthorBooksIntegrationTests(BookService bookService, AuthorService authorService,
+                                       EntityManagerFactory entityManagerFactory) {
+        this.bookService = bookService;
+        this.authorService = authorService;
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        this.statistics.setStatisticsEnabled(true);
+    }
+
+    @Test
+    public void testThatAuthorsWithBooksAreAssembledWithOneBatchedBookQuery() {
+        AuthorEntity authorA = authorService.save(AuthorEntity.builder().name("Jon Jones").age(38).build());
+        AuthorEntity authorB = authorService.save(AuthorEntity.builder().name("Steve Jobs").age(51).build());
+        authorService.save(AuthorEntity.builder().name("JK Rowling").age(67).build());
+        for (int i = 0; i < 3; i++) {
+            BookEntity book = BookEntity.builder().isbn("100-0-" + i).title("A" + i).authorEntity(authorA).build();
+            bookService.createUpdateBook(book.getIsbn(), book);
+        }
+        BookEntity bookB = BookEntity.builder().isbn("200-0-0").title("B0").authorEntity(authorB).build();
+        bookService.createUpdateBook(bookB.getIsbn(), bookB);
+
+        statistics.clear();
+        List<Map<String, Object>> authors = authorService.findAllWithBooks(
+                new AuthorQuery(null, null, null, Sort.by("id"), List.of("name"), 0, 10), 10);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(authors).hasSize(3);
+        assertThat(authors.get(0)).containsOnlyKeys("name", "books", "booksTruncated");
+        assertThat(authors).extracting(author -> ((List<?>) author.get("books")).size())
+                .containsExactly(3, 1, 0);
+        assertThat(authors).extracting(author -> author.get("booksTruncated")).containsOnly(false);
+    }
+
+    @Test
+    public void testThatEmbeddedBooksAreCappedPerAuthor() {
+        AuthorEntity authorA = authorService.save(AuthorEntity.builder().name("Jon Jones").age(38).build());
+        AuthorEntity authorB = authorService.save(AuthorEntity.builder().name("Steve Jobs").age(51).build());
+        for (int i = 0; i < 3; i++) {
+            BookEntity bookA = BookEntity.builder().isbn("100-0-" + i).title("A" + i).authorEntity(authorA).build();
+            bookService.createUpdateBook(bookA.getIsbn(), bookA);
+        }
+        for (int i = 0; i < 2; i++) {
+            BookEntity bookB = BookEntity.builder().isbn("200-0-" + i).title("B" + i).authorEntity(authorB).build();
+            bookService.createUpdateBook(bookB.getIsbn(), bookB);
+        }
+
+        List<Map<String, Object>> authors = authorService.findAllWithBooks(
+                new AuthorQuery(null, null, null, Sort.by("id"), List.of("name"), 0, 10), 2);
+
+        assertThat(authors).extracting(author -> ((List<?>) author.get("books")).size()).containsExactly(2, 2);
+        assertThat(authors).extracting(author -> author.get("booksTruncated")).containsExactly(true, false);
+        assertThat((List<?>) authors.get(0).get("books")).extracting(book -> (Object) ((Map<?, ?>) book).get("isbn"))
+                .containsExactly("100-0-0", "100-0-1");
+        assertThat(bookService.findVersionsByAuthorIds(List.of(authorA.getId(), authorB.getId()), 2))
+                .extracting(BookVersion::isbn)
+                .containsExactly("100-0-0", "100-0-1", "200-0-0", "200-0-1");
+    }
+}
@@ -0,0 +1,109 @@
+package com.niraj.database.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.niraj.database.TestDataUtil;
+import com.niraj.database.domain.dto.AuthorDto;
+import com.niraj.database.domain.dto.BookDto;
+import com.niraj.database.domain.entities.AuthorEntity;
+import com.niraj.database.domain.entities.BookEntity;
+import com.niraj.database.repositories.AuthorRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "books.author-write-mode=reference")
+@ExtendWith(SpringExtension.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@AutoConfigureMockMvc
+public class AuthorReferenceIntegrationTests {
+
+    private final MockMvc mockMvc;
+    private final ObjectMapper objectMapper;
+    private final BookService bookService;
+    private final AuthorService authorService;
+    private final AuthorRepository authorRepository;
+    private final Statistics statistics;
+
+    @Autowired
+    public AuthorReferenceIntegrationTests(MockMvc mockMvc, ObjectMapper objectMapper, BookService bookService,
+                                           AuthorService authorService, AuthorRepository authorRepository,
+                                           EntityManagerFactory entityManagerFactory) {
+        this.mockMvc = mockMvc;
+        this.objectMapper = objectMapper;
+        this.bookService = bookService;
+        this.authorService = authorService;
+        this.authorRepository = authorRepository;
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        this.statistics.setStatisticsEnabled(true);
+    }
+
+    @Test
+    public void testThatBookWriteLinksTheAuthorWithoutChangingIt() throws Exception {
+        AuthorEntity savedAuthor = authorService.save(AuthorEntity.builder().name("JK Rowling").age(67).build());
+        AuthorDto staleAuthor = AuthorDto.builder().id(savedAuthor.getId()).name("Someone Else").age(20).build();
+        BookDto testBook = TestDataUtil.createTestBookDto(staleAuthor);
+
+        put(testBook)
+                .andExpect(MockMvcResultMatchers.status().isCreated())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.author.name").value("JK Rowling"));
+
+        assertThat(authorRepository.findById(savedAuthor.getId())).hasValueSatisfying(author -> {
+            assertThat(author.getName()).isEqualTo("JK Rowling");
+            assertThat(author.getVersion()).isEqualTo(savedAuthor.getVersion());
+        });
+    }
+
+    @Test
+    public void testThatBookWriteDoesNotTouchTheAuthorRow() {
+        AuthorEntity savedAuthor = authorService.save(AuthorEntity.builder().name("JK Rowling").age(67).build());
+        authorService.isExists(savedAuthor.getId());
+        authorRepository.findById(savedAuthor.getId());
+
+        statistics.clear();
+        BookEntity testBook = TestDataUtil.createTestBook(AuthorEntity.builder().id(savedAuthor.getId()).build());
+        WriteResult<BookEntity> result = bookService.submit(testBook.getIsbn(), testBook);
+
+        assertThat(result.outcome()).isEqualTo(WriteResult.Outcome.CREATED);
+        assertThat(statistics.getEntityStatistics(AuthorEntity.class.getName()).getUpdateCount()).isZero();
+        assertThat(statistics.getEntityStatistics(AuthorEntity.class.getName()).getLoadCount()).isZero();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void testThatUnknownAuthorIsRejected() throws Exception {
+        BookDto testBook = TestDataUtil.createTestBookDto(AuthorDto.builder().id(999L).build());
+
+        put(testBook)
+                .andExpect(MockMvcResultMatchers.status().isUnprocessableEntity())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.detail").value("Author 999 does not exist"));
+        assertThat(bookService.isExists(testBook.getIsbn())).isFalse();
+    }
+
+    @Test
+    public void testThatAuthorWithoutIdIsRejected() throws Exception {
+        BookDto testBook = TestDataUtil.createTestBookDto(AuthorDto.builder().name("New Author").age(30).build());
+
+        put(testBook).andExpect(MockMvcResultMatchers.status().isUnprocessableEntity());
+        assertThat(authorRepository.count()).isZero();
+    }
+
+    private ResultActions put(BookDto book) throws Exception {
+        return mockMvc.perform(MockMvcRequestBuilders.put("/books/" + book.getIsbn())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(book)));
+    }
+}
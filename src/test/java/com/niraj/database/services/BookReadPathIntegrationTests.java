@@ -0,0 +1,164 @@
+package com.niraj.database.services;
+
+import com.niraj.database.TestDataUtil;
+import com.niraj.database.domain.entities.BookEntity;
+import com.niraj.database.domain.projections.BookView;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ExtendWith(SpringExtension.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@AutoConfigureMockMvc
+public class BookReadPathIntegrationTests {
+
+    private final MockMvc mockMvc;
+    private final BookService bookService;
+    private final BookReadService bookReadService;
+    private final EntityManagerFactory entityManagerFactory;
+    private final Statistics statistics;
+
+    @Autowired
+    public BookReadPathIntegrationTests(MockMvc mockMvc, BookService bookService, BookReadService bookReadService,
+                                        EntityManagerFactory entityManagerFactory) {
+        this.mockMvc = mockMvc;
+        this.bookService = bookService;
+        this.bookReadService = bookReadService;
+        this.entityManagerFactory = entityManagerFactory;
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        this.statistics.setStatisticsEnabled(true);
+    }
+
+    @Test
+    public void testThatProjectionPathIsTheDefault() {
+        assertThat(bookReadService).isInstanceOf(com.niraj.database.services.impl.ProjectionBookReadService.class);
+    }
+
+    @Test
+    public void testThatBookIsServedWithoutLoadingEntities() throws Exception {
+        BookEntity testBook = TestDataUtil.createTestBook(TestDataUtil.createTestAuthor());
+        bookService.createUpdateBook(testBook.getIsbn(), testBook);
+
+        statistics.clear();
+        mockMvc.perform(MockMvcRequestBuilders.get("/books/" + testBook.getIsbn()))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().exists(HttpHeaders.ETAG))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.title").value("Harry Potter"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.author.name").value("JK Rowling"));
+
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getSecondLevelCacheHitCount()).isZero();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void testThatRepeatedBookReadsAndRevalidationsAreServedFromTheCache() throws Exception {
+        BookEntity testBook = TestDataUtil.createTestBook(TestDataUtil.createTestAuthor());
+        bookService.createUpdateBook(testBook.getIsbn(), testBook);
+        String etag = mockMvc.perform(MockMvcRequestBuilders.get("/books/" + testBook.getIsbn()))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        statistics.clear();
+        mockMvc.perform(MockMvcRequestBuilders.get("/books/" + testBook.getIsbn()))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, etag));
+        mockMvc.perform(MockMvcRequestBuilders.get("/books/" + testBook.getIsbn()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(MockMvcResultMatchers.status().isNotModified());
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        bookService.partialUpdate(testBook.getIsbn(), BookEntity.builder().title("UPDATED").build());
+        mockMvc.perform(MockMvcRequestBuilders.get("/books/" + testBook.getIsbn()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.title").value("UPDATED"));
+    }
+
+    @Test
+    public void testThatBookPageIsServedWithoutLoadingEntities() throws Exception {
+        bookService.createUpdateBook("978-1-2345-6789-0", TestDataUtil.createTestBook(TestDataUtil.createTestAuthor()));
+        bookService.createUpdateBook("978-1-2345-6789-1", TestDataUtil.createTestBook(null));
+
+        statistics.clear();
+        mockMvc.perform(MockMvcRequestBuilders.get("/books"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].author.name").value("JK Rowling"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].author").isEmpty());
+
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    public void testThatAuthorIsNotLoadedWithTheBook() {
+        BookEntity testBook = TestDataUtil.createTestBook(TestDataUtil.createTestAuthor());
+        bookService.createUpdateBook(testBook.getIsbn(), testBook);
+
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            BookEntity book = entityManager.find(BookEntity.class, testBook.getIsbn());
+            assertThat(Hibernate.isInitialized(book.getAuthorEntity())).isFalse();
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    @Test
+    public void testThatADetachedBookWithALazyAuthorCanBeComparedAndPrinted() {
+        BookEntity testBook = TestDataUtil.createTestBook(TestDataUtil.createTestAuthor());
+        BookEntity savedBook = bookService.createUpdateBook(testBook.getIsbn(), testBook);
+
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        BookEntity book;
+        try {
+            book = entityManager.find(BookEntity.class, testBook.getIsbn());
+        } finally {
+            entityManager.close();
+        }
+
+        assertThat(Hibernate.isInitialized(book.getAuthorEntity())).isFalse();
+        assertThat(book).isEqualTo(savedBook).hasSameHashCodeAs(savedBook);
+        assertThat(book.toString()).contains(testBook.getIsbn());
+    }
+
+    @Test
+    public void testThatBookPageSharesOneAuthorDtoPerAuthor() {
+        bookService.createUpdateBook("978-1-2345-6789-0", TestDataUtil.createTestBook(TestDataUtil.createTestAuthor()));
+        bookService.createUpdateBook("978-1-2345-6789-1", TestDataUtil.createTestBook(TestDataUtil.createTestAuthor()));
+
+        List<BookView> page = bookReadService.findPage(null, 10).items();
+
+        assertThat(page).hasSize(2);
+        assertThat(page.get(0).book().getAuthor()).isSameAs(page.get(1).book().getAuthor());
+    }
+
+    @Test
+    public void testThatStreamedChunksAreConsumedOutsideATransaction() {
+        bookService.createUpdateBook("978-1-2345-6789-0", TestDataUtil.createTestBook(TestDataUtil.createTestAuthor()));
+        bookService.createUpdateBook("978-1-2345-6789-1", TestDataUtil.createTestBook(null));
+
+        List<Boolean> transactionActive = new ArrayList<>();
+        bookReadService.forEachChunk(1,
+                chunk -> transactionActive.add(TransactionSynchronizationManager.isActualTransactionActive()));
+
+        assertThat(transactionActive).containsExactly(false, false);
+    }
+}
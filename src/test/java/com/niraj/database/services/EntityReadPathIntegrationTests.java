@@ -0,0 +1,54 @@
+package com.niraj.database.services;
+
+import com.niraj.database.TestDataUtil;
+import com.niraj.database.domain.entities.BookEntity;
+import com.niraj.database.services.impl.EntityBookReadService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {"books.read-path=entity", "spring.jpa.open-in-view=false"})
+@ExtendWith(SpringExtension.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@AutoConfigureMockMvc
+public class EntityReadPathIntegrationTests {
+
+    private final MockMvc mockMvc;
+    private final BookService bookService;
+    private final BookReadService bookReadService;
+
+    @Autowired
+    public EntityReadPathIntegrationTests(MockMvc mockMvc, BookService bookService, BookReadService bookReadService) {
+        this.mockMvc = mockMvc;
+        this.bookService = bookService;
+        this.bookReadService = bookReadService;
+    }
+
+    @Test
+    public void testThatBooksAreServedFromMappedEntities() throws Exception {
+        assertThat(bookReadService).isInstanceOf(EntityBookReadService.class);
+        BookEntity testBook = TestDataUtil.createTestBook(TestDataUtil.createTestAuthor());
+        bookService.createUpdateBook(testBook.getIsbn(), testBook);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/books/" + testBook.getIsbn()))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().exists(HttpHeaders.ETAG))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.author.name").value("JK Rowling"));
+        mockMvc.perform(MockMvcRequestBuilders.get("/books"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].author.name").value("JK Rowling"));
+        mockMvc.perform(MockMvcRequestBuilders.get("/authors/" + testBook.getAuthorEntity().getId() + "/books"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].author.name").value("JK Rowling"));
+    }
+}
@@ -0,0 +1,43 @@
+package com.niraj.database.services;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "search.rebuild.chunk-size=2")
+@ExtendWith(SpringExtension.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class SearchServiceIntegrationTests {
+
+    private final SearchService underTest;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public SearchServiceIntegrationTests(SearchService underTest, JdbcTemplate jdbcTemplate) {
+        this.underTest = underTest;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Test
+    public void testThatRebuildIndexesRowsWrittenOutsideTheServices() {
+        jdbcTemplate.update("INSERT INTO authors (id, name, age) VALUES (1, 'Ursula Le Guin', 88)");
+        for (int i = 0; i < 5; i++) {
+            jdbcTemplate.update("INSERT INTO books (isbn, title, author_id) VALUES (?, ?, 1)",
+                    "200-0-0000-0000-" + i, "Earthsea volume " + i);
+        }
+        assertThat(underTest.searchBooks("earthsea", 10)).isEmpty();
+
+        underTest.rebuild();
+
+        assertThat(underTest.searchBooks("earthsea", 10)).hasSize(5);
+        assertThat(underTest.searchAuthors("ursula", 10))
+                .singleElement()
+                .satisfies(author -> assertThat(author.getName()).isEqualTo("Ursula Le Guin"));
+    }
+}
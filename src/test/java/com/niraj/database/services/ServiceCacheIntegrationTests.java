@@ -0,0 +1,183 @@
+package com.niraj.database.services;
+
+import com.niraj.database.TestDataUtil;
+import com.niraj.database.domain.entities.AuthorEntity;
+import com.niraj.database.domain.entities.BookEntity;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ExtendWith(SpringExtension.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@AutoConfigureMockMvc
+public class ServiceCacheIntegrationTests {
+
+    private final BookService bookService;
+    private final AuthorService authorService;
+    private final MockMvc mockMvc;
+    private final Statistics statistics;
+
+    @Autowired
+    public ServiceCacheIntegrationTests(BookService bookService, AuthorService authorService, MockMvc mockMvc,
+                                        EntityManagerFactory entityManagerFactory) {
+        this.bookService = bookService;
+        this.authorService = authorService;
+        this.mockMvc = mockMvc;
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        this.statistics.setStatisticsEnabled(true);
+    }
+
+    @Test
+    public void testThatRepeatedBookLookupsDoNotReachTheDatabase() {
+        BookEntity testBook = TestDataUtil.createTestBook(TestDataUtil.createTestAuthor());
+        bookService.createUpdateBook(testBook.getIsbn(), testBook);
+        bookService.findOne(testBook.getIsbn());
+        bookService.isExists(testBook.getIsbn());
+
+        statistics.clear();
+        assertThat(bookService.findOne(testBook.getIsbn())).isPresent();
+        assertThat(bookService.isExists(testBook.getIsbn())).isTrue();
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    public void testThatRepeatedAuthorLookupsDoNotReachTheDatabase() {
+        AuthorEntity savedAuthor = authorService.save(TestDataUtil.createTestAuthor());
+        authorService.findOne(savedAuthor.getId());
+        authorService.isExists(savedAuthor.getId());
+
+        statistics.clear();
+        assertThat(authorService.findOne(savedAuthor.getId())).isPresent();
+        assertThat(authorService.isExists(savedAuthor.getId())).isTrue();
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    public void testThatBookPartialUpdateEvictsCachedBook() {
+        BookEntity testBook = TestDataUtil.createTestBook(null);
+        bookService.createUpdateBook(testBook.getIsbn(), testBook);
+        bookService.findOne(testBook.getIsbn());
+
+        BookEntity update = BookEntity.builder().title("UPDATED").build();
+        bookService.partialUpdate(testBook.getIsbn(), update);
+
+        assertThat(bookService.findOne(testBook.getIsbn()))
+                .hasValueSatisfying(book -> assertThat(book.getTitle()).isEqualTo("UPDATED"));
+    }
+
+    @Test
+    public void testThatCreatingABookEvictsCachedNonExistence() {
+        BookEntity testBook = TestDataUtil.createTestBook(null);
+        assertThat(bookService.isExists(testBook.getIsbn())).isFalse();
+        assertThat(bookService.findOne(testBook.getIsbn())).isEmpty();
+
+        bookService.createUpdateBook(testBook.getIsbn(), testBook);
+
+        assertThat(bookService.isExists(testBook.getIsbn())).isTrue();
+        assertThat(bookService.findOne(testBook.getIsbn())).isPresent();
+    }
+
+    @Test
+    public void testThatAuthorUpdateIsVisibleThroughCachedBook() {
+        AuthorEntity savedAuthor = authorService.save(TestDataUtil.createTestAuthor());
+        BookEntity testBook = TestDataUtil.createTestBook(savedAuthor);
+        bookService.createUpdateBook(testBook.getIsbn(), testBook);
+        bookService.findOne(testBook.getIsbn());
+
+        AuthorEntity update = AuthorEntity.builder().name("UPDATED").build();
+        authorService.partialUpdate(savedAuthor.getId(), update);
+
+        assertThat(bookService.findOne(testBook.getIsbn()))
+                .hasValueSatisfying(book -> assertThat(book.getAuthorEntity().getName()).isEqualTo("UPDATED"));
+    }
+
+    @Test
+    public void testThatBatchWriteEvictsOnlyTheBooksAndAuthorsItWrote() {
+        AuthorEntity writtenAuthor = authorService.save(TestDataUtil.createTestAuthor());
+        AuthorEntity otherAuthor = authorService.save(TestDataUtil.createTestAuthorA());
+        BookEntity writtenBook = TestDataUtil.createTestBook(writtenAuthor);
+        BookEntity sameAuthorBook = TestDataUtil.createTestBookA(writtenAuthor);
+        BookEntity otherBook = TestDataUtil.createTestBookB(otherAuthor);
+        for (BookEntity book : new BookEntity[]{writtenBook, sameAuthorBook, otherBook}) {
+            bookService.createUpdateBook(book.getIsbn(), book);
+            bookService.findOne(book.getIsbn());
+        }
+        authorService.findOne(otherAuthor.getId());
+
+        AuthorEntity renamedAuthor = AuthorEntity.builder()
+                .id(writtenAuthor.getId()).name("UPDATED").age(writtenAuthor.getAge()).build();
+        BookEntity update = BookEntity.builder().title("UPDATED").authorEntity(renamedAuthor).build();
+        bookService.createUpdateBooks(Map.of(writtenBook.getIsbn(), update));
+
+        statistics.clear();
+        assertThat(bookService.findOne(otherBook.getIsbn())).isPresent();
+        assertThat(authorService.findOne(otherAuthor.getId())).isPresent();
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(bookService.findOne(writtenBook.getIsbn()))
+                .hasValueSatisfying(book -> assertThat(book.getTitle()).isEqualTo("UPDATED"));
+        assertThat(bookService.findOne(sameAuthorBook.getIsbn()))
+                .hasValueSatisfying(book -> assertThat(book.getAuthorEntity().getName()).isEqualTo("UPDATED"));
+    }
+
+    @Test
+    public void testThatBookDeleteKeepsItsAuthor() {
+        AuthorEntity savedAuthor = authorService.save(TestDataUtil.createTestAuthor());
+        BookEntity testBook = TestDataUtil.createTestBook(savedAuthor);
+        bookService.createUpdateBook(testBook.getIsbn(), testBook);
+        assertThat(authorService.isExists(savedAuthor.getId())).isTrue();
+
+        bookService.delete(testBook.getIsbn());
+
+        assertThat(bookService.findOne(testBook.getIsbn())).isEmpty();
+        assertThat(authorService.isExists(savedAuthor.getId())).isTrue();
+        assertThat(authorService.findOne(savedAuthor.getId()))
+                .hasValueSatisfying(author -> assertThat(author.getName()).isEqualTo("JK Rowling"));
+        BookEntity nextBook = TestDataUtil.createTestBookA(savedAuthor);
+        assertThat(bookService.createUpdateBook(nextBook.getIsbn(), nextBook).getAuthorEntity().getId())
+                .isEqualTo(savedAuthor.getId());
+    }
+
+    @Test
+    public void testThatAuthorDeleteEvictsCachedAuthor() {
+        AuthorEntity savedAuthor = authorService.save(TestDataUtil.createTestAuthor());
+        assertThat(authorService.isExists(savedAuthor.getId())).isTrue();
+
+        authorService.delete(savedAuthor.getId());
+
+        assertThat(authorService.isExists(savedAuthor.getId())).isFalse();
+        assertThat(authorService.findOne(savedAuthor.getId())).isEmpty();
+    }
+
+    @Test
+    public void testThatCacheStatsAreExposed() throws Exception {
+        BookEntity testBook = TestDataUtil.createTestBook(null);
+        bookService.createUpdateBook(testBook.getIsbn(), testBook);
+        bookService.findOne(testBook.getIsbn());
+        bookService.findOne(testBook.getIsbn());
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/caches")
+        ).andExpect(
+                MockMvcResultMatchers.status().isOk()
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$[?(@.name == 'books')].hits").value(1)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$[?(@.name == 'books')].misses").value(1)
+        );
+    }
+}
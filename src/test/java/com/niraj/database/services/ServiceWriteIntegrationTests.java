@@ -0,0 +1,164 @@
+package com.niraj.database.services;
+
+import com.niraj.database.TestDataUtil;
+import com.niraj.database.domain.entities.AuthorEntity;
+import com.niraj.database.domain.entities.BookEntity;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ExtendWith(SpringExtension.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class ServiceWriteIntegrationTests {
+
+    private final BookService bookService;
+    private final AuthorService authorService;
+    private final Statistics statistics;
+    private final TransactionTemplate newTransaction;
+
+    @Autowired
+    public ServiceWriteIntegrationTests(BookService bookService, AuthorService authorService,
+                                        EntityManagerFactory entityManagerFactory,
+                                        PlatformTransactionManager transactionManager) {
+        this.bookService = bookService;
+        this.authorService = authorService;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        this.statistics.setStatisticsEnabled(true);
+    }
+
+    @Test
+    public void testThatUpsertReportsCreatedThenUpdated() {
+        BookEntity testBook = TestDataUtil.createTestBook(null);
+
+        WriteResult<BookEntity> created = bookService.upsert(testBook.getIsbn(), testBook, current -> true);
+        assertThat(created.outcome()).isEqualTo(WriteResult.Outcome.CREATED);
+
+        BookEntity update = TestDataUtil.createTestBook(null);
+        update.setTitle("UPDATED");
+        WriteResult<BookEntity> updated = bookService.upsert(update.getIsbn(), update, current -> true);
+        assertThat(updated.outcome()).isEqualTo(WriteResult.Outcome.UPDATED);
+        assertThat(updated.entity().getTitle()).isEqualTo("UPDATED");
+    }
+
+    @Test
+    public void testThatUpsertThatLosesTheInsertRaceUpdatesTheWinnersBook() {
+        BookEntity testBook = TestDataUtil.createTestBook(null);
+        AtomicBoolean raced = new AtomicBoolean();
+
+        // The competing insert commits after this upsert found the ISBN missing, but before it inserts.
+        WriteResult<BookEntity> result = bookService.upsert(testBook.getIsbn(), testBook, current -> {
+            if (current.isEmpty() && raced.compareAndSet(false, true)) {
+                BookEntity winner = TestDataUtil.createTestBook(null);
+                winner.setTitle("WINNER");
+                newTransaction.executeWithoutResult(status -> bookService.createUpdateBook(winner.getIsbn(), winner));
+            }
+            return true;
+        });
+
+        assertThat(raced).isTrue();
+        assertThat(result.outcome()).isEqualTo(WriteResult.Outcome.UPDATED);
+        assertThat(bookService.findOne(testBook.getIsbn()))
+                .hasValueSatisfying(book -> assertThat(book.getTitle()).isEqualTo(testBook.getTitle()));
+    }
+
+    @Test
+    public void testThatUpsertIsNotRetriedOnOtherIntegrityViolations() {
+        BookEntity testBook = TestDataUtil.createTestBook(null);
+        testBook.setTitle("T".repeat(1000));
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThatThrownBy(() -> bookService.upsert(testBook.getIsbn(), testBook, current -> {
+            attempts.incrementAndGet();
+            return true;
+        })).isInstanceOf(DataIntegrityViolationException.class);
+        assertThat(attempts).hasValue(1);
+    }
+
+    @Test
+    public void testThatUpsertOfExistingBookCostsOneWriteWithCachedLookup() {
+        BookEntity testBook = TestDataUtil.createTestBook(null);
+        bookService.createUpdateBook(testBook.getIsbn(), testBook);
+
+        BookEntity update = TestDataUtil.createTestBook(null);
+        update.setTitle("UPDATED");
+        statistics.clear();
+        bookService.upsert(update.getIsbn(), update, current -> true);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getSecondLevelCacheHitCount()).isPositive();
+    }
+
+    @Test
+    public void testThatBookUpdateReportsNotFoundWithSingleLookup() {
+        statistics.clear();
+        WriteResult<BookEntity> result = bookService.update("000-0-0000-0000-0", BookEntity.builder().title("X").build(),
+                current -> true);
+
+        assertThat(result.outcome()).isEqualTo(WriteResult.Outcome.NOT_FOUND);
+        assertThat(result.found()).isEmpty();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void testThatBookUpdateCostsOneWriteWithCachedLookup() {
+        BookEntity testBook = TestDataUtil.createTestBook(null);
+        bookService.createUpdateBook(testBook.getIsbn(), testBook);
+
+        statistics.clear();
+        WriteResult<BookEntity> result = bookService.update(testBook.getIsbn(), BookEntity.builder().title("UPDATED").build(),
+                current -> true);
+
+        assertThat(result.outcome()).isEqualTo(WriteResult.Outcome.UPDATED);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getSecondLevelCacheHitCount()).isPositive();
+        assertThat(bookService.findOne(testBook.getIsbn()))
+                .hasValueSatisfying(book -> assertThat(book.getTitle()).isEqualTo("UPDATED"));
+    }
+
+    @Test
+    public void testThatAuthorReplaceAndUpdateCostOneWriteWithCachedLookup() {
+        AuthorEntity savedAuthor = authorService.save(TestDataUtil.createTestAuthor());
+
+        statistics.clear();
+        WriteResult<AuthorEntity> replaced = authorService.replace(savedAuthor.getId(), TestDataUtil.createTestAuthorA(),
+                current -> true);
+        assertThat(replaced.outcome()).isEqualTo(WriteResult.Outcome.UPDATED);
+        assertThat(replaced.entity().getName()).isEqualTo("Jon Jones");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getSecondLevelCacheHitCount()).isPositive();
+
+        statistics.clear();
+        WriteResult<AuthorEntity> updated = authorService.update(savedAuthor.getId(), AuthorEntity.builder().age(40).build(),
+                current -> true);
+        assertThat(updated.outcome()).isEqualTo(WriteResult.Outcome.UPDATED);
+        assertThat(updated.entity().getName()).isEqualTo("Jon Jones");
+        assertThat(updated.entity().getAge()).isEqualTo(40);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getSecondLevelCacheHitCount()).isPositive();
+    }
+
+    @Test
+    public void testThatAuthorReplaceReportsNotFound() {
+        WriteResult<AuthorEntity> result = authorService.replace(99L, TestDataUtil.createTestAuthorA(), current -> true);
+        assertThat(result.outcome()).isEqualTo(WriteResult.Outcome.NOT_FOUND);
+    }
+}
@@ -0,0 +1,110 @@
+package com.niraj.database.writebehind;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.niraj.database.TestDataUtil;
+import com.niraj.database.domain.entities.BookEntity;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BookWriteJournalTests {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testThatAppendedWritesAreReadBackInOrder() throws Exception {
+        Path path = directory.resolve("books.journal");
+        try (BookWriteJournal journal = new BookWriteJournal(path, false, new ObjectMapper())) {
+            journal.append("978-1-2345-6789-0", TestDataUtil.createTestBook(TestDataUtil.createTestAuthor()));
+            journal.append("978-1-2345-6789-1", TestDataUtil.createTestBook(null));
+        }
+
+        try (BookWriteJournal journal = new BookWriteJournal(path, false, new ObjectMapper())) {
+            assertThat(journal.uncommitted()).containsExactly(
+                    Map.entry("978-1-2345-6789-0", BookEntity.builder().isbn("978-1-2345-6789-0").title("Harry Potter")
+                            .authorEntity(TestDataUtil.createTestAuthor()).build()),
+                    Map.entry("978-1-2345-6789-1", BookEntity.builder().isbn("978-1-2345-6789-1").title("Harry Potter")
+                            .build()));
+        }
+    }
+
+    @Test
+    public void testThatTornLastLineIsSkippedAndLaterAppendsAreReadable() throws Exception {
+        Path path = directory.resolve("books.journal");
+        try (BookWriteJournal journal = new BookWriteJournal(path, false, new ObjectMapper())) {
+            journal.append("978-1-2345-6789-0", TestDataUtil.createTestBook(null));
+        }
+        Files.writeString(path, "{\"isbn\":\"978-", StandardOpenOption.APPEND);
+
+        try (BookWriteJournal journal = new BookWriteJournal(path, false, new ObjectMapper())) {
+            assertThat(journal.uncommitted()).containsOnlyKeys("978-1-2345-6789-0");
+            journal.append("978-1-2345-6789-1", TestDataUtil.createTestBook(null));
+        }
+
+        try (BookWriteJournal journal = new BookWriteJournal(path, false, new ObjectMapper())) {
+            assertThat(journal.uncommitted()).containsOnlyKeys("978-1-2345-6789-0", "978-1-2345-6789-1");
+        }
+    }
+
+    @Test
+    public void testThatCommittedWritesAreNotReplayed() throws Exception {
+        Path path = directory.resolve("books.journal");
+        BookEntity committed = TestDataUtil.createTestBook(null);
+        try (BookWriteJournal journal = new BookWriteJournal(path, true, new ObjectMapper())) {
+            journal.append("978-1-2345-6789-0", committed);
+            journal.append("978-1-2345-6789-1", TestDataUtil.createTestBook(null));
+            journal.commit(Map.of("978-1-2345-6789-0", committed));
+        }
+
+        try (BookWriteJournal journal = new BookWriteJournal(path, false, new ObjectMapper())) {
+            assertThat(journal.uncommitted()).containsOnlyKeys("978-1-2345-6789-1");
+        }
+    }
+
+    @Test
+    public void testThatCommittingAnOlderWriteKeepsTheNewerOne() throws Exception {
+        Path path = directory.resolve("books.journal");
+        BookEntity older = TestDataUtil.createTestBook(null);
+        BookEntity newer = TestDataUtil.createTestBook(null);
+        newer.setTitle("Harry Potter 2");
+        try (BookWriteJournal journal = new BookWriteJournal(path, false, new ObjectMapper())) {
+            journal.append("978-1-2345-6789-0", older);
+            journal.append("978-1-2345-6789-0", newer);
+            journal.commit(Map.of("978-1-2345-6789-0", older));
+        }
+
+        try (BookWriteJournal journal = new BookWriteJournal(path, false, new ObjectMapper())) {
+            assertThat(journal.uncommitted().get("978-1-2345-6789-0").getTitle()).isEqualTo("Harry Potter 2");
+        }
+    }
+
+    @Test
+    public void testThatCompactionKeepsOnlyPendingWrites() throws Exception {
+        Path path = directory.resolve("books.journal");
+        try (BookWriteJournal journal = new BookWriteJournal(path, false, new ObjectMapper())) {
+            for (int i = 0; i < 2000; i++) {
+                BookEntity book = TestDataUtil.createTestBook(null);
+                journal.append("978-1-2345-6789-0", book);
+                journal.commit(Map.of("978-1-2345-6789-0", book));
+            }
+            journal.append("978-1-2345-6789-1", TestDataUtil.createTestBook(null));
+            long before = Files.size(path);
+
+            journal.compactIfNeeded();
+            journal.append("978-1-2345-6789-2", TestDataUtil.createTestBook(null));
+
+            assertThat(Files.size(path)).isLessThan(before / 100);
+        }
+
+        try (BookWriteJournal journal = new BookWriteJournal(path, false, new ObjectMapper())) {
+            assertThat(journal.uncommitted()).containsOnlyKeys("978-1-2345-6789-1", "978-1-2345-6789-2");
+        }
+    }
+}
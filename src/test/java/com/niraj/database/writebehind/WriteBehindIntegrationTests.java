@@ -0,0 +1,144 @@
+package com.niraj.database.writebehind;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.niraj.database.TestDataUtil;
+import com.niraj.database.domain.dto.BookDto;
+import com.niraj.database.repositories.BookRepository;
+import com.niraj.database.services.BookService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "books.write-behind.enabled=true",
+        "books.write-behind.capacity=2",
+        "books.write-behind.flush-interval=1h",
+        "books.write-behind.offer-timeout=10ms"
+})
+@ExtendWith(SpringExtension.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@AutoConfigureMockMvc
+public class WriteBehindIntegrationTests {
+
+    private final MockMvc mockMvc;
+    private final ObjectMapper objectMapper;
+    private final BookWriteBuffer writeBuffer;
+    private final BookRepository bookRepository;
+    private final BookService bookService;
+    private final Statistics statistics;
+
+    @Autowired
+    public WriteBehindIntegrationTests(MockMvc mockMvc, ObjectMapper objectMapper, BookWriteBuffer writeBuffer,
+                                       BookRepository bookRepository, BookService bookService,
+                                       EntityManagerFactory entityManagerFactory) {
+        this.mockMvc = mockMvc;
+        this.objectMapper = objectMapper;
+        this.writeBuffer = writeBuffer;
+        this.bookRepository = bookRepository;
+        this.bookService = bookService;
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        this.statistics.setStatisticsEnabled(true);
+    }
+
+    @Test
+    public void testThatPutIsAcceptedAndReadableBeforeItIsCommitted() throws Exception {
+        BookDto testBook = TestDataUtil.createTestBookDto(TestDataUtil.createTestAuthorDto());
+
+        put(testBook.getIsbn(), testBook)
+                .andExpect(MockMvcResultMatchers.status().isAccepted())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.title").value("Harry Potter"));
+        assertThat(bookRepository.findById(testBook.getIsbn())).isEmpty();
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/books/" + testBook.getIsbn()))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.title").value("Harry Potter"));
+
+        writeBuffer.flush();
+        assertThat(writeBuffer.pendingCount()).isZero();
+        assertThat(bookService.findOne(testBook.getIsbn()))
+                .hasValueSatisfying(book -> assertThat(book.getAuthorEntity().getName()).isEqualTo("JK Rowling"));
+    }
+
+    @Test
+    public void testThatRepeatedPutsToOneBookCoalesceIntoOneWrite() throws Exception {
+        BookDto testBook = TestDataUtil.createTestBookDto(null);
+        for (String title : new String[]{"First", "Second", "Third"}) {
+            testBook.setTitle(title);
+            put(testBook.getIsbn(), testBook).andExpect(MockMvcResultMatchers.status().isAccepted());
+        }
+        assertThat(writeBuffer.pendingCount()).isEqualTo(1);
+
+        statistics.clear();
+        writeBuffer.flush();
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(1);
+        assertThat(statistics.getEntityUpdateCount()).isZero();
+        assertThat(bookRepository.findById(testBook.getIsbn()))
+                .hasValueSatisfying(book -> assertThat(book.getTitle()).isEqualTo("Third"));
+    }
+
+    @Test
+    public void testThatFullQueueRejectsNewBooksWithRetryAfter() throws Exception {
+        BookDto testBook = TestDataUtil.createTestBookDto(null);
+        put("978-0-0000-0000-1", testBook).andExpect(MockMvcResultMatchers.status().isAccepted());
+        put("978-0-0000-0000-2", testBook).andExpect(MockMvcResultMatchers.status().isAccepted());
+
+        put("978-0-0000-0000-3", testBook)
+                .andExpect(MockMvcResultMatchers.status().isServiceUnavailable())
+                .andExpect(MockMvcResultMatchers.header().exists(HttpHeaders.RETRY_AFTER));
+        put("978-0-0000-0000-1", testBook).andExpect(MockMvcResultMatchers.status().isAccepted());
+
+        writeBuffer.flush();
+        put("978-0-0000-0000-3", testBook).andExpect(MockMvcResultMatchers.status().isAccepted());
+    }
+
+    @Test
+    public void testThatDeleteCommitsTheQueuedWriteFirst() throws Exception {
+        BookDto testBook = TestDataUtil.createTestBookDto(null);
+        put(testBook.getIsbn(), testBook).andExpect(MockMvcResultMatchers.status().isAccepted());
+
+        mockMvc.perform(MockMvcRequestBuilders.delete("/books/" + testBook.getIsbn()))
+                .andExpect(MockMvcResultMatchers.status().isNoContent());
+        writeBuffer.flush();
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/books/" + testBook.getIsbn()))
+                .andExpect(MockMvcResultMatchers.status().isNotFound());
+    }
+
+    @Test
+    public void testThatConditionalPutIsCommittedSynchronously() throws Exception {
+        BookDto testBook = TestDataUtil.createTestBookDto(null);
+        put(testBook.getIsbn(), testBook).andExpect(MockMvcResultMatchers.status().isAccepted());
+
+        testBook.setTitle("UPDATED");
+        mockMvc.perform(MockMvcRequestBuilders.put("/books/" + testBook.getIsbn())
+                        .header(HttpHeaders.IF_MATCH, "*")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(testBook)))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().exists(HttpHeaders.ETAG));
+        assertThat(writeBuffer.pendingCount()).isZero();
+        assertThat(bookRepository.findById(testBook.getIsbn()))
+                .hasValueSatisfying(book -> assertThat(book.getTitle()).isEqualTo("UPDATED"));
+    }
+
+    private ResultActions put(String isbn, BookDto book) throws Exception {
+        return mockMvc.perform(MockMvcRequestBuilders.put("/books/" + isbn)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(book)));
+    }
+}
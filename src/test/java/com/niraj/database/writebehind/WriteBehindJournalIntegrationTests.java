@@ -0,0 +1,97 @@
+package com.niraj.database.writebehind;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.niraj.database.TestDataUtil;
+import com.niraj.database.domain.entities.BookEntity;
+import com.niraj.database.repositories.BookRepository;
+import com.niraj.database.services.BookService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "books.write-behind.enabled=true",
+        "books.write-behind.flush-interval=1h"
+})
+@ExtendWith(SpringExtension.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class WriteBehindJournalIntegrationTests {
+
+    private static final String WRITTEN_LATER = "978-0-0000-0000-1";
+    private static final String STILL_QUEUED = "978-0-0000-0000-2";
+
+    @TempDir
+    static Path directory;
+
+    private final BookService writeBehindBookService;
+    private final BookService bookService;
+    private final BookRepository bookRepository;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public WriteBehindJournalIntegrationTests(BookService writeBehindBookService,
+                                              @Qualifier("bookServiceImpl") BookService bookService,
+                                              BookRepository bookRepository, ObjectMapper objectMapper) {
+        this.writeBehindBookService = writeBehindBookService;
+        this.bookService = bookService;
+        this.bookRepository = bookRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @DynamicPropertySource
+    static void journalPath(DynamicPropertyRegistry registry) {
+        registry.add("books.write-behind.journal-path", () -> directory.resolve("books.journal").toString());
+    }
+
+    @Test
+    public void testThatRestartDoesNotReplayAWriteOverALaterSynchronousOne() {
+        queueBoth();
+        BookEntity update = TestDataUtil.createTestBook(null);
+        update.setTitle("UPDATED");
+        writeBehindBookService.upsert(WRITTEN_LATER, update, book -> true);
+
+        restart();
+
+        assertThat(bookRepository.findById(WRITTEN_LATER))
+                .hasValueSatisfying(book -> assertThat(book.getTitle()).isEqualTo("UPDATED"));
+        assertThat(bookRepository.findById(STILL_QUEUED)).isPresent();
+    }
+
+    @Test
+    public void testThatRestartDoesNotBringBackADeletedBook() {
+        queueBoth();
+        writeBehindBookService.delete(WRITTEN_LATER);
+
+        restart();
+
+        assertThat(bookRepository.findById(WRITTEN_LATER)).isEmpty();
+        assertThat(bookRepository.findById(STILL_QUEUED)).isPresent();
+    }
+
+    private void queueBoth() {
+        writeBehindBookService.submit(WRITTEN_LATER, TestDataUtil.createTestBook(null));
+        writeBehindBookService.submit(STILL_QUEUED, TestDataUtil.createTestBook(null));
+    }
+
+    // A second buffer over the same journal, as after a crash that lost the first one's queue.
+    private void restart() {
+        BookWriteBuffer restarted = new BookWriteBuffer(bookService, objectMapper, new SimpleMeterRegistry(),
+                10, 10, Duration.ofHours(1), Duration.ofMillis(10),
+                directory.resolve("books.journal").toString(), false);
+        restarted.start();
+        restarted.stop();
+    }
+}